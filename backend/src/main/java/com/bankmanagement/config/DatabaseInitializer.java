@@ -2,14 +2,15 @@ package com.bankmanagement.config;
 
 import com.bankmanagement.model.Role;
 import com.bankmanagement.model.User;
-import com.bankmanagement.repository.RoleRepository;
 import com.bankmanagement.repository.UserRepository;
+import com.bankmanagement.service.RoleService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -20,12 +21,15 @@ public class DatabaseInitializer implements CommandLineRunner {
 
     @Autowired
     private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
     
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
-    private RoleRepository roleRepository;
+    private RoleService roleService;
     
     private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
@@ -70,10 +74,13 @@ public class DatabaseInitializer implements CommandLineRunner {
             // Split by semicolon and execute each statement
             String[] statements = sql.split(";");
             for (String statement : statements) {
-                statement = statement.trim();
-                if (!statement.isEmpty() && !statement.startsWith("--")) {
+                statement = stripLeadingComments(statement);
+                if (!statement.isEmpty()) {
                     try {
-                        jdbcTemplate.execute(statement);
+                        // Own transaction per statement: auto-commit is off, and on PostgreSQL a failed
+                        // statement would otherwise abort the ones after it
+                        String ddl = statement;
+                        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute(ddl));
                     } catch (Exception e) {
                         System.err.println("Warning: Failed to execute statement: " + statement.substring(0, Math.min(50, statement.length())) + "...");
                         System.err.println("Error: " + e.getMessage());
@@ -85,6 +92,18 @@ public class DatabaseInitializer implements CommandLineRunner {
         }
     }
     
+    /**
+     * Drop the comment lines heading a statement, so a section header does not hide the statement under it
+     */
+    private String stripLeadingComments(String statement) {
+        String remaining = statement.trim();
+        while (remaining.startsWith("--")) {
+            int lineEnd = remaining.indexOf('\n');
+            remaining = lineEnd < 0 ? "" : remaining.substring(lineEnd + 1).trim();
+        }
+        return remaining;
+    }
+
     private void initializeRolesAndAdmin() {
         try {
             // Create roles if they don't exist
@@ -108,7 +127,7 @@ public class DatabaseInitializer implements CommandLineRunner {
                 admin.setIsCredentialsNonExpired(true);
                 
                 // Assign ROLE_ADMIN to admin user
-                Optional<Role> adminRole = roleRepository.findByRoleName(Role.RoleName.ROLE_ADMIN);
+                Optional<Role> adminRole = roleService.findByRoleName(Role.RoleName.ROLE_ADMIN);
                 if (adminRole.isPresent()) {
                     admin.addRole(adminRole.get());
                 }
@@ -126,10 +145,10 @@ public class DatabaseInitializer implements CommandLineRunner {
     
     private void createRoleIfNotExists(Role.RoleName roleName, String description) {
         try {
-            Optional<Role> role = roleRepository.findByRoleName(roleName);
+            Optional<Role> role = roleService.findByRoleName(roleName);
             if (role.isEmpty()) {
                 Role newRole = new Role(roleName, description);
-                roleRepository.save(newRole);
+                roleService.createRole(newRole);
                 System.out.println("✅ Created role: " + roleName);
             }
         } catch (Exception e) {
@@ -0,0 +1,85 @@
+package com.bankmanagement.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single auto-configured pool with a primary pool plus one read-only pool per replica
+ * when datasource.replicas.enabled=true. The primary keeps every spring.datasource.hikari setting;
+ * replicas inherit them, with their own pool size, connection timeout and optional credentials.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties, Environment environment,
+            @Qualifier("schedulerExecutor") ThreadPoolTaskScheduler schedulerExecutor,
+            @Value("${datasource.replicas.urls:}") List<String> urls,
+            @Value("${datasource.replicas.username:}") String username,
+            @Value("${datasource.replicas.password:}") String password,
+            @Value("${datasource.replicas.maximum-pool-size:0}") int maximumPoolSize,
+            @Value("${datasource.replicas.connection-timeout-ms:3000}") long connectionTimeoutMillis,
+            @Value("${datasource.replicas.max-lag-ms:10000}") long maxLagMillis,
+            @Value("${datasource.replicas.lag-query:}") String lagQuery,
+            @Value("${datasource.replicas.health-check-ms:5000}") long healthCheckMillis) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        List<HikariDataSource> replicaPools = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(url.trim());
+            config.setPoolName("replica-" + (replicaPools.size() + 1));
+            config.setReadOnly(true);
+            config.setConnectionTimeout(connectionTimeoutMillis);
+            // A replica that is down at startup is left out of rotation instead of failing the boot
+            config.setInitializationFailTimeout(-1);
+            if (!username.isBlank()) {
+                config.setUsername(username);
+                config.setPassword(password);
+            }
+            if (maximumPoolSize > 0) {
+                config.setMaximumPoolSize(maximumPoolSize);
+            }
+            replicaPools.add(new HikariDataSource(config));
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicaPools, maxLagMillis, lagQuery);
+        routing.checkReplicas();
+        schedulerExecutor.scheduleWithFixedDelay(routing::checkReplicas,
+            Instant.now().plusMillis(healthCheckMillis), Duration.ofMillis(healthCheckMillis));
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        // Defers the physical connection to the first statement, after the transaction's read-only flag is known
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
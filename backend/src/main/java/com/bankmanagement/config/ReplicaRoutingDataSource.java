@@ -0,0 +1,296 @@
+package com.bankmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Hands out primary connections for read-write work and replica connections inside read-only transactions.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy so the connection is only fetched once the transaction's
+ * read-only flag is set. Replicas are used round-robin while their last health check passed within the lag
+ * limit; with none available, or when a replica refuses a connection, read-only work falls back to the
+ * primary. Reads that must see the primary's latest writes run inside {@link #onPrimary(Supplier)}; reads that
+ * only need the writes behind given table versions run inside {@link #onReplicaAtLeast(Map, Supplier)}.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Zero while streaming and everything received is replayed, otherwise the age of the last replayed commit.
+    // NULL (replica taken out of rotation) while the WAL receiver is not streaming: receive and replay positions
+    // then stay equal however far the primary has moved on.
+    static final String POSTGRES_LAG_QUERY =
+        "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+        "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL " +
+        "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) * 1000 END";
+
+    private static final String TABLE_VERSIONS_QUERY = "SELECT table_name, version FROM table_versions";
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+    private static final ThreadLocal<Map<String, Long>> MIN_TABLE_VERSIONS = new ThreadLocal<>();
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMillis;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final AtomicLong primaryConnections = new AtomicLong();
+    private final AtomicLong replicaConnections = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+    private final AtomicLong staleFallbacks = new AtomicLong();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicaPools,
+                                    long maxLagMillis, String lagQuery) {
+        this.primary = primary;
+        this.maxLagMillis = maxLagMillis;
+        for (HikariDataSource pool : replicaPools) {
+            String query = lagQuery != null && !lagQuery.isBlank() ? lagQuery
+                : pool.getJdbcUrl().startsWith("jdbc:postgresql:") ? POSTGRES_LAG_QUERY : "SELECT 0";
+            replicas.add(new Replica(pool, query));
+        }
+    }
+
+    /**
+     * Run read-only work against the primary, for reads that must see writes just committed there
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            }
+        }
+    }
+
+    /**
+     * Run read-only work on a replica only if it has applied these table_versions rows (table name to
+     * version), otherwise on the primary. A version is published after the writes it counts have committed,
+     * so a replica that replayed it also holds those writes.
+     */
+    public static <T> T onReplicaAtLeast(Map<String, Long> tableVersions, Supplier<T> work) {
+        Map<String, Long> previous = MIN_TABLE_VERSIONS.get();
+        MIN_TABLE_VERSIONS.set(tableVersions);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                MIN_TABLE_VERSIONS.remove();
+            } else {
+                MIN_TABLE_VERSIONS.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PRIMARY_ONLY.get() == null) {
+            Replica replica = pickReplica();
+            if (replica != null) {
+                try {
+                    Connection connection = replica.pool.getConnection();
+                    Map<String, Long> required = MIN_TABLE_VERSIONS.get();
+                    if (required == null || hasApplied(connection, required)) {
+                        replicaConnections.incrementAndGet();
+                        replica.connections.incrementAndGet();
+                        return connection;
+                    }
+                    connection.close();
+                    staleFallbacks.incrementAndGet();
+                } catch (SQLException e) {
+                    replica.markDown("Connection failed: " + e.getMessage());
+                }
+            }
+            fallbacks.incrementAndGet();
+        }
+        primaryConnections.incrementAndGet();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pooled connections use the configured credentials");
+    }
+
+    /**
+     * Probe every replica and record whether it is reachable and within the lag limit
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(replica.lagQuery)) {
+                boolean measured = false;
+                double lag = 0;
+                if (rs.next()) {
+                    lag = rs.getDouble(1);
+                    measured = !rs.wasNull();
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                }
+                long lagMillis = measured ? Math.round(lag) : -1;
+                replica.lagMillis = lagMillis;
+                replica.lastCheckedAt = LocalDateTime.now();
+                if (!measured) {
+                    replica.markDown("Lag cannot be measured, the replica is not streaming from the primary");
+                } else if (lagMillis > maxLagMillis) {
+                    replica.markDown("Lagging " + lagMillis + " ms behind the primary");
+                } else {
+                    replica.markUp();
+                }
+            } catch (SQLException e) {
+                replica.lastCheckedAt = LocalDateTime.now();
+                replica.markDown("Health check failed: " + e.getMessage());
+            }
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("replicasEnabled", true);
+        status.put("maxLagMs", maxLagMillis);
+        status.put("primaryConnections", primaryConnections.get());
+        status.put("replicaConnections", replicaConnections.get());
+        status.put("readOnlyFallbacksToPrimary", fallbacks.get());
+        status.put("staleReplicaFallbacksToPrimary", staleFallbacks.get());
+        List<Map<String, Object>> pools = new ArrayList<>();
+        pools.add(poolMetrics(primary, "PRIMARY"));
+        for (Replica replica : replicas) {
+            Map<String, Object> metrics = poolMetrics(replica.pool, "REPLICA");
+            metrics.put("healthy", replica.healthy);
+            metrics.put("lagMs", replica.lagMillis);
+            metrics.put("lastCheckedAt", replica.lastCheckedAt);
+            metrics.put("lastError", replica.lastError);
+            metrics.put("connectionsServed", replica.connections.get());
+            pools.add(metrics);
+        }
+        status.put("pools", pools);
+        return status;
+    }
+
+    /**
+     * Live Hikari pool figures; the pool counters are absent until the pool has started
+     */
+    public static Map<String, Object> poolMetrics(HikariDataSource pool, String role) {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("pool", pool.getPoolName());
+        metrics.put("role", role);
+        metrics.put("url", withoutParameters(pool.getJdbcUrl()));
+        metrics.put("maximumPoolSize", pool.getMaximumPoolSize());
+        HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+        if (bean != null) {
+            metrics.put("activeConnections", bean.getActiveConnections());
+            metrics.put("idleConnections", bean.getIdleConnections());
+            metrics.put("totalConnections", bean.getTotalConnections());
+            metrics.put("threadsAwaitingConnection", bean.getThreadsAwaitingConnection());
+        }
+        return metrics;
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            replica.pool.close();
+        }
+        primary.close();
+    }
+
+    private Replica pickReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(1, size));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasApplied(Connection connection, Map<String, Long> required) throws SQLException {
+        Map<String, Long> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(TABLE_VERSIONS_QUERY)) {
+            while (rs.next()) {
+                applied.put(rs.getString(1), rs.getLong(2));
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        // End the check's implicit transaction so the caller can still set the read-only flag
+        if (!connection.getAutoCommit()) {
+            connection.rollback();
+        }
+        for (Map.Entry<String, Long> entry : required.entrySet()) {
+            if (applied.getOrDefault(entry.getKey(), 0L) < entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Connection parameters can carry credentials
+    private static String withoutParameters(String jdbcUrl) {
+        if (jdbcUrl == null) {
+            return null;
+        }
+        int query = jdbcUrl.indexOf('?');
+        int h2Options = jdbcUrl.indexOf(';');
+        int cut = query >= 0 ? query : h2Options;
+        return cut >= 0 ? jdbcUrl.substring(0, cut) : jdbcUrl;
+    }
+
+    private static final class Replica {
+        private final HikariDataSource pool;
+        private final String lagQuery;
+        private final AtomicLong connections = new AtomicLong();
+        private volatile boolean healthy = false;
+        private volatile long lagMillis = -1;
+        private volatile LocalDateTime lastCheckedAt;
+        private volatile String lastError;
+
+        Replica(HikariDataSource pool, String lagQuery) {
+            this.pool = pool;
+            this.lagQuery = lagQuery;
+        }
+
+        void markUp() {
+            if (!healthy) {
+                log.info("🟢 Replica pool {} is serving reads (lag {} ms)", pool.getPoolName(), lagMillis);
+            }
+            healthy = true;
+            lastError = null;
+        }
+
+        void markDown(String reason) {
+            if (healthy || lastError == null) {
+                log.warn("🔴 Replica pool {} taken out of rotation: {}", pool.getPoolName(), reason);
+            }
+            healthy = false;
+            lastError = reason;
+        }
+    }
+}
@@ -1,11 +1,24 @@
 package com.bankmanagement.controller;
 
+import com.bankmanagement.dto.AccountView;
+import com.bankmanagement.dto.BatchGetRequest;
 import com.bankmanagement.model.Account;
 import com.bankmanagement.service.AccountService;
+import com.bankmanagement.service.ExportService;
+import com.bankmanagement.service.TableVersionService;
+import com.bankmanagement.service.TransactionService;
+import com.bankmanagement.util.ConditionalGet;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -20,6 +33,15 @@ public class AccountController {
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TableVersionService tableVersionService;
+
     // Specific endpoints first (before the generic /{id} pattern)
     @GetMapping("/basic")
     public ResponseEntity<?> getBasicTest() {
@@ -117,27 +139,43 @@ public class AccountController {
         }
     }
 
+    /**
+     * Lists accounts. With any paging or filter parameter the result is one keyset page
+     * ({@code items}, {@code nextCursor}); without parameters the full list is returned as before.
+     */
     @GetMapping
-    public ResponseEntity<?> getAllAccounts() {
+    public ResponseEntity<?> getAllAccounts(@RequestParam(required = false) Long customerId,
+                                            @RequestParam(required = false) Account.AccountStatus status,
+                                            @RequestParam(required = false) Account.AccountType type,
+                                            @RequestParam(required = false) BigDecimal minBalance,
+                                            @RequestParam(required = false) BigDecimal maxBalance,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer limit,
+                                            WebRequest webRequest) {
+        String etag = tableVersionService.etag(TableVersionService.Table.ACCOUNTS);
+        Map<String, Long> requiredVersions = tableVersionService.requiredVersions(TableVersionService.Table.ACCOUNTS);
+        if (ConditionalGet.notModified(webRequest, etag)) {
+            return null;
+        }
         try {
-            System.out.println("🔍 Getting all accounts...");
-            System.out.println("🔍 AccountService: " + (accountService != null ? "OK" : "NULL"));
-            
-            // Test repository directly
-            System.out.println("🔍 Testing repository...");
-            long count = accountService.getTotalAccounts();
-            System.out.println("🔍 Total accounts count: " + count);
+            boolean paged = customerId != null || status != null || type != null || minBalance != null ||
+                maxBalance != null || cursor != null || limit != null;
+            if (paged) {
+                return ConditionalGet.ok(ConditionalGet.read(etag, requiredVersions, () -> accountService.listAccounts(
+                    customerId, status, type, minBalance, maxBalance, cursor, limit)));
+            }
             
+            System.out.println("🔍 Getting all accounts...");
             // Use custom query to get account data as Map to avoid entity mapping issues
-            List<Map<String, Object>> accounts = accountService.getAllAccountsAsMap();
+            List<Map<String, Object>> accounts = ConditionalGet.read(etag, requiredVersions, accountService::getAllAccountsAsMap);
             System.out.println("✅ Found " + accounts.size() + " accounts using custom query");
             
-            // Log each account
-            for (Map<String, Object> account : accounts) {
-                System.out.println("📝 Account: " + account.get("accountNumber") + " - " + account.get("accountType") + " - $" + account.get("balance"));
-            }
-            
-            return ResponseEntity.ok(accounts);
+            return ConditionalGet.ok(accounts);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
         } catch (Exception e) {
             System.err.println("❌ Error getting accounts: " + e.getMessage());
             System.err.println("❌ Error class: " + e.getClass().getSimpleName());
@@ -150,39 +188,61 @@ public class AccountController {
         }
     }
 
+    /**
+     * Full extract as CSV or NDJSON, streamed from a database cursor as rows are read
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportAccounts(@RequestParam(defaultValue = "csv") String format,
+                                            @RequestParam(required = false) Long customerId,
+                                            @RequestParam(required = false) Account.AccountStatus status,
+                                            @RequestParam(required = false) Account.AccountType type,
+                                            HttpServletResponse response) throws IOException {
+        ExportService.Format exportFormat;
+        try {
+            exportFormat = ExportService.Format.parse(format);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> body = new HashMap<>();
+            body.put("success", false);
+            body.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(body);
+        }
+        System.out.println("📤 Exporting accounts as " + exportFormat + "...");
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"accounts." + exportFormat.getExtension() + "\"");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        try {
+            exportService.exportAccounts(exportFormat, customerId, status, type, response.getOutputStream());
+        } catch (RuntimeException e) {
+            System.err.println("❌ Account export failed: " + e.getMessage());
+            throw e;
+        }
+        // Body already written to the response
+        return null;
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<?> getAccountById(@PathVariable Long id) {
+    public ResponseEntity<?> getAccountById(@PathVariable Long id, WebRequest webRequest) {
+        String etag = tableVersionService.etag(TableVersionService.Table.ACCOUNTS);
+        Map<String, Long> requiredVersions = tableVersionService.requiredVersions(TableVersionService.Table.ACCOUNTS);
+        if (ConditionalGet.notModified(webRequest, etag)) {
+            return null;
+        }
         try {
             System.out.println("🔍 Getting account by ID: " + id);
             
-            // Use custom query to get account data as Map to avoid entity mapping issues
-            List<Map<String, Object>> accounts = accountService.getAllAccountsAsMap();
-            
-            // Find the account with the matching ID
-            Optional<Map<String, Object>> accountOpt = accounts.stream()
-                .filter(account -> {
-                    Object accountId = account.get("accountId");
-                    if (accountId instanceof Number) {
-                        return ((Number) accountId).longValue() == id;
-                    }
-                    return accountId != null && accountId.toString().equals(id.toString());
-                })
-                .findFirst();
-            
-            if (accountOpt.isPresent()) {
-                Map<String, Object> account = accountOpt.get();
-                System.out.println("✅ Found account: " + account.get("accountNumber"));
-                return ResponseEntity.ok(account);
-            } else {
-                System.out.println("❌ Account not found with ID: " + id);
-                Map<String, Object> response = new HashMap<>();
-                response.put("success", false);
-                response.put("message", "Account not found");
-                return ResponseEntity.status(404).body(response);
+            // Primary key projection (cached) instead of scanning every account
+            Optional<AccountView> account = ConditionalGet.read(etag, requiredVersions, () -> accountService.getAccountView(id));
+            if (account.isPresent()) {
+                return ConditionalGet.ok(account.get());
             }
+            System.out.println("❌ Account not found with ID: " + id);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Account not found");
+            return ResponseEntity.status(404).body(response);
         } catch (Exception e) {
             System.err.println("❌ Error getting account by ID: " + e.getMessage());
-            e.printStackTrace();
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
             response.put("message", "Failed to fetch account: " + e.getMessage());
@@ -190,6 +250,103 @@ public class AccountController {
         }
     }
 
+    /**
+     * One account's transactions, both legs, newest first with the balance after each row.
+     * Paged by {@code cursor}/{@code limit} like the listings.
+     */
+    @GetMapping("/{id}/transactions")
+    public ResponseEntity<?> getAccountHistory(@PathVariable Long id,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer limit,
+                                               WebRequest webRequest) {
+        String etag = tableVersionService.etag(TableVersionService.Table.TRANSACTIONS, TableVersionService.Table.ACCOUNTS);
+        Map<String, Long> requiredVersions = tableVersionService.requiredVersions(TableVersionService.Table.TRANSACTIONS, TableVersionService.Table.ACCOUNTS);
+        if (ConditionalGet.notModified(webRequest, etag)) {
+            return null;
+        }
+        try {
+            Optional<Map<String, Object>> history = ConditionalGet.read(etag, requiredVersions,
+                () -> transactionService.getAccountHistory(id, from, to, cursor, limit));
+            if (history.isPresent()) {
+                return ConditionalGet.ok(history.get());
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Account not found");
+            return ResponseEntity.status(404).body(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            System.err.println("❌ Error getting account history: " + e.getMessage());
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Failed to fetch account history: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
+    @GetMapping("/by-number/{accountNumber}")
+    public ResponseEntity<?> getAccountByNumber(@PathVariable String accountNumber, WebRequest webRequest) {
+        String etag = tableVersionService.etag(TableVersionService.Table.ACCOUNTS);
+        Map<String, Long> requiredVersions = tableVersionService.requiredVersions(TableVersionService.Table.ACCOUNTS);
+        if (ConditionalGet.notModified(webRequest, etag)) {
+            return null;
+        }
+        try {
+            Optional<AccountView> account = ConditionalGet.read(etag, requiredVersions, () -> accountService.getAccountViewByNumber(accountNumber));
+            if (account.isPresent()) {
+                return ConditionalGet.ok(account.get());
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Account not found");
+            return ResponseEntity.status(404).body(response);
+        } catch (Exception e) {
+            System.err.println("❌ Error getting account by number: " + e.getMessage());
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Failed to fetch account: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
+    /**
+     * Looks up many accounts by id and/or account number in one call (at most 1000 keys).
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> getAccountsBatch(@RequestBody BatchGetRequest request) {
+        try {
+            Map<String, Object> response = new HashMap<>(
+                accountService.getAccountViews(request.getIds(), request.getAccountNumbers()));
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            System.err.println("❌ Error in batch account lookup: " + e.getMessage());
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Failed to fetch accounts: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
+    @GetMapping("/cache-stats")
+    public ResponseEntity<?> getAccountCacheStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("cache", accountService.getCacheStats());
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping
     public ResponseEntity<?> createAccount(@RequestBody Account account) {
         try {
@@ -253,7 +410,6 @@ public class AccountController {
             
             // Create a new Account object with the updated data
             Account updatedAccount = new Account();
-            updatedAccount.setAccountId(id);
             
             // Set fields from the request data
             if (accountData.containsKey("customerId")) {
@@ -276,13 +432,16 @@ public class AccountController {
             }
             
             // Save the updated account
-            Account savedAccount = accountService.createAccount(updatedAccount);
+            Account savedAccount = accountService.updateAccount(id, updatedAccount);
             System.out.println("✅ Account updated successfully: " + savedAccount.getAccountId());
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Account updated successfully");
-            response.put("account", savedAccount);
+            // As a view: the managed entity carries a lazy customer proxy that cannot be serialized
+            response.put("account", new AccountView(savedAccount.getAccountId(), savedAccount.getCustomerId(),
+                savedAccount.getAccountNumber(), savedAccount.getAccountType(), savedAccount.getBalance(),
+                savedAccount.getInterestRate(), savedAccount.getStatus(), savedAccount.getCreatedAt()));
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             System.err.println("❌ Error updating account: " + e.getMessage());
@@ -0,0 +1,122 @@
+package com.bankmanagement.controller;
+
+import com.bankmanagement.model.ArchivedTransaction;
+import com.bankmanagement.service.TransactionArchiveService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for the transaction archive (cold tier) and its carry-forward balances.
+ */
+@RestController
+@RequestMapping("/api/archive")
+@CrossOrigin(origins = "*")
+public class ArchiveController {
+
+    private final TransactionArchiveService transactionArchiveService;
+
+    public ArchiveController(TransactionArchiveService transactionArchiveService) {
+        this.transactionArchiveService = transactionArchiveService;
+    }
+
+    /**
+     * Pages through archived transactions in transaction id order.
+     *
+     * @param accountId optional account filter; includes transfers received by the account
+     * @param afterId   last transaction id of the previous page (exclusive)
+     * @param limit     page size, capped at 1000
+     * @return ResponseEntity with the page and the id to pass as afterId for the next page
+     */
+    @GetMapping("/transactions")
+    public ResponseEntity<?> getArchivedTransactions(@RequestParam(required = false) Long accountId,
+                                                     @RequestParam(defaultValue = "0") Long afterId,
+                                                     @RequestParam(defaultValue = "100") int limit) {
+        try {
+            List<ArchivedTransaction> transactions = transactionArchiveService.getArchivedTransactions(accountId, afterId, limit);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("transactions", transactions);
+            response.put("nextAfterId", transactions.isEmpty()
+                ? null : transactions.get(transactions.size() - 1).getTransactionId());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Failed to read archive: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
+    /**
+     * Returns the carry-forward balance an account's archived postings contribute.
+     *
+     * @param accountId account to look up
+     * @return ResponseEntity with the carry-forward, or 404 if nothing has been archived for the account
+     */
+    @GetMapping("/accounts/{accountId}/carry-forward")
+    public ResponseEntity<?> getCarryForward(@PathVariable Long accountId) {
+        return transactionArchiveService.getCarryForward(accountId)
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .orElseGet(() -> {
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", false);
+                response.put("message", "No archived transactions for account " + accountId);
+                return ResponseEntity.status(404).body(response);
+            });
+    }
+
+    /**
+     * Returns archive size, configuration and the outcome of the last run.
+     *
+     * @return ResponseEntity with archive status
+     */
+    @GetMapping("/status")
+    public ResponseEntity<?> getStatus() {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("status", transactionArchiveService.getStatus());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Failed to get archive status: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
+    /**
+     * Runs archival immediately.
+     *
+     * @param olderThanDays optional retention override; defaults to archive.retention-days
+     * @return ResponseEntity with the number of transactions archived
+     */
+    @PostMapping("/run")
+    public ResponseEntity<?> runArchival(@RequestParam(required = false) Integer olderThanDays) {
+        try {
+            Map<String, Object> result = olderThanDays != null
+                ? transactionArchiveService.archiveOlderThan(LocalDateTime.now().minusDays(olderThanDays))
+                : transactionArchiveService.archive();
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Archival completed");
+            response.put("result", result);
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(409).body(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Archival failed: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+}
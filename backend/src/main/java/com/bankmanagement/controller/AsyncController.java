@@ -2,13 +2,20 @@ package com.bankmanagement.controller;
 
 import com.bankmanagement.model.Transaction;
 import com.bankmanagement.service.AsyncTransactionService;
+import com.bankmanagement.service.BalanceRecalculationPreviewService;
+import com.bankmanagement.service.InterestAccrualService;
+import com.bankmanagement.service.JobLeaseService;
 import com.bankmanagement.service.ScheduledTaskService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -22,16 +29,27 @@ public class AsyncController {
 
     private final AsyncTransactionService asyncTransactionService;
     private final ScheduledTaskService scheduledTaskService;
+    private final BalanceRecalculationPreviewService balanceRecalculationPreviewService;
+    private final InterestAccrualService interestAccrualService;
+    private final JobLeaseService jobLeaseService;
 
     /**
      * Constructs AsyncController with required service dependencies.
      *
      * @param asyncTransactionService service for handling async transactions
      * @param scheduledTaskService service for scheduled task management
+     * @param balanceRecalculationPreviewService service for recalculation dry-runs
+     * @param interestAccrualService service for interest accrual and periodic posting
+     * @param jobLeaseService cluster leases shared with the scheduled interest runs
      */
-    public AsyncController(AsyncTransactionService asyncTransactionService, ScheduledTaskService scheduledTaskService) {
+    public AsyncController(AsyncTransactionService asyncTransactionService, ScheduledTaskService scheduledTaskService,
+                           BalanceRecalculationPreviewService balanceRecalculationPreviewService,
+                           InterestAccrualService interestAccrualService, JobLeaseService jobLeaseService) {
         this.asyncTransactionService = asyncTransactionService;
         this.scheduledTaskService = scheduledTaskService;
+        this.balanceRecalculationPreviewService = balanceRecalculationPreviewService;
+        this.interestAccrualService = interestAccrualService;
+        this.jobLeaseService = jobLeaseService;
     }
 
     /**
@@ -137,6 +155,99 @@ public class AsyncController {
         }
     }
 
+    /**
+     * Dry-run of the async balance recalculation. Streams the proposed corrections as NDJSON
+     * (accountId, stored, computed, delta) while they are computed, without writing any balance.
+     *
+     * @return streaming NDJSON body ending with a summary line
+     */
+    @PostMapping(value = "/balances/recalculate", params = "dryRun=true")
+    public ResponseEntity<StreamingResponseBody> recalculateBalancesDryRun() {
+        System.out.println("🔍 Starting balance recalculation dry-run via API");
+        StreamingResponseBody body = out -> balanceRecalculationPreviewService.streamDryRun(out, false);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .body(body);
+    }
+
+    /**
+     * Returns the current interest accrual state (accumulator count, total accrued, last runs).
+     *
+     * @return ResponseEntity with the accrual summary
+     */
+    @GetMapping("/interest/accruals")
+    public ResponseEntity<?> getInterestAccruals() {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("result", interestAccrualService.getSummary());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Failed to get interest accruals: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * Runs one accrual pass immediately under the scheduled accrual's lease, adding interest to the
+     * accumulators without posting.
+     *
+     * @return ResponseEntity with the number of accounts accrued, or 409 while the lease is held elsewhere
+     */
+    @PostMapping("/interest/accrue")
+    public ResponseEntity<?> accrueInterest() {
+        try {
+            Optional<Map<String, Object>> result = jobLeaseService.runExclusive(InterestAccrualService.ACCRUAL_JOB,
+                Duration.ofMinutes(10), Duration.ZERO, interestAccrualService::accrue);
+            Map<String, Object> response = new HashMap<>();
+            if (result.isEmpty()) {
+                response.put("success", false);
+                response.put("message", "Interest accrual is running or has just run");
+                return ResponseEntity.status(409).body(response);
+            }
+            response.put("success", true);
+            response.put("message", "Interest accrued");
+            response.put("result", result.get());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Interest accrual failed: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * Posts accrued interest (whole cents) as INTEREST_CREDIT transactions immediately, under the
+     * scheduled posting's lease.
+     *
+     * @return ResponseEntity with the number of accounts posted and total interest, or 409 while the lease is held elsewhere
+     */
+    @PostMapping("/interest/post")
+    public ResponseEntity<?> postAccruedInterest() {
+        try {
+            Optional<Map<String, Object>> result = jobLeaseService.runExclusive(InterestAccrualService.POSTING_JOB,
+                Duration.ofMinutes(10), Duration.ZERO, interestAccrualService::postAccruedInterest);
+            Map<String, Object> response = new HashMap<>();
+            if (result.isEmpty()) {
+                response.put("success", false);
+                response.put("message", "Interest posting is running or has just run");
+                return ResponseEntity.status(409).body(response);
+            }
+            response.put("success", true);
+            response.put("message", "Accrued interest posted");
+            response.put("result", result.get());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Interest posting failed: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
     /**
      * Asynchronously generates a transaction report.
      *
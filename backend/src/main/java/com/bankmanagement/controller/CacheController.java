@@ -0,0 +1,71 @@
+package com.bankmanagement.controller;
+
+import com.bankmanagement.service.LocalCacheService;
+import com.bankmanagement.service.TableVersionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * REST controller for the node-local cache regions and the table versions behind ETags.
+ */
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    private final LocalCacheService localCacheService;
+    private final TableVersionService tableVersionService;
+
+    public CacheController(LocalCacheService localCacheService, TableVersionService tableVersionService) {
+        this.localCacheService = localCacheService;
+        this.tableVersionService = tableVersionService;
+    }
+
+    /**
+     * Hit, miss, eviction and expiry counts with the size and limits of every region on this node.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<?> getCacheStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("regions", localCacheService.getStats());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Shared version and unpublished local writes per table, with the last sync of this node.
+     */
+    @GetMapping("/table-versions")
+    public ResponseEntity<?> getTableVersions() {
+        Map<String, Object> response = new HashMap<>(tableVersionService.getStatus());
+        response.put("success", true);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/clear")
+    public ResponseEntity<?> clearAll() {
+        localCacheService.clearAll();
+        System.out.println("🧹 Cleared all local cache regions");
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "All cache regions cleared");
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{region}/clear")
+    public ResponseEntity<?> clearRegion(@PathVariable String region) {
+        Map<String, Object> response = new HashMap<>();
+        if (!localCacheService.clear(region)) {
+            response.put("success", false);
+            response.put("message", "Unknown cache region: " + region);
+            return ResponseEntity.status(404).body(response);
+        }
+        System.out.println("🧹 Cleared cache region " + region);
+        response.put("success", true);
+        response.put("message", "Cache region " + region + " cleared");
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,99 @@
+package com.bankmanagement.controller;
+
+import com.bankmanagement.model.OutboxEvent;
+import com.bankmanagement.service.ChangeFeedService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller exposing the posting outbox as an incremental change feed.
+ * External consumers poll from their stored offset and acknowledge what they processed.
+ */
+@RestController
+@RequestMapping("/api/changefeed")
+@CrossOrigin(origins = "*")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeFeedController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    /**
+     * Returns the outbox head and every consumer's offset and lag.
+     *
+     * @return ResponseEntity with change feed status
+     */
+    @GetMapping("/status")
+    public ResponseEntity<?> getStatus() {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("status", changeFeedService.getStatus());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Error retrieving change feed status: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * Reads the next batch of outbox events after the consumer's offset without advancing it.
+     *
+     * @param consumer consumer name
+     * @param limit maximum number of events to return
+     * @return ResponseEntity with the events and the id to acknowledge
+     */
+    @GetMapping("/{consumer}")
+    public ResponseEntity<?> poll(@PathVariable String consumer, @RequestParam(defaultValue = "500") int limit) {
+        try {
+            List<OutboxEvent> events = changeFeedService.poll(consumer, Math.min(Math.max(limit, 1), 5000));
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("events", events);
+            response.put("nextAck", events.isEmpty() ? null : events.get(events.size() - 1).getOutboxId());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Error reading change feed: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * Advances the consumer's durable offset.
+     *
+     * @param consumer consumer name
+     * @param request body containing lastOutboxId
+     * @return ResponseEntity with the stored offset
+     */
+    @PostMapping("/{consumer}/ack")
+    public ResponseEntity<?> acknowledge(@PathVariable String consumer, @RequestBody Map<String, Long> request) {
+        try {
+            Long lastOutboxId = request.get("lastOutboxId");
+            if (lastOutboxId == null) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", false);
+                response.put("message", "lastOutboxId is required");
+                return ResponseEntity.badRequest().body(response);
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("lastOutboxId", changeFeedService.acknowledge(consumer, lastOutboxId));
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Error acknowledging change feed: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+}
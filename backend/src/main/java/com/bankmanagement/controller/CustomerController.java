@@ -1,14 +1,22 @@
 package com.bankmanagement.controller;
 
+import com.bankmanagement.dto.BatchGetRequest;
 import com.bankmanagement.dto.CustomerDTO;
+import com.bankmanagement.service.CustomerOverviewService;
 import com.bankmanagement.service.CustomerService;
+import com.bankmanagement.service.TableVersionService;
+import com.bankmanagement.util.ConditionalGet;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/customers")
@@ -18,11 +26,39 @@ public class CustomerController {
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private CustomerOverviewService customerOverviewService;
+
+    @Autowired
+    private TableVersionService tableVersionService;
+
+    /**
+     * Lists customers. With any paging or filter parameter the result is one keyset page
+     * ({@code items}, {@code nextCursor}); without parameters the full list is returned as before.
+     */
     @GetMapping
-    public ResponseEntity<?> getAllCustomers() {
+    public ResponseEntity<?> getAllCustomers(
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String lastName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        String etag = tableVersionService.etag(TableVersionService.Table.CUSTOMERS);
+        Map<String, Long> requiredVersions = tableVersionService.requiredVersions(TableVersionService.Table.CUSTOMERS);
+        if (ConditionalGet.notModified(webRequest, etag)) {
+            return null;
+        }
         try {
-            List<CustomerDTO> customers = customerService.getAllCustomers();
-            return ResponseEntity.ok(customers);
+            boolean paged = active != null || lastName != null || createdFrom != null || createdTo != null ||
+                cursor != null || limit != null;
+            if (paged) {
+                return ConditionalGet.ok(ConditionalGet.read(etag, requiredVersions, () -> customerService.listCustomers(
+                    active, lastName, createdFrom, createdTo, cursor, limit)));
+            }
+            List<CustomerDTO> customers = ConditionalGet.read(etag, requiredVersions, customerService::getAllCustomers);
+            return ConditionalGet.ok(customers);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
@@ -32,11 +68,16 @@ public class CustomerController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getCustomerById(@PathVariable Long id) {
+    public ResponseEntity<?> getCustomerById(@PathVariable Long id, WebRequest webRequest) {
+        String etag = tableVersionService.etag(TableVersionService.Table.CUSTOMERS);
+        Map<String, Long> requiredVersions = tableVersionService.requiredVersions(TableVersionService.Table.CUSTOMERS);
+        if (ConditionalGet.notModified(webRequest, etag)) {
+            return null;
+        }
         try {
-            CustomerDTO customer = customerService.getCustomerById(id)
+            CustomerDTO customer = ConditionalGet.read(etag, requiredVersions, () -> customerService.getCustomerById(id))
                     .orElseThrow(() -> new RuntimeException("Customer not found with id: " + id));
-            return ResponseEntity.ok(customer);
+            return ConditionalGet.ok(customer);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
@@ -45,6 +86,47 @@ public class CustomerController {
         }
     }
 
+    /**
+     * Looks up many customers by id in one call (at most 1000 ids)
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> getCustomersBatch(@RequestBody BatchGetRequest request) {
+        try {
+            Map<String, Object> response = new HashMap<>(customerService.getCustomersByIds(request.getIds()));
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * The customer, their accounts and each account's recent transactions in one response
+     */
+    @GetMapping("/{id}/overview")
+    public ResponseEntity<?> getCustomerOverview(@PathVariable Long id,
+                                                 @RequestParam(required = false) Integer transactionsPerAccount) {
+        try {
+            Optional<Map<String, Object>> overview = customerOverviewService.getOverview(id, transactionsPerAccount);
+            if (overview.isPresent()) {
+                return ResponseEntity.ok(overview.get());
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Customer not found with id: " + id);
+            return ResponseEntity.status(404).body(response);
+        } catch (Exception e) {
+            System.err.println("❌ Error building customer overview: " + e.getMessage());
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Failed to build customer overview: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
     @PostMapping
     public ResponseEntity<?> createCustomer(@RequestBody CustomerDTO customerDTO) {
         try {
@@ -95,10 +177,14 @@ public class CustomerController {
         }
     }
 
+    /**
+     * Ranked search-as-you-type over name, email and phone
+     */
     @GetMapping("/search")
-    public ResponseEntity<?> searchCustomers(@RequestParam String query) {
+    public ResponseEntity<?> searchCustomers(@RequestParam String query,
+                                             @RequestParam(required = false) Integer limit) {
         try {
-            List<CustomerDTO> customers = customerService.searchCustomersByName(query);
+            List<CustomerDTO> customers = customerService.searchCustomers(query, limit);
             return ResponseEntity.ok(customers);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
@@ -107,4 +193,25 @@ public class CustomerController {
             return ResponseEntity.badRequest().body(response);
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping("/search/stats")
+    public ResponseEntity<?> getSearchIndexStats() {
+        return ResponseEntity.ok(customerService.getSearchIndexStats());
+    }
+
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<?> rebuildSearchIndex() {
+        try {
+            System.out.println("🔎 Rebuilding customer search index...");
+            customerService.rebuildSearchIndex();
+            Map<String, Object> response = new HashMap<>(customerService.getSearchIndexStats());
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Failed to rebuild search index: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+}
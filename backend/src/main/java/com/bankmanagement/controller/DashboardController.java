@@ -1,19 +1,35 @@
 package com.bankmanagement.controller;
 
 import com.bankmanagement.service.CustomerService;
+import com.bankmanagement.service.DashboardStatsService;
+import com.bankmanagement.service.DashboardStreamService;
+import com.bankmanagement.service.EntityCounterService;
+import com.bankmanagement.service.StreamTicketService;
 import com.bankmanagement.service.AccountService;
+import com.bankmanagement.service.TransactionRollupService;
 import com.bankmanagement.service.TransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/dashboard")
 @CrossOrigin(origins = "*")
 public class DashboardController {
+    private static final Logger log = LoggerFactory.getLogger(DashboardController.class);
 
     @Autowired
     private CustomerService customerService;
@@ -24,6 +40,21 @@ public class DashboardController {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private EntityCounterService entityCounterService;
+
+    @Autowired
+    private StreamTicketService streamTicketService;
+
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private DashboardStreamService dashboardStreamService;
+
     @GetMapping("/stats")
     // @PreAuthorize("hasAnyRole('ADMIN', 'ROLE_ADMIN')") // Commented out to allow all authenticated users
     public ResponseEntity<?> getDashboardStats() {
@@ -40,55 +71,21 @@ public class DashboardController {
             stats.put("totalTransactions", 0);
             stats.put("monthlyTransactions", 0);
             
-            System.out.println("📊 Testing customer service...");
-            try {
-                // Try to get customer statistics
-                long totalCustomers = customerService.getTotalCustomers();
-                long activeCustomers = customerService.getActiveCustomersCount();
-                stats.put("totalCustomers", totalCustomers);
-                stats.put("activeCustomers", activeCustomers);
-                System.out.println("✅ Customer service OK: " + totalCustomers + " customers");
-            } catch (Exception e) {
-                System.out.println("❌ Customer service error: " + e.getMessage());
-                e.printStackTrace();
-                // Keep default values
-            }
-            
-            System.out.println("📊 Testing account service...");
-            try {
-                // Try to get account statistics
-                long totalAccounts = accountService.getTotalAccounts();
-                long activeAccounts = accountService.getActiveAccounts();
-                double totalBalance = accountService.getTotalBalance();
-                stats.put("totalAccounts", totalAccounts);
-                stats.put("activeAccounts", activeAccounts);
-                stats.put("totalBalance", totalBalance);
-                System.out.println("✅ Account service OK: " + totalAccounts + " accounts");
-            } catch (Exception e) {
-                System.out.println("❌ Account service error: " + e.getMessage());
-                e.printStackTrace();
-                // Keep default values
-            }
-            
-            System.out.println("📊 Testing transaction service...");
+            System.out.println("📊 Reading stats snapshot...");
             try {
-                // Try to get transaction statistics
-                long totalTransactions = transactionService.getTotalTransactions();
-                long monthlyTransactions = transactionService.getMonthlyTransactions();
-                stats.put("totalTransactions", totalTransactions);
-                stats.put("monthlyTransactions", monthlyTransactions);
-                System.out.println("✅ Transaction service OK: " + totalTransactions + " transactions");
+                // Served from memory; a stale snapshot is refreshed once for all concurrent callers
+                DashboardStatsService.Snapshot snapshot = dashboardStatsService.getSnapshot();
+                stats.putAll(snapshot.getStats());
+                stats.put("snapshotAt", snapshot.getComputedAt());
             } catch (Exception e) {
-                System.out.println("❌ Transaction service error: " + e.getMessage());
-                e.printStackTrace();
+                System.out.println("❌ Stats snapshot error: " + e.getMessage());
                 // Keep default values
             }
             
             System.out.println("✅ Returning stats: " + stats);
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
-            System.out.println("❌ Fatal error in dashboard stats: " + e.getMessage());
-            e.printStackTrace();
+            log.error("❌ Fatal error in dashboard stats: {}", e.getMessage(), e);
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
             response.put("message", e.getMessage());
@@ -97,6 +94,84 @@ public class DashboardController {
         }
     }
     
+    @GetMapping("/counters")
+    public ResponseEntity<?> getCounterStatus() {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("counters", entityCounterService.getSnapshot());
+            response.put("status", entityCounterService.getStatus());
+            response.put("snapshot", dashboardStatsService.getStatus());
+            response.put("stream", dashboardStreamService.getStatus());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    /**
+     * Single-use ticket for opening the stream, since EventSource cannot send the Authorization header
+     * and the JWT must not appear in a URL
+     */
+    @PostMapping("/stream/ticket")
+    public ResponseEntity<?> issueStreamTicket(Authentication authentication) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> details = (Map<String, Object>) authentication.getDetails();
+        @SuppressWarnings("unchecked")
+        List<String> roles = (List<String>) details.get("roles");
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("ticket", streamTicketService.issue((Long) details.get("userId"), (String) details.get("email"), roles));
+        response.put("expiresInMs", streamTicketService.getTicketTtlMillis());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Live counter updates as Server-Sent Events: a "snapshot" event on connect, then coalesced "delta" events.
+     * Opened with ?ticket= from POST /stream/ticket, each ticket once.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboard() {
+        try {
+            return dashboardStreamService.subscribe();
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    /**
+     * Transaction volume over a time range from the hourly and daily rollups.
+     * Defaults to the current month.
+     */
+    @GetMapping("/transaction-volume")
+    public ResponseEntity<?> getTransactionVolume(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            LocalDateTime end = to != null ? to : LocalDateTime.now();
+            LocalDateTime start = from != null ? from : end.withDayOfMonth(1).toLocalDate().atStartOfDay();
+            if (!start.isBefore(end)) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", false);
+                response.put("message", "from must be before to");
+                return ResponseEntity.badRequest().body(response);
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("volume", transactionRollupService.summarize(start, end));
+            response.put("rollups", transactionRollupService.getStatus());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
     @GetMapping("/test")
     public ResponseEntity<?> testConnection() {
         try {
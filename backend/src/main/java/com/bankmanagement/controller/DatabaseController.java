@@ -1,10 +1,15 @@
 package com.bankmanagement.controller;
 
+import com.bankmanagement.config.ReplicaRoutingDataSource;
+import com.bankmanagement.service.TableVersionService;
+import com.bankmanagement.service.TransactionSyncService;
 import com.bankmanagement.util.DatabaseManager;
+import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.sql.DataSource;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,6 +22,19 @@ public class DatabaseController {
     @Autowired
     private DatabaseManager databaseManager;
 
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TableVersionService tableVersionService;
+
+    @Autowired
+    private TransactionSyncService transactionSyncService;
+
+    // Only present when read replicas are enabled
+    @Autowired(required = false)
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
     @GetMapping("/status")
     public ResponseEntity<Map<String, Object>> getDatabaseStatus() {
         try {
@@ -43,6 +61,32 @@ public class DatabaseController {
         }
     }
 
+    /**
+     * Connection pool figures per pool, with replica health, lag and routing counts when replicas are enabled
+     */
+    @GetMapping("/pools")
+    public ResponseEntity<Map<String, Object>> getPoolStatus() {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            if (replicaRoutingDataSource != null) {
+                response.putAll(replicaRoutingDataSource.getStatus());
+            } else {
+                response.put("replicasEnabled", false);
+                if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                    response.put("pools", List.of(ReplicaRoutingDataSource.poolMetrics(
+                        dataSource.unwrap(HikariDataSource.class), "PRIMARY")));
+                }
+            }
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Error retrieving pool status: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
     @GetMapping("/tables/{tableName}/info")
     public ResponseEntity<Map<String, Object>> getTableInfo(@PathVariable String tableName) {
         try {
@@ -67,6 +111,8 @@ public class DatabaseController {
     public ResponseEntity<Map<String, Object>> resetDatabase() {
         try {
             databaseManager.resetDatabase();
+            tableVersionService.recordWrite(TableVersionService.Table.values());
+            transactionSyncService.recordReset();
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -85,6 +131,8 @@ public class DatabaseController {
     public ResponseEntity<Map<String, Object>> addSampleData() {
         try {
             databaseManager.addSampleData();
+            tableVersionService.recordWrite(TableVersionService.Table.values());
+            transactionSyncService.recordReset();
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -111,6 +159,8 @@ public class DatabaseController {
             }
             
             databaseManager.executeSQL(sql);
+            tableVersionService.recordWrite(TableVersionService.Table.values());
+            transactionSyncService.recordReset();
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
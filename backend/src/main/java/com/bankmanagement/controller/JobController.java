@@ -0,0 +1,110 @@
+package com.bankmanagement.controller;
+
+import com.bankmanagement.service.BatchJobService;
+import com.bankmanagement.service.ChunkedJob;
+import com.bankmanagement.service.JobLeaseService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * REST controller for cluster-wide scheduled job leases and chunked batch job executions.
+ */
+@RestController
+@RequestMapping("/api/jobs")
+@CrossOrigin(origins = "*")
+public class JobController {
+
+    private final JobLeaseService jobLeaseService;
+    private final BatchJobService batchJobService;
+
+    public JobController(JobLeaseService jobLeaseService, BatchJobService batchJobService) {
+        this.jobLeaseService = jobLeaseService;
+        this.batchJobService = batchJobService;
+    }
+
+    /**
+     * Lists every leased job with its current owner, fencing token, lease expiry and last outcome.
+     *
+     * @return ResponseEntity with this instance's id and the lease table
+     */
+    @GetMapping("/status")
+    public ResponseEntity<?> getJobStatus() {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("status", jobLeaseService.getStatus());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Failed to get job status: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
+    /**
+     * Lists recent batch job executions with their chunk progress, newest first.
+     *
+     * @param jobName optional job to filter on
+     * @param limit maximum number of executions (capped at 100)
+     * @return ResponseEntity with the executions and the registered job names
+     */
+    @GetMapping("/executions")
+    public ResponseEntity<?> getExecutions(@RequestParam(required = false) String jobName,
+                                           @RequestParam(defaultValue = "20") int limit) {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("jobs", batchJobService.getJobNames());
+            response.put("executions", batchJobService.getExecutions(jobName, limit));
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Failed to get job executions: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
+    /**
+     * Runs a batch job now under its cluster lease, resuming its unfinished execution if there is one.
+     *
+     * @param jobName the registered job name
+     * @return ResponseEntity with the execution result, 404 for an unknown job or 409 if it is already running
+     */
+    @PostMapping("/{jobName}/run")
+    public ResponseEntity<?> runJob(@PathVariable String jobName) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            Optional<ChunkedJob> job = batchJobService.findJob(jobName);
+            if (job.isEmpty()) {
+                response.put("success", false);
+                response.put("message", "Unknown job: " + jobName);
+                return ResponseEntity.status(404).body(response);
+            }
+            Optional<Map<String, Object>> result = jobLeaseService.runExclusive(jobName,
+                Duration.ofMinutes(30), Duration.ZERO, () -> batchJobService.run(job.get()));
+            if (result.isEmpty()) {
+                response.put("success", false);
+                response.put("message", "Job " + jobName + " is running on another node");
+                return ResponseEntity.status(409).body(response);
+            }
+            response.put("success", true);
+            response.put("execution", result.get());
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(409).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Failed to run job: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+}
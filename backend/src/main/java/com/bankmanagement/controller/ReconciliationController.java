@@ -0,0 +1,64 @@
+package com.bankmanagement.controller;
+
+import com.bankmanagement.service.BalanceReconciliationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * REST controller for hash-tree based balance reconciliation.
+ */
+@RestController
+@RequestMapping("/api/reconciliation")
+@CrossOrigin(origins = "*")
+public class ReconciliationController {
+
+    private final BalanceReconciliationService balanceReconciliationService;
+
+    public ReconciliationController(BalanceReconciliationService balanceReconciliationService) {
+        this.balanceReconciliationService = balanceReconciliationService;
+    }
+
+    /**
+     * Compares the journal tree with the stored-balance tree and lists drifting accounts.
+     *
+     * @param limit maximum number of drifting accounts to include in the response
+     * @return ResponseEntity with drift details and the number of tree nodes visited
+     */
+    @GetMapping("/drift")
+    public ResponseEntity<?> findDrift(@RequestParam(defaultValue = "500") int limit) {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("result", balanceReconciliationService.findDrift(limit));
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Reconciliation failed: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
+    /**
+     * Rebuilds both reconciliation trees from the database.
+     *
+     * @return ResponseEntity with the number of accounts loaded and build duration
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> rebuild() {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("result", balanceReconciliationService.rebuild());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Rebuild failed: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+}
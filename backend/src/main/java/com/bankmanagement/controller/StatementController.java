@@ -0,0 +1,83 @@
+package com.bankmanagement.controller;
+
+import com.bankmanagement.service.StatementService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * REST controller for monthly account statement runs.
+ */
+@RestController
+@RequestMapping("/api/statements")
+@CrossOrigin(origins = "*")
+public class StatementController {
+
+    private final StatementService statementService;
+
+    public StatementController(StatementService statementService) {
+        this.statementService = statementService;
+    }
+
+    /**
+     * Generates the statement files of every active account for a month, resuming an unfinished run of that month.
+     *
+     * @param period the month as yyyy-MM, defaults to the previous month
+     * @return ResponseEntity with the execution result, 400 for a month that has not ended or 409 if a run is in the way
+     */
+    @PostMapping("/run")
+    public ResponseEntity<?> runStatements(@RequestParam(required = false) String period) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            YearMonth month = period != null ? YearMonth.parse(period) : YearMonth.now().minusMonths(1);
+            System.out.println("🧾 Generating statements for " + month + "...");
+            Optional<Map<String, Object>> result = statementService.generate(month);
+            if (result.isEmpty()) {
+                response.put("success", false);
+                response.put("message", "Statements are being generated on another node");
+                return ResponseEntity.status(409).body(response);
+            }
+            response.put("success", true);
+            response.put("execution", result.get());
+            return ResponseEntity.ok(response);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e instanceof DateTimeParseException ? "Period must be yyyy-MM" : e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(409).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Failed to generate statements: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
+    /**
+     * Lists recent statement runs with their period, output directory and totals, newest first.
+     *
+     * @param limit maximum number of runs (capped at 100)
+     * @return ResponseEntity with the runs
+     */
+    @GetMapping("/runs")
+    public ResponseEntity<?> getRuns(@RequestParam(defaultValue = "20") int limit) {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("runs", statementService.getRuns(limit));
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Failed to get statement runs: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+}
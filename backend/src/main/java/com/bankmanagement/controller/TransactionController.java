@@ -1,11 +1,25 @@
 package com.bankmanagement.controller;
 
 import com.bankmanagement.model.Transaction;
+import com.bankmanagement.service.BalanceRecalculationPreviewService;
+import com.bankmanagement.service.ExportService;
+import com.bankmanagement.service.TableVersionService;
 import com.bankmanagement.service.TransactionService;
+import com.bankmanagement.service.TransactionSyncService;
+import com.bankmanagement.util.ConditionalGet;
 import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,30 +32,60 @@ public class TransactionController {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private BalanceRecalculationPreviewService balanceRecalculationPreviewService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private TableVersionService tableVersionService;
+
+    @Autowired
+    private TransactionSyncService transactionSyncService;
+
+    /**
+     * Lists transactions. With any paging or filter parameter the result is one keyset page
+     * ({@code items}, {@code nextCursor}); without parameters the full list is returned as before.
+     */
     @GetMapping
-    public ResponseEntity<?> getAllTransactions() {
+    public ResponseEntity<?> getAllTransactions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Transaction.TransactionType type,
+            @RequestParam(required = false) Long accountId,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        // The full list joins account numbers and customer names
+        String etag = tableVersionService.etag(TableVersionService.Table.TRANSACTIONS,
+            TableVersionService.Table.ACCOUNTS, TableVersionService.Table.CUSTOMERS);
+        Map<String, Long> requiredVersions = tableVersionService.requiredVersions(TableVersionService.Table.TRANSACTIONS,
+            TableVersionService.Table.ACCOUNTS, TableVersionService.Table.CUSTOMERS);
+        if (ConditionalGet.notModified(webRequest, etag)) {
+            return null;
+        }
         try {
-            System.out.println("🔍 Getting all transactions...");
-            System.out.println("🔍 TransactionService: " + (transactionService != null ? "OK" : "NULL"));
-            
-            // Test repository directly
-            System.out.println("🔍 Testing repository...");
-            long count = transactionService.getTotalTransactions();
-            System.out.println("🔍 Total transactions count: " + count);
+            boolean paged = from != null || to != null || type != null || accountId != null ||
+                minAmount != null || maxAmount != null || cursor != null || limit != null;
+            if (paged) {
+                return ConditionalGet.ok(ConditionalGet.read(etag, requiredVersions, () -> transactionService.listTransactions(
+                    from, to, type, accountId, minAmount, maxAmount, cursor, limit)));
+            }
             
+            System.out.println("🔍 Getting all transactions...");
             // Use custom query to get transaction data as Map to avoid entity mapping issues
-            List<Map<String, Object>> transactions = transactionService.getAllTransactionsAsMap();
+            List<Map<String, Object>> transactions = ConditionalGet.read(etag, requiredVersions, transactionService::getAllTransactionsAsMap);
             System.out.println("✅ Found " + transactions.size() + " transactions using custom query");
             
-            // Log each transaction
-            for (Map<String, Object> transaction : transactions) {
-                System.out.println("📝 Transaction: " + transaction.get("transactionType") + " - $" + transaction.get("amount") + 
-                                 " - Account: " + transaction.get("accountNumber") + 
-                                 " - Customer: " + transaction.get("customerName") + 
-                                 " - " + transaction.get("description"));
-            }
-            
-            return ResponseEntity.ok(transactions);
+            return ConditionalGet.ok(transactions);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
         } catch (Exception e) {
             System.err.println("❌ Error getting transactions: " + e.getMessage());
             System.err.println("❌ Error class: " + e.getClass().getSimpleName());
@@ -54,12 +98,79 @@ public class TransactionController {
         }
     }
 
+    /**
+     * Full extract as CSV or NDJSON, streamed from a database cursor as rows are read.
+     * Written on the request thread so a long extract is not cut off by the async request timeout.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportTransactions(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Transaction.TransactionType type,
+            @RequestParam(required = false) Long accountId,
+            HttpServletResponse response) throws IOException {
+        ExportService.Format exportFormat;
+        try {
+            exportFormat = ExportService.Format.parse(format);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> body = new HashMap<>();
+            body.put("success", false);
+            body.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(body);
+        }
+        System.out.println("📤 Exporting transactions as " + exportFormat + "...");
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"transactions." + exportFormat.getExtension() + "\"");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        try {
+            exportService.exportTransactions(exportFormat, from, to, type, accountId, response.getOutputStream());
+        } catch (RuntimeException e) {
+            // Headers are already sent; failing the request aborts the body so the client sees a truncated download
+            System.err.println("❌ Transaction export failed: " + e.getMessage());
+            throw e;
+        }
+        // Body already written to the response
+        return null;
+    }
+
+    /**
+     * Delta sync for client-side copies of the transaction list. Without a token, or when the token can no
+     * longer be served ({@code resetRequired}), the response is the full list ({@code full}); otherwise it holds
+     * the rows created ({@code upserts}) and the ids removed ({@code deletes}) since the token. Clients apply
+     * them in order, keep {@code syncToken} for the next call and call again at once while {@code hasMore}.
+     */
+    @GetMapping("/sync")
+    public ResponseEntity<?> syncTransactions(@RequestParam(required = false) String token,
+                                              @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(transactionSyncService.sync(token, limit));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            System.err.println("❌ Error syncing transactions: " + e.getMessage());
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Failed to sync transactions: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<?> getTransactionById(@PathVariable Long id) {
+    public ResponseEntity<?> getTransactionById(@PathVariable Long id, WebRequest webRequest) {
+        String etag = tableVersionService.etag(TableVersionService.Table.TRANSACTIONS);
+        Map<String, Long> requiredVersions = tableVersionService.requiredVersions(TableVersionService.Table.TRANSACTIONS);
+        if (ConditionalGet.notModified(webRequest, etag)) {
+            return null;
+        }
         try {
-            Transaction transaction = transactionService.getTransactionById(id)
+            Transaction transaction = ConditionalGet.read(etag, requiredVersions, () -> transactionService.getTransactionById(id))
                     .orElseThrow(() -> new RuntimeException("Transaction not found with id: " + id));
-            return ResponseEntity.ok(transaction);
+            return ConditionalGet.ok(transaction);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
@@ -120,4 +231,14 @@ public class TransactionController {
             return ResponseEntity.status(500).body(response);
         }
     }
+
+    @PostMapping(value = "/recalculate-balances", params = "dryRun=true")
+    public ResponseEntity<StreamingResponseBody> recalculateBalancesDryRun() {
+        System.out.println("🔍 Recalculating all account balances (dry-run)...");
+        // Streams proposed corrections as NDJSON without writing any balance
+        StreamingResponseBody body = out -> balanceRecalculationPreviewService.streamDryRun(out, true);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
 }
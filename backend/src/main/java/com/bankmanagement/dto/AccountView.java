@@ -0,0 +1,74 @@
+package com.bankmanagement.dto;
+
+import com.bankmanagement.model.Account;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only account projection, built by a JPQL constructor expression so single-account reads
+ * select one row's columns without loading a managed entity.
+ */
+public class AccountView {
+
+    private final Long accountId;
+    private final Long customerId;
+    private final String accountNumber;
+    private final Account.AccountType accountType;
+    private final BigDecimal balance;
+    private final BigDecimal interestRate;
+    private final Account.AccountStatus status;
+    private final LocalDateTime createdAt;
+
+    public AccountView(Long accountId, Long customerId, String accountNumber, Account.AccountType accountType,
+                       BigDecimal balance, BigDecimal interestRate, Account.AccountStatus status,
+                       LocalDateTime createdAt) {
+        this.accountId = accountId;
+        this.customerId = customerId;
+        this.accountNumber = accountNumber;
+        this.accountType = accountType;
+        this.balance = balance;
+        this.interestRate = interestRate;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public Account.AccountType getAccountType() {
+        return accountType;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public BigDecimal getInterestRate() {
+        return interestRate;
+    }
+
+    public Account.AccountStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Same account with another balance; the metadata cache stores views with none
+     */
+    public AccountView withBalance(BigDecimal newBalance) {
+        return new AccountView(accountId, customerId, accountNumber, accountType, newBalance, interestRate, status, createdAt);
+    }
+}
@@ -0,0 +1,31 @@
+package com.bankmanagement.dto;
+
+import java.util.List;
+
+/**
+ * Body of the batch-get endpoints: the ids (and, for accounts, account numbers) to look up.
+ */
+public class BatchGetRequest {
+
+    private List<Long> ids;
+    private List<String> accountNumbers;
+
+    public BatchGetRequest() {
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public List<String> getAccountNumbers() {
+        return accountNumbers;
+    }
+
+    public void setAccountNumbers(List<String> accountNumbers) {
+        this.accountNumbers = accountNumbers;
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Past;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 public class CustomerDTO {
     
@@ -52,6 +53,13 @@ public class CustomerDTO {
         this.createdAt = createdAt;
     }
 
+    // Constructor used by the JPQL projections in CustomerRepository, which select the entity's timestamp
+    public CustomerDTO(Long customerId, String firstName, String lastName, String address,
+                       String phone, String email, LocalDate dateOfBirth, Boolean isActive, LocalDateTime createdAt) {
+        this(customerId, firstName, lastName, address, phone, email, dateOfBirth, isActive,
+             createdAt != null ? createdAt.toLocalDate() : null);
+    }
+
     // Getters and Setters
     public Long getCustomerId() {
         return customerId;
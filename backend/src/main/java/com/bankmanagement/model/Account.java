@@ -11,7 +11,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "accounts")
+@Table(name = "accounts", indexes = {
+    @Index(name = "idx_accounts_customer_account", columnList = "customer_id, account_id"),
+    @Index(name = "idx_accounts_status_account", columnList = "status, account_id")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class Account {
     
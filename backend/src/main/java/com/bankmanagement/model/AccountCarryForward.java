@@ -0,0 +1,90 @@
+package com.bankmanagement.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Net balance effect of an account's archived postings.
+ *
+ * postedNet covers postings made from the account (credits for deposits and interest,
+ * debits for withdrawals and outgoing transfers); transferInNet covers transfers it received.
+ * Replays over the hot transactions table start from these values instead of zero.
+ */
+@Entity
+@Table(name = "account_carry_forward")
+public class AccountCarryForward {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(name = "posted_net", nullable = false, precision = 19, scale = 2)
+    private BigDecimal postedNet = BigDecimal.ZERO;
+
+    @Column(name = "transfer_in_net", nullable = false, precision = 19, scale = 2)
+    private BigDecimal transferInNet = BigDecimal.ZERO;
+
+    @Column(name = "archived_count", nullable = false)
+    private Long archivedCount = 0L;
+
+    @Column(name = "last_archived_transaction_id", nullable = false)
+    private Long lastArchivedTransactionId = 0L;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Default constructor
+    public AccountCarryForward() {
+    }
+
+    // Getters and Setters
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public BigDecimal getPostedNet() {
+        return postedNet;
+    }
+
+    public void setPostedNet(BigDecimal postedNet) {
+        this.postedNet = postedNet;
+    }
+
+    public BigDecimal getTransferInNet() {
+        return transferInNet;
+    }
+
+    public void setTransferInNet(BigDecimal transferInNet) {
+        this.transferInNet = transferInNet;
+    }
+
+    public Long getArchivedCount() {
+        return archivedCount;
+    }
+
+    public void setArchivedCount(Long archivedCount) {
+        this.archivedCount = archivedCount;
+    }
+
+    public Long getLastArchivedTransactionId() {
+        return lastArchivedTransactionId;
+    }
+
+    public void setLastArchivedTransactionId(Long lastArchivedTransactionId) {
+        this.lastArchivedTransactionId = lastArchivedTransactionId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,138 @@
+package com.bankmanagement.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of one chunk of a batch job execution: the key range (rangeStart, rangeEnd]
+ * and whether its work has been committed.
+ */
+@Entity
+@Table(name = "batch_job_chunks", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_batch_job_chunks_execution_chunk", columnNames = {"execution_id", "chunk_no"})
+})
+public class BatchJobChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "chunk_id")
+    private Long chunkId;
+
+    @Column(name = "execution_id", nullable = false)
+    private Long executionId;
+
+    @Column(name = "chunk_no", nullable = false)
+    private Integer chunkNo;
+
+    @Column(name = "range_start", nullable = false)
+    private Long rangeStart;
+
+    @Column(name = "range_end", nullable = false)
+    private Long rangeEnd;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ChunkStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "items", nullable = false)
+    private Integer items = 0;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    public enum ChunkStatus {
+        PENDING, COMPLETED, FAILED
+    }
+
+    // Default constructor
+    public BatchJobChunk() {
+    }
+
+    // Getters and Setters
+    public Long getChunkId() {
+        return chunkId;
+    }
+
+    public void setChunkId(Long chunkId) {
+        this.chunkId = chunkId;
+    }
+
+    public Long getExecutionId() {
+        return executionId;
+    }
+
+    public void setExecutionId(Long executionId) {
+        this.executionId = executionId;
+    }
+
+    public Integer getChunkNo() {
+        return chunkNo;
+    }
+
+    public void setChunkNo(Integer chunkNo) {
+        this.chunkNo = chunkNo;
+    }
+
+    public Long getRangeStart() {
+        return rangeStart;
+    }
+
+    public void setRangeStart(Long rangeStart) {
+        this.rangeStart = rangeStart;
+    }
+
+    public Long getRangeEnd() {
+        return rangeEnd;
+    }
+
+    public void setRangeEnd(Long rangeEnd) {
+        this.rangeEnd = rangeEnd;
+    }
+
+    public ChunkStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ChunkStatus status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public Integer getItems() {
+        return items;
+    }
+
+    public void setItems(Integer items) {
+        this.items = items;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
@@ -0,0 +1,138 @@
+package com.bankmanagement.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One run of a chunked batch job. An execution that did not complete is resumed by the
+ * next run of the same job instead of starting over.
+ */
+@Entity
+@Table(name = "batch_job_executions", indexes = {
+    @Index(name = "idx_batch_job_executions_job", columnList = "job_name, execution_id")
+})
+public class BatchJobExecution {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "execution_id")
+    private Long executionId;
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private BatchJobStatus status;
+
+    @Column(name = "chunk_count", nullable = false)
+    private Long chunkCount = 0L;
+
+    @Column(name = "completed_chunks", nullable = false)
+    private Long completedChunks = 0L;
+
+    @Column(name = "items_processed", nullable = false)
+    private Long itemsProcessed = 0L;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    public enum BatchJobStatus {
+        PLANNING, RUNNING, COMPLETED, FAILED, ABANDONED
+    }
+
+    // Default constructor
+    public BatchJobExecution() {
+    }
+
+    // Getters and Setters
+    public Long getExecutionId() {
+        return executionId;
+    }
+
+    public void setExecutionId(Long executionId) {
+        this.executionId = executionId;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public BatchJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BatchJobStatus status) {
+        this.status = status;
+    }
+
+    public Long getChunkCount() {
+        return chunkCount;
+    }
+
+    public void setChunkCount(Long chunkCount) {
+        this.chunkCount = chunkCount;
+    }
+
+    public Long getCompletedChunks() {
+        return completedChunks;
+    }
+
+    public void setCompletedChunks(Long completedChunks) {
+        this.completedChunks = completedChunks;
+    }
+
+    public Long getItemsProcessed() {
+        return itemsProcessed;
+    }
+
+    public void setItemsProcessed(Long itemsProcessed) {
+        this.itemsProcessed = itemsProcessed;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
@@ -0,0 +1,69 @@
+package com.bankmanagement.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Durable per-consumer read position in the posting outbox
+ */
+@Entity
+@Table(name = "change_feed_offsets")
+public class ChangeFeedOffset {
+
+    @Id
+    @Column(name = "consumer_name", length = 100)
+    private String consumerName;
+
+    @Column(name = "last_tx_id", nullable = false)
+    private Long lastTxId = 0L;
+
+    @Column(name = "last_outbox_id", nullable = false)
+    private Long lastOutboxId = 0L;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Default constructor
+    public ChangeFeedOffset() {
+    }
+
+    public ChangeFeedOffset(String consumerName, Long lastOutboxId) {
+        this.consumerName = consumerName;
+        this.lastOutboxId = lastOutboxId;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getConsumerName() {
+        return consumerName;
+    }
+
+    public void setConsumerName(String consumerName) {
+        this.consumerName = consumerName;
+    }
+
+    public Long getLastTxId() {
+        return lastTxId;
+    }
+
+    public void setLastTxId(Long lastTxId) {
+        this.lastTxId = lastTxId;
+    }
+
+    public Long getLastOutboxId() {
+        return lastOutboxId;
+    }
+
+    public void setLastOutboxId(Long lastOutboxId) {
+        this.lastOutboxId = lastOutboxId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
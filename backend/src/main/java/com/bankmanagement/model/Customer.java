@@ -12,7 +12,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = {
+    @Index(name = "idx_customers_active_customer", columnList = "is_active, customer_id"),
+    @Index(name = "idx_customers_last_name_customer", columnList = "last_name, customer_id")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class Customer {
     
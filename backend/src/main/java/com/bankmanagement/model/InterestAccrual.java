@@ -0,0 +1,64 @@
+package com.bankmanagement.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of a savings account's accrued but not yet posted interest
+ */
+@Entity
+@Table(name = "interest_accruals")
+public class InterestAccrual {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(name = "accrued_amount", nullable = false, precision = 24, scale = 10)
+    private BigDecimal accruedAmount = BigDecimal.ZERO;
+
+    @Column(name = "last_accrued_at", nullable = false)
+    private LocalDateTime lastAccruedAt;
+
+    @Column(name = "last_posted_at")
+    private LocalDateTime lastPostedAt;
+
+    // Default constructor
+    public InterestAccrual() {
+    }
+
+    // Getters and Setters
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public BigDecimal getAccruedAmount() {
+        return accruedAmount;
+    }
+
+    public void setAccruedAmount(BigDecimal accruedAmount) {
+        this.accruedAmount = accruedAmount;
+    }
+
+    public LocalDateTime getLastAccruedAt() {
+        return lastAccruedAt;
+    }
+
+    public void setLastAccruedAt(LocalDateTime lastAccruedAt) {
+        this.lastAccruedAt = lastAccruedAt;
+    }
+
+    public LocalDateTime getLastPostedAt() {
+        return lastPostedAt;
+    }
+
+    public void setLastPostedAt(LocalDateTime lastPostedAt) {
+        this.lastPostedAt = lastPostedAt;
+    }
+}
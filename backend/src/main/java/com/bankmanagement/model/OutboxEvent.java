@@ -0,0 +1,197 @@
+package com.bankmanagement.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row written in the same DB transaction as every posting, and as every deletion of one.
+ * Change-feed consumers tail this table in (tx_id, outbox_id) order instead of rescanning transactions.
+ */
+@Entity
+@Table(name = "posting_outbox", indexes = {
+    @Index(name = "idx_posting_outbox_tx_id", columnList = "tx_id, outbox_id")
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long outboxId;
+
+    @NotNull(message = "Event source is required")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source", nullable = false)
+    private EventSource source;
+
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @NotNull(message = "Account ID is required")
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "destination_account_id")
+    private Long destinationAccountId;
+
+    @NotNull(message = "Transaction type is required")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private Transaction.TransactionType transactionType;
+
+    @NotNull(message = "Amount is required")
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'POSTED'")
+    @Column(name = "event_type", nullable = false, length = 20)
+    private EventType eventType = EventType.POSTED;
+
+    // Date of the posting, so consumers need not read a row that may since have been deleted; null on older events
+    @Column(name = "transaction_date")
+    private LocalDateTime transactionDate;
+
+    // Inserting transaction id, filled in by the column default (see CommitOrderService)
+    @ColumnDefault("0")
+    @Column(name = "tx_id", nullable = false, insertable = false, updatable = false)
+    private Long txId;
+
+    public enum EventSource {
+        TRANSACTION_SERVICE, ASYNC_TRANSACTION_SERVICE, PAYMENT_PROCESSOR, INTEREST_ENGINE
+    }
+
+    /**
+     * POSTED for a new posting, REVERSED when the posting was deleted and must be taken back out
+     */
+    public enum EventType {
+        POSTED, REVERSED
+    }
+
+    // Default constructor
+    public OutboxEvent() {
+    }
+
+    // Constructor for new outbox events
+    public OutboxEvent(EventSource source, Long transactionId, Long accountId, Long destinationAccountId,
+                       Transaction.TransactionType transactionType, BigDecimal amount) {
+        this.source = source;
+        this.transactionId = transactionId;
+        this.accountId = accountId;
+        this.destinationAccountId = destinationAccountId;
+        this.transactionType = transactionType;
+        this.amount = amount;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getOutboxId() {
+        return outboxId;
+    }
+
+    public void setOutboxId(Long outboxId) {
+        this.outboxId = outboxId;
+    }
+
+    public Long getTxId() {
+        return txId;
+    }
+
+    public void setTxId(Long txId) {
+        this.txId = txId;
+    }
+
+    public EventSource getSource() {
+        return source;
+    }
+
+    public void setSource(EventSource source) {
+        this.source = source;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public Long getDestinationAccountId() {
+        return destinationAccountId;
+    }
+
+    public void setDestinationAccountId(Long destinationAccountId) {
+        this.destinationAccountId = destinationAccountId;
+    }
+
+    public Transaction.TransactionType getTransactionType() {
+        return transactionType;
+    }
+
+    public void setTransactionType(Transaction.TransactionType transactionType) {
+        this.transactionType = transactionType;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(EventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public LocalDateTime getTransactionDate() {
+        return transactionDate;
+    }
+
+    public void setTransactionDate(LocalDateTime transactionDate) {
+        this.transactionDate = transactionDate;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxEvent{" +
+                "outboxId=" + outboxId +
+                ", source=" + source +
+                ", transactionId=" + transactionId +
+                ", accountId=" + accountId +
+                ", destinationAccountId=" + destinationAccountId +
+                ", transactionType=" + transactionType +
+                ", amount=" + amount +
+                ", createdAt=" + createdAt +
+                ", eventType=" + eventType +
+                ", transactionDate=" + transactionDate +
+                '}';
+    }
+}
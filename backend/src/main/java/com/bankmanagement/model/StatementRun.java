@@ -0,0 +1,99 @@
+package com.bankmanagement.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The statement period and output directory of one execution of the statement job.
+ * The totals are added by each chunk in the transaction that checkpoints it.
+ */
+@Entity
+@Table(name = "statement_runs")
+public class StatementRun {
+
+    @Id
+    @Column(name = "execution_id")
+    private Long executionId;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    // Exclusive
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+
+    @Column(name = "output_dir", nullable = false, length = 500)
+    private String outputDir;
+
+    @Column(name = "statements", nullable = false)
+    private Long statements = 0L;
+
+    @Column(name = "postings", nullable = false)
+    private Long postings = 0L;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Default constructor
+    public StatementRun() {
+    }
+
+    // Getters and Setters
+    public Long getExecutionId() {
+        return executionId;
+    }
+
+    public void setExecutionId(Long executionId) {
+        this.executionId = executionId;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public LocalDate getPeriodEnd() {
+        return periodEnd;
+    }
+
+    public void setPeriodEnd(LocalDate periodEnd) {
+        this.periodEnd = periodEnd;
+    }
+
+    public String getOutputDir() {
+        return outputDir;
+    }
+
+    public void setOutputDir(String outputDir) {
+        this.outputDir = outputDir;
+    }
+
+    public Long getStatements() {
+        return statements;
+    }
+
+    public void setStatements(Long statements) {
+        this.statements = statements;
+    }
+
+    public Long getPostings() {
+        return postings;
+    }
+
+    public void setPostings(Long postings) {
+        this.postings = postings;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
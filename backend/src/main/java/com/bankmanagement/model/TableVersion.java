@@ -0,0 +1,53 @@
+package com.bankmanagement.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cluster-wide change counter of one table, increased by every node that has committed writes
+ * to it since its last publish. Conditional GETs derive their ETags from it.
+ */
+@Entity
+@Table(name = "table_versions")
+public class TableVersion {
+
+    @Id
+    @Column(name = "table_name", length = 50)
+    private String tableName;
+
+    @Column(name = "version", nullable = false)
+    private Long version = 0L;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Default constructor
+    public TableVersion() {
+    }
+
+    // Getters and Setters
+    public String getTableName() {
+        return tableName;
+    }
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
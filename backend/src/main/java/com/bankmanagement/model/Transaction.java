@@ -10,7 +10,12 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    @Index(name = "idx_transactions_date_id", columnList = "transaction_date, transaction_id"),
+    @Index(name = "idx_transactions_account_date", columnList = "account_id, transaction_date, transaction_id"),
+    @Index(name = "idx_transactions_destination_date", columnList = "destination_account_id, transaction_date, transaction_id"),
+    @Index(name = "idx_transactions_type_date", columnList = "transaction_type, transaction_date, transaction_id")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class Transaction {
     
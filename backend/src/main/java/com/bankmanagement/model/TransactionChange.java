@@ -0,0 +1,92 @@
+package com.bankmanagement.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change log of the transactions table, written in the same DB transaction as every insert,
+ * delete and archival. (tx_id, change_seq) orders the changes; delta-sync clients keep the last one they applied.
+ */
+@Entity
+@Table(name = "transaction_changes", indexes = {
+    @Index(name = "idx_transaction_changes_changed_at", columnList = "changed_at"),
+    @Index(name = "idx_transaction_changes_tx_id", columnList = "tx_id, change_seq")
+})
+public class TransactionChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
+    // Null for RESET
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private ChangeType changeType;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    // Inserting transaction id, filled in by the column default (see CommitOrderService)
+    @ColumnDefault("0")
+    @Column(name = "tx_id", nullable = false, insertable = false, updatable = false)
+    private Long txId;
+
+    public enum ChangeType {
+        CREATED, DELETED, ARCHIVED,
+        // Transactions were rewritten outside the tracked write paths; clients reload everything
+        RESET,
+        // Oldest retained change once older ones were purged; clients behind it reload everything
+        PURGED
+    }
+
+    // Default constructor
+    public TransactionChange() {
+    }
+
+    // Getters and Setters
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public void setChangeType(ChangeType changeType) {
+        this.changeType = changeType;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    public Long getTxId() {
+        return txId;
+    }
+
+    public void setTxId(Long txId) {
+        this.txId = txId;
+    }
+}
@@ -0,0 +1,64 @@
+package com.bankmanagement.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Split between the two writers of the rollup tables: buckets before the cutover were
+ * rebuilt by the last backfill, buckets from the cutover on are fed by the change feed.
+ */
+@Entity
+@Table(name = "transaction_rollup_state")
+public class TransactionRollupState {
+
+    @Id
+    @Column(name = "state_name", length = 100)
+    private String stateName;
+
+    @Column(name = "cutover")
+    private LocalDateTime cutover;
+
+    @Column(name = "backfill_execution_id")
+    private Long backfillExecutionId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Default constructor
+    public TransactionRollupState() {
+    }
+
+    // Getters and Setters
+    public String getStateName() {
+        return stateName;
+    }
+
+    public void setStateName(String stateName) {
+        this.stateName = stateName;
+    }
+
+    public LocalDateTime getCutover() {
+        return cutover;
+    }
+
+    public void setCutover(LocalDateTime cutover) {
+        this.cutover = cutover;
+    }
+
+    public Long getBackfillExecutionId() {
+        return backfillExecutionId;
+    }
+
+    public void setBackfillExecutionId(Long backfillExecutionId) {
+        this.backfillExecutionId = backfillExecutionId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
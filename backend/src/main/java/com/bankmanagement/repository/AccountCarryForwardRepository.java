@@ -0,0 +1,9 @@
+package com.bankmanagement.repository;
+
+import com.bankmanagement.model.AccountCarryForward;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountCarryForwardRepository extends JpaRepository<AccountCarryForward, Long> {
+}
@@ -1,11 +1,14 @@
 package com.bankmanagement.repository;
 
+import com.bankmanagement.dto.AccountView;
 import com.bankmanagement.model.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -15,7 +18,8 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     
     long countByStatus(Account.AccountStatus status);
     
-    Optional<Account> findByCustomerId(Long customerId);
+    // Served by idx_accounts_customer_account
+    List<Account> findByCustomerId(Long customerId);
     
     List<Account> findByCustomerIdAndStatus(Long customerId, Account.AccountStatus status);
     
@@ -27,4 +31,22 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
            "a.status as status, a.createdAt as createdAt " +
            "FROM Account a")
     List<Map<String, Object>> findAllAccountsAsMap();
+    
+    String ACCOUNT_VIEW_SELECT = "SELECT new com.bankmanagement.dto.AccountView(a.accountId, a.customerId, " +
+           "a.accountNumber, a.accountType, a.balance, a.interestRate, a.status, a.createdAt) FROM Account a ";
+    
+    // Primary key lookup projected straight into the DTO
+    @Query(ACCOUNT_VIEW_SELECT + "WHERE a.accountId = :accountId")
+    Optional<AccountView> findViewById(@Param("accountId") Long accountId);
+    
+    // Served by the unique index on account_number
+    @Query(ACCOUNT_VIEW_SELECT + "WHERE a.accountNumber = :accountNumber")
+    Optional<AccountView> findViewByAccountNumber(@Param("accountNumber") String accountNumber);
+    
+    // Batch lookups, callers chunk the keys (BatchLookup)
+    @Query(ACCOUNT_VIEW_SELECT + "WHERE a.accountId IN :accountIds")
+    List<AccountView> findViewsByAccountIdIn(@Param("accountIds") Collection<Long> accountIds);
+    
+    @Query(ACCOUNT_VIEW_SELECT + "WHERE a.accountNumber IN :accountNumbers")
+    List<AccountView> findViewsByAccountNumberIn(@Param("accountNumbers") Collection<String> accountNumbers);
 }
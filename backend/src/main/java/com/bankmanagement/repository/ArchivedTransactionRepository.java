@@ -0,0 +1,24 @@
+package com.bankmanagement.repository;
+
+import com.bankmanagement.model.ArchivedTransaction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedTransactionRepository extends JpaRepository<ArchivedTransaction, Long> {
+
+    List<ArchivedTransaction> findByTransactionIdGreaterThanOrderByTransactionIdAsc(Long transactionId, Pageable pageable);
+
+    // Both legs: postings made from the account and transfers it received
+    @Query("SELECT t FROM ArchivedTransaction t " +
+           "WHERE (t.accountId = :accountId OR t.destinationAccountId = :accountId) " +
+           "AND t.transactionId > :afterId ORDER BY t.transactionId ASC")
+    List<ArchivedTransaction> findAccountHistoryAfter(@Param("accountId") Long accountId,
+                                                      @Param("afterId") Long afterId,
+                                                      Pageable pageable);
+}
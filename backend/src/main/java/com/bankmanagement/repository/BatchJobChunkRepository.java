@@ -0,0 +1,16 @@
+package com.bankmanagement.repository;
+
+import com.bankmanagement.model.BatchJobChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BatchJobChunkRepository extends JpaRepository<BatchJobChunk, Long> {
+
+    List<BatchJobChunk> findByExecutionIdAndStatusInOrderByChunkNoAsc(Long executionId,
+                                                                     List<BatchJobChunk.ChunkStatus> statuses);
+
+    long countByExecutionIdAndStatus(Long executionId, BatchJobChunk.ChunkStatus status);
+}
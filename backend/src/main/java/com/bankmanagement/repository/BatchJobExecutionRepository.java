@@ -0,0 +1,19 @@
+package com.bankmanagement.repository;
+
+import com.bankmanagement.model.BatchJobExecution;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BatchJobExecutionRepository extends JpaRepository<BatchJobExecution, Long> {
+
+    Optional<BatchJobExecution> findFirstByJobNameOrderByExecutionIdDesc(String jobName);
+
+    List<BatchJobExecution> findByJobNameOrderByExecutionIdDesc(String jobName, Pageable pageable);
+
+    List<BatchJobExecution> findAllByOrderByExecutionIdDesc(Pageable pageable);
+}
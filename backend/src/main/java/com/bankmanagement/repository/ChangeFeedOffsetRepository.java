@@ -0,0 +1,9 @@
+package com.bankmanagement.repository;
+
+import com.bankmanagement.model.ChangeFeedOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChangeFeedOffsetRepository extends JpaRepository<ChangeFeedOffset, String> {
+}
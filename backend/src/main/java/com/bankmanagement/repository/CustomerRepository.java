@@ -1,11 +1,13 @@
 package com.bankmanagement.repository;
 
+import com.bankmanagement.dto.CustomerDTO;
 import com.bankmanagement.model.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,4 +33,32 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     boolean existsByPhone(String phone);
     
     long countByIsActiveTrue();
+    
+    // Read paths projected straight into the DTO: no managed entities, no dirty-checking snapshots
+    String CUSTOMER_DTO_SELECT = "SELECT new com.bankmanagement.dto.CustomerDTO(c.customerId, c.firstName, " +
+           "c.lastName, c.address, c.phone, c.email, c.dateOfBirth, c.isActive, c.createdAt) FROM Customer c ";
+    
+    @Query(CUSTOMER_DTO_SELECT + "ORDER BY c.customerId")
+    List<CustomerDTO> findAllDtos();
+    
+    @Query(CUSTOMER_DTO_SELECT + "WHERE c.isActive = true ORDER BY c.customerId")
+    List<CustomerDTO> findActiveDtos();
+    
+    @Query(CUSTOMER_DTO_SELECT + "WHERE c.customerId = :customerId")
+    Optional<CustomerDTO> findDtoById(@Param("customerId") Long customerId);
+    
+    @Query(CUSTOMER_DTO_SELECT + "WHERE c.email = :email")
+    Optional<CustomerDTO> findDtoByEmail(@Param("email") String email);
+    
+    @Query(CUSTOMER_DTO_SELECT + "WHERE c.phone = :phone")
+    Optional<CustomerDTO> findDtoByPhone(@Param("phone") String phone);
+    
+    @Query(CUSTOMER_DTO_SELECT + "WHERE c.firstName LIKE %:name% OR c.lastName LIKE %:name%")
+    List<CustomerDTO> findDtosByNameContaining(@Param("name") String name);
+    
+    @Query(CUSTOMER_DTO_SELECT + "WHERE c.email LIKE %:email%")
+    List<CustomerDTO> findDtosByEmailContaining(@Param("email") String email);
+    
+    @Query(CUSTOMER_DTO_SELECT + "WHERE c.customerId IN :customerIds")
+    List<CustomerDTO> findDtosByIdIn(@Param("customerIds") Collection<Long> customerIds);
 }
@@ -0,0 +1,13 @@
+package com.bankmanagement.repository;
+
+import com.bankmanagement.model.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    List<JobLease> findAllByOrderByJobNameAsc();
+}
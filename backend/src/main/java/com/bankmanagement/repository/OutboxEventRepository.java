@@ -0,0 +1,25 @@
+package com.bankmanagement.repository;
+
+import com.bankmanagement.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Events after the (txId, outboxId) position whose inserting transaction is below the horizon
+     */
+    @Query("SELECT o FROM OutboxEvent o WHERE o.txId >= :afterTxId AND o.txId < :horizon " +
+           "AND (o.txId > :afterTxId OR o.outboxId > :afterOutboxId) ORDER BY o.txId, o.outboxId")
+    List<OutboxEvent> findAfter(@Param("afterTxId") long afterTxId, @Param("afterOutboxId") long afterOutboxId,
+                                @Param("horizon") long horizon, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(o.outboxId), 0) FROM OutboxEvent o")
+    Long findMaxOutboxId();
+}
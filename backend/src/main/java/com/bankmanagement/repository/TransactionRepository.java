@@ -16,7 +16,8 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     
     long countByTransactionDateAfter(LocalDateTime dateTime);
     
-    @Query("SELECT t.transactionId as transactionId, t.accountId as accountId, t.amount as amount, " +
+    // Row shape of the transaction list, with account numbers and customer names of both legs
+    String TRANSACTION_MAP_SELECT = "SELECT t.transactionId as transactionId, t.accountId as accountId, t.amount as amount, " +
            "t.transactionType as transactionType, t.description as description, " +
            "t.transactionDate as transactionDate, " +
            "a.accountNumber as accountNumber, " +
@@ -28,9 +29,13 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
            "LEFT JOIN Account a ON t.accountId = a.accountId " +
            "LEFT JOIN Customer c ON a.customerId = c.customerId " +
            "LEFT JOIN Account da ON t.destinationAccountId = da.accountId " +
-           "LEFT JOIN Customer dc ON da.customerId = dc.customerId " +
-           "ORDER BY t.transactionDate DESC")
+           "LEFT JOIN Customer dc ON da.customerId = dc.customerId ";
+    
+    @Query(TRANSACTION_MAP_SELECT + "ORDER BY t.transactionDate DESC")
     List<Map<String, Object>> findAllTransactionsAsMap();
     
+    @Query(TRANSACTION_MAP_SELECT + "WHERE t.transactionId IN :transactionIds")
+    List<Map<String, Object>> findTransactionsAsMapByIdIn(@Param("transactionIds") List<Long> transactionIds);
+    
     List<Transaction> findByAccountIdOrderByTransactionDateAsc(Long accountId);
 }
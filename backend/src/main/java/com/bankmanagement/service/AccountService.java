@@ -1,11 +1,25 @@
 package com.bankmanagement.service;
 
+import com.bankmanagement.config.ReplicaRoutingDataSource;
+import com.bankmanagement.dto.AccountView;
 import com.bankmanagement.model.Account;
 import com.bankmanagement.repository.AccountRepository;
+import com.bankmanagement.util.BatchLookup;
+import com.bankmanagement.util.KeysetCursor;
+import com.bankmanagement.util.LocalCache;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -17,6 +31,38 @@ public class AccountService {
     @Autowired
     private AccountRepository accountRepository;
     
+    @Autowired
+    private BalanceReconciliationService balanceReconciliationService;
+    
+    @Autowired
+    private EntityCounterService entityCounterService;
+    
+    @Autowired
+    private TableVersionService tableVersionService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private LocalCacheService localCacheService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private TransactionTemplate readOnlyTransactionTemplate;
+    
+    // Account metadata (no balance) by id, and account ids by number; evicted by the writes below
+    private LocalCache<Long, AccountView> metadataCache;
+    private LocalCache<String, Long> accountIdByNumberCache;
+    
+    @PostConstruct
+    public void init() {
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+        metadataCache = localCacheService.region("account-metadata", 60000, 10000);
+        accountIdByNumberCache = localCacheService.region("account-ids-by-number", 300000, 10000);
+    }
+    
     public List<Account> getAllAccounts() {
         return accountRepository.findAll();
     }
@@ -25,17 +71,113 @@ public class AccountService {
         return accountRepository.findById(id);
     }
     
+    /**
+     * Single-account read by primary key. Type, rate and status come from the metadata cache;
+     * the balance is always read from the row.
+     */
+    @Transactional(readOnly = true)
+    public Optional<AccountView> getAccountView(Long id) {
+        AccountView metadata = metadataCache.get(id, localCacheService.fromPrimary(
+            key -> accountRepository.findViewById(key).map(view -> view.withBalance(null)).orElse(null)));
+        if (metadata == null) {
+            return Optional.empty();
+        }
+        List<BigDecimal> balance = jdbcTemplate.queryForList(
+            "SELECT balance FROM accounts WHERE account_id = ?", BigDecimal.class, id);
+        if (balance.isEmpty()) {
+            // Deleted through another node
+            metadataCache.evict(id);
+            return Optional.empty();
+        }
+        return Optional.of(metadata.withBalance(balance.get(0)));
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<AccountView> getAccountViewByNumber(String accountNumber) {
+        Long id = accountIdByNumberCache.get(accountNumber, localCacheService.fromPrimary(
+            key -> accountRepository.findViewByAccountNumber(key).map(AccountView::getAccountId).orElse(null)));
+        if (id == null) {
+            return Optional.empty();
+        }
+        Optional<AccountView> view = getAccountView(id);
+        if (view.isEmpty() || !accountNumber.equals(view.get().getAccountNumber())) {
+            // Number reassigned elsewhere since it was cached
+            accountIdByNumberCache.evict(accountNumber);
+            return accountRepository.findViewByAccountNumber(accountNumber);
+        }
+        return view;
+    }
+    
+    /**
+     * Accounts for up to BatchLookup.MAX_KEYS ids plus account numbers, with live balances, in request
+     * order and without duplicates; keys that match nothing are listed as missing. Read on the primary,
+     * since a replica's balances can trail the latest postings.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, Object> getAccountViews(List<Long> accountIds, List<String> accountNumbers) {
+        List<Long> ids = BatchLookup.distinct(accountIds);
+        List<String> numbers = BatchLookup.distinct(accountNumbers);
+        if (ids.size() + numbers.size() > BatchLookup.MAX_KEYS) {
+            throw new IllegalArgumentException("At most " + BatchLookup.MAX_KEYS + " keys per request");
+        }
+        return ReplicaRoutingDataSource.onPrimary(() ->
+            readOnlyTransactionTemplate.execute(status -> findAccountViews(ids, numbers)));
+    }
+    
+    private Map<String, Object> findAccountViews(List<Long> ids, List<String> numbers) {
+        Map<Long, AccountView> byId = BatchLookup.fetch(ids, accountRepository::findViewsByAccountIdIn,
+            AccountView::getAccountId);
+        Map<String, AccountView> byNumber = BatchLookup.fetch(numbers, accountRepository::findViewsByAccountNumberIn,
+            AccountView::getAccountNumber);
+        
+        Map<Long, AccountView> items = new LinkedHashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        List<String> missingNumbers = new ArrayList<>();
+        for (Long id : ids) {
+            AccountView view = byId.get(id);
+            if (view != null) {
+                items.putIfAbsent(id, view);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        for (String number : numbers) {
+            AccountView view = byNumber.get(number);
+            if (view != null) {
+                items.putIfAbsent(view.getAccountId(), view);
+            } else {
+                missingNumbers.add(number);
+            }
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("items", new ArrayList<>(items.values()));
+        result.put("missingIds", missingIds);
+        result.put("missingAccountNumbers", missingNumbers);
+        return result;
+    }
+    
+    public List<Map<String, Object>> getCacheStats() {
+        return List.of(metadataCache.getStats(), accountIdByNumberCache.getStats());
+    }
+    
     public Account createAccount(Account account) {
         // Ensure account is created as ACTIVE by default
         if (account.getStatus() == null) {
             account.setStatus(Account.AccountStatus.ACTIVE);
         }
-        return accountRepository.save(account);
+        Account savedAccount = accountRepository.save(account);
+        balanceReconciliationService.recordBalanceChange(savedAccount.getAccountId(), savedAccount.getBalance());
+        entityCounterService.recordAccountCreated(savedAccount);
+        tableVersionService.recordWrite(TableVersionService.Table.ACCOUNTS);
+        return savedAccount;
     }
     
     public Account updateAccount(Long id, Account accountDetails) {
         Account account = accountRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Account not found with id: " + id));
+        Account.AccountStatus previousStatus = account.getStatus();
+        java.math.BigDecimal previousBalance = account.getBalance();
+        String previousNumber = account.getAccountNumber();
         
         account.setCustomerId(accountDetails.getCustomerId());
         account.setAccountNumber(accountDetails.getAccountNumber());
@@ -44,14 +186,23 @@ public class AccountService {
         account.setInterestRate(accountDetails.getInterestRate());
         account.setStatus(accountDetails.getStatus());
         
-        return accountRepository.save(account);
+        Account savedAccount = accountRepository.save(account);
+        balanceReconciliationService.recordBalanceChange(savedAccount.getAccountId(), savedAccount.getBalance());
+        entityCounterService.recordAccountUpdated(previousStatus, previousBalance, savedAccount);
+        tableVersionService.recordWrite(TableVersionService.Table.ACCOUNTS);
+        evictMetadata(id, previousNumber);
+        accountIdByNumberCache.evict(savedAccount.getAccountNumber());
+        return savedAccount;
     }
     
     public void deleteAccount(Long id) {
-        if (!accountRepository.existsById(id)) {
-            throw new RuntimeException("Account not found with id: " + id);
-        }
-        accountRepository.deleteById(id);
+        Account account = accountRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Account not found with id: " + id));
+        accountRepository.delete(account);
+        balanceReconciliationService.recordAccountRemoved(id);
+        entityCounterService.recordAccountDeleted(account.getStatus(), account.getBalance());
+        tableVersionService.recordWrite(TableVersionService.Table.ACCOUNTS);
+        evictMetadata(id, account.getAccountNumber());
     }
     
     public long getTotalAccounts() {
@@ -67,7 +218,66 @@ public class AccountService {
         return totalBalance != null ? totalBalance.doubleValue() : 0.0;
     }
     
+    /**
+     * One page of accounts in account_id order, continuing after the cursor's id.
+     * Customer and status filters are served by (customer_id, account_id) and (status, account_id).
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> listAccounts(Long customerId, Account.AccountStatus status, Account.AccountType type,
+                                            BigDecimal minBalance, BigDecimal maxBalance, String cursor, Integer limit) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        StringBuilder sql = new StringBuilder(
+            "SELECT account_id, customer_id, account_number, account_type, balance, interest_rate, status, created_at " +
+            "FROM accounts WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (customerId != null) {
+            sql.append(" AND customer_id = ?");
+            args.add(customerId);
+        }
+        if (status != null) {
+            sql.append(" AND status = ?");
+            args.add(status.name());
+        }
+        if (type != null) {
+            sql.append(" AND account_type = ?");
+            args.add(type.name());
+        }
+        if (minBalance != null) {
+            sql.append(" AND balance >= ?");
+            args.add(minBalance);
+        }
+        if (maxBalance != null) {
+            sql.append(" AND balance <= ?");
+            args.add(maxBalance);
+        }
+        if (cursor != null) {
+            sql.append(" AND account_id > ?");
+            args.add(KeysetCursor.parse(KeysetCursor.decode(cursor, 1)[0], Long::valueOf));
+        }
+        sql.append(" ORDER BY account_id LIMIT ?");
+        args.add(pageSize + 1);
+
+        List<Map<String, Object>> rows = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            Map<String, Object> row = new HashMap<>();
+            row.put("accountId", rs.getLong("account_id"));
+            row.put("customerId", rs.getLong("customer_id"));
+            row.put("accountNumber", rs.getString("account_number"));
+            row.put("accountType", rs.getString("account_type"));
+            row.put("balance", rs.getBigDecimal("balance"));
+            row.put("interestRate", rs.getBigDecimal("interest_rate"));
+            row.put("status", rs.getString("status"));
+            row.put("createdAt", rs.getTimestamp("created_at") != null ? rs.getTimestamp("created_at").toLocalDateTime() : null);
+            return row;
+        }, args.toArray());
+        return KeysetCursor.page(rows, pageSize, row -> KeysetCursor.encode(row.get("accountId")));
+    }
+    
     public List<Map<String, Object>> getAllAccountsAsMap() {
         return accountRepository.findAllAccountsAsMap();
     }
+    
+    private void evictMetadata(Long id, String accountNumber) {
+        metadataCache.evict(id);
+        accountIdByNumberCache.evict(accountNumber);
+    }
 }
@@ -1,16 +1,19 @@
 package com.bankmanagement.service;
 
 import com.bankmanagement.model.Account;
+import com.bankmanagement.model.OutboxEvent;
 import com.bankmanagement.model.Transaction;
 import com.bankmanagement.repository.AccountRepository;
 import com.bankmanagement.repository.TransactionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -32,6 +35,32 @@ public class AsyncTransactionService {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private BalanceReconciliationService balanceReconciliationService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private TransactionArchiveService transactionArchiveService;
+
+    @Autowired
+    private EntityCounterService entityCounterService;
+    
+    @Autowired
+    private TableVersionService tableVersionService;
+    
+    @Autowired
+    private TransactionSyncService transactionSyncService;
+
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    // Proxy of this bean, so batch items get their own async executor thread and DB transaction
+    @Autowired
+    @Lazy
+    private AsyncTransactionService self;
+
     // Thread-safe counters for metrics
     private final AtomicLong processedTransactions = new AtomicLong(0);
     private final AtomicLong failedTransactions = new AtomicLong(0);
@@ -49,6 +78,11 @@ public class AsyncTransactionService {
             updateAccountBalance(transaction);
             
             Transaction savedTransaction = transactionRepository.save(transaction);
+            outboxService.recordPosting(savedTransaction, OutboxEvent.EventSource.ASYNC_TRANSACTION_SERVICE);
+            transactionSyncService.recordCreated(savedTransaction.getTransactionId());
+            balanceReconciliationService.recordPosting(savedTransaction);
+            entityCounterService.recordPosting(savedTransaction);
+            tableVersionService.recordWrite(TableVersionService.Table.TRANSACTIONS, TableVersionService.Table.ACCOUNTS);
             processedTransactions.incrementAndGet();
             
             // Update metrics
@@ -59,6 +93,8 @@ public class AsyncTransactionService {
             return CompletableFuture.completedFuture(savedTransaction);
             
         } catch (Exception e) {
+            // The failure is handed back in the future, so the exception never reaches the transaction proxy
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             failedTransactions.incrementAndGet();
             System.err.println("❌ Async transaction failed: " + e.getMessage());
             return CompletableFuture.failedFuture(e);
@@ -72,7 +108,7 @@ public class AsyncTransactionService {
         try {
             // Process transactions in parallel using parallel streams
             List<CompletableFuture<Transaction>> futures = transactions.parallelStream()
-                .map(this::processTransactionAsync)
+                .map(self::processTransactionAsync)
                 .collect(Collectors.toList());
             
             // Wait for all transactions to complete
@@ -150,9 +186,12 @@ public class AsyncTransactionService {
             List<Transaction> transactions = transactionRepository
                 .findByAccountIdOrderByTransactionDateAsc(accountToUpdate.getAccountId());
             
+            // Archived postings are folded into the carry-forward, so the replay starts there
+            BigDecimal carryForward = transactionArchiveService.getPostedNetCarryForward(accountToUpdate.getAccountId());
+            
             // Use sequential stream to avoid parallel processing issues in transactions
             BigDecimal calculatedBalance = transactions.stream()
-                .reduce(BigDecimal.ZERO, 
+                .reduce(carryForward, 
                     (balance, transaction) -> {
                         switch (transaction.getTransactionType()) {
                             case DEPOSIT:
@@ -168,8 +207,12 @@ public class AsyncTransactionService {
                     BigDecimal::add);
             
             if (!calculatedBalance.equals(accountToUpdate.getBalance())) {
+                entityCounterService.recordAccountBalanceChange(accountToUpdate,
+                    calculatedBalance.subtract(accountToUpdate.getBalance()));
                 accountToUpdate.setBalance(calculatedBalance);
                 accountRepository.save(accountToUpdate);
+                balanceReconciliationService.recordBalanceChange(accountToUpdate.getAccountId(), calculatedBalance);
+                tableVersionService.recordWrite(TableVersionService.Table.ACCOUNTS);
                 System.out.println("✅ Updated balance for account " + accountToUpdate.getAccountNumber() + 
                                  " to $" + calculatedBalance);
             }
@@ -189,13 +232,17 @@ public class AsyncTransactionService {
             System.out.println("📊 Generating transaction report asynchronously: " + 
                              Thread.currentThread().getName());
             
-            long totalTransactions = transactionRepository.count();
+            // Totals from the maintained counters, the month from a few hundred rollup rows
+            Object totalTransactions = entityCounterService.getSnapshot().get("totalTransactions");
             LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
-            long monthlyTransactions = transactionRepository.countByTransactionDateAfter(startOfMonth);
+            Map<String, Object> monthly = transactionRollupService.summarize(startOfMonth, LocalDateTime.now());
             
             Map<String, Object> report = new ConcurrentHashMap<>();
             report.put("totalTransactions", totalTransactions);
-            report.put("monthlyTransactions", monthlyTransactions);
+            report.put("monthlyTransactions", monthly.get("transactionCount"));
+            report.put("monthlyAmount", monthly.get("totalAmount"));
+            report.put("monthlyByTransactionType", monthly.get("byTransactionType"));
+            report.put("monthlyByAccountType", monthly.get("byAccountType"));
             report.put("processedTransactions", processedTransactions.get());
             report.put("failedTransactions", failedTransactions.get());
             report.put("transactionMetrics", new ConcurrentHashMap<>(transactionMetrics));
@@ -0,0 +1,95 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.model.Account;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Balance recalculation as a chunked job over account id ranges.
+ *
+ * Same rule as the async recalculation: carry-forward posted_net plus the net of the account's own
+ * postings (incoming transfer legs are not counted). Each chunk is one aggregate query and a
+ * compare-and-set batch update, so a chunk rerun after a crash is harmless.
+ */
+@Component
+public class BalanceRecalculationJob implements ChunkedJob {
+
+    private static final String CALCULATE_SQL =
+        "SELECT a.account_id, a.balance, a.status, " +
+        "COALESCE(c.posted_net, 0) + COALESCE(t.net, 0) AS calculated " +
+        "FROM accounts a " +
+        "LEFT JOIN account_carry_forward c ON c.account_id = a.account_id " +
+        "LEFT JOIN (SELECT account_id, " +
+        "    SUM(CASE WHEN transaction_type IN ('DEPOSIT', 'INTEREST_CREDIT') THEN amount ELSE -amount END) AS net " +
+        "    FROM transactions WHERE account_id > ? AND account_id <= ? GROUP BY account_id) t " +
+        "  ON t.account_id = a.account_id " +
+        "WHERE a.account_id > ? AND a.account_id <= ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BalanceReconciliationService balanceReconciliationService;
+
+    @Autowired
+    private EntityCounterService entityCounterService;
+
+    @Autowired
+    private TableVersionService tableVersionService;
+
+    @Override
+    public String getJobName() {
+        return "balance-recalculation";
+    }
+
+    @Override
+    public Long nextChunkEnd(long afterKey, int chunkSize) {
+        List<Long> ids = jdbcTemplate.queryForList(
+            "SELECT account_id FROM accounts WHERE account_id > ? ORDER BY account_id LIMIT ?",
+            Long.class, afterKey, chunkSize);
+        return ids.isEmpty() ? null : ids.get(ids.size() - 1);
+    }
+
+    @Override
+    public int processChunk(long fromExclusive, long toInclusive) {
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> changes = new ArrayList<>();
+        int[] scanned = new int[1];
+        jdbcTemplate.query(CALCULATE_SQL, rs -> {
+            scanned[0]++;
+            BigDecimal stored = rs.getBigDecimal("balance");
+            BigDecimal calculated = rs.getBigDecimal("calculated");
+            if (calculated.compareTo(stored) != 0) {
+                long accountId = rs.getLong("account_id");
+                updates.add(new Object[] {calculated, accountId, stored});
+                changes.add(new Object[] {accountId, Account.AccountStatus.valueOf(rs.getString("status")),
+                    stored, calculated});
+            }
+        }, fromExclusive, toInclusive, fromExclusive, toInclusive);
+
+        if (updates.isEmpty()) {
+            return scanned[0];
+        }
+        // Only overwrite a balance that has not moved since it was read
+        int[] counts = jdbcTemplate.batchUpdate(
+            "UPDATE accounts SET balance = ? WHERE account_id = ? AND balance = ?", updates);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            Object[] change = changes.get(i);
+            BigDecimal stored = (BigDecimal) change[2];
+            BigDecimal calculated = (BigDecimal) change[3];
+            balanceReconciliationService.recordBalanceChange((Long) change[0], calculated);
+            entityCounterService.recordAccountBalanceChange((Account.AccountStatus) change[1],
+                calculated.subtract(stored));
+        }
+        tableVersionService.recordWrite(TableVersionService.Table.ACCOUNTS);
+        return scanned[0];
+    }
+}
@@ -0,0 +1,128 @@
+package com.bankmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Dry-run for balance recalculation.
+ *
+ * Computes the balance each recalculation endpoint would write, without writing it, and
+ * streams the corrections as NDJSON while the aggregate query is still being read. Rows come
+ * from a forward-only cursor, so server memory stays flat regardless of the number of accounts.
+ */
+@Service
+public class BalanceRecalculationPreviewService {
+
+    private static final String PREVIEW_SQL =
+        "SELECT a.account_id, a.account_number, a.balance, COALESCE(c.posted_net, 0) AS carry_forward, " +
+        "COALESCE(SUM(CASE WHEN t.transaction_type IN ('DEPOSIT', 'INTEREST_CREDIT') THEN t.amount " +
+        "WHEN t.transaction_type IN ('WITHDRAWAL', 'TRANSFER') THEN -t.amount ELSE 0 END), 0) AS net " +
+        "FROM accounts a LEFT JOIN transactions t ON t.account_id = a.account_id " +
+        "LEFT JOIN account_carry_forward c ON c.account_id = a.account_id " +
+        "GROUP BY a.account_id, a.account_number, a.balance, c.posted_net " +
+        "ORDER BY a.account_id";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${recalculation.preview.chunk-size:500}")
+    private int chunkSize;
+
+    public BalanceRecalculationPreviewService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                              @Value("${recalculation.preview.fetch-size:1000}") int fetchSize) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Stream proposed corrections as NDJSON lines of (accountId, stored, computed, delta),
+     * followed by one summary line.
+     *
+     * @param replayOnStoredBalance true to mirror TransactionService, which replays postings on top of
+     *                              the stored balance; false to mirror AsyncTransactionService, which
+     *                              replays them from the archived carry-forward
+     */
+    public void streamDryRun(OutputStream out, boolean replayOnStoredBalance) {
+        long[] counters = new long[2]; // scanned, drifting
+        BigDecimal[] totalDelta = {BigDecimal.ZERO};
+        int[] pending = {0};
+
+        // Read-only transaction keeps the connection out of autocommit so PostgreSQL honours the fetch size
+        readOnlyTransactionTemplate.execute(status -> {
+            streamingJdbcTemplate.query(PREVIEW_SQL, rs -> {
+                counters[0]++;
+                BigDecimal stored = rs.getBigDecimal("balance");
+                BigDecimal net = rs.getBigDecimal("net");
+                if (stored == null) {
+                    stored = BigDecimal.ZERO;
+                }
+                BigDecimal computed = replayOnStoredBalance ? stored.add(net) : rs.getBigDecimal("carry_forward").add(net);
+                BigDecimal delta = computed.subtract(stored);
+                if (delta.signum() == 0) {
+                    return;
+                }
+                counters[1]++;
+                totalDelta[0] = totalDelta[0].add(delta);
+
+                Map<String, Object> line = new LinkedHashMap<>();
+                line.put("accountId", rs.getLong("account_id"));
+                line.put("accountNumber", rs.getString("account_number"));
+                line.put("stored", stored);
+                line.put("computed", computed);
+                line.put("delta", delta);
+                writeLine(out, line);
+                if (++pending[0] >= chunkSize) {
+                    flush(out);
+                    pending[0] = 0;
+                }
+            });
+            return null;
+        });
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("summary", true);
+        summary.put("dryRun", true);
+        summary.put("accountsScanned", counters[0]);
+        summary.put("accountsDrifting", counters[1]);
+        summary.put("totalDelta", totalDelta[0]);
+        summary.put("generatedAt", LocalDateTime.now());
+        writeLine(out, summary);
+        flush(out);
+    }
+
+    private void writeLine(OutputStream out, Map<String, Object> line) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(line));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void flush(OutputStream out) {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.model.Account;
+import com.bankmanagement.model.Transaction;
+import com.bankmanagement.repository.AccountRepository;
+import com.bankmanagement.util.AccountHashTree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental balance reconciliation.
+ *
+ * Keeps two hash trees of identical shape: the journal tree (balances implied by the
+ * postings in the transactions table) and the ledger tree (balances stored on accounts).
+ * Posting paths feed both trees after commit, so a reconciliation only has to descend
+ * into the subtrees whose hashes differ instead of recomputing every account.
+ * Entries keep the highest posting id they reflect and ignore postings at or below it, so a
+ * posting the rebuild scan already counted is not applied again. Postings that commit while a
+ * rebuild runs are queued and replayed once it has scanned.
+ */
+@Service
+public class BalanceReconciliationService {
+    private static final Logger log = LoggerFactory.getLogger(BalanceReconciliationService.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private final AccountHashTree journalTree;
+    private final AccountHashTree ledgerTree;
+    private volatile boolean built = false;
+    private volatile LocalDateTime lastBuiltAt;
+
+    // Non-null while a rebuild runs: tree updates committed meanwhile, replayed after its scans
+    private final Object pendingLock = new Object();
+    private volatile List<Runnable> pending;
+
+    public BalanceReconciliationService(@Value("${reconciliation.tree-depth:4}") int treeDepth) {
+        this.journalTree = new AccountHashTree(treeDepth);
+        this.ledgerTree = new AccountHashTree(treeDepth);
+    }
+
+    /**
+     * Record a posting that has just been saved in the current transaction.
+     * Stored balances are captured now and both trees are updated once the transaction commits.
+     */
+    public void recordPosting(Transaction transaction) {
+        if (!isTracking() || transaction.getTransactionId() == null) {
+            return;
+        }
+        Map<Long, BigDecimal> storedBalances = new HashMap<>();
+        captureBalance(transaction.getAccountId(), storedBalances);
+        if (transaction.getTransactionType() == Transaction.TransactionType.TRANSFER) {
+            captureBalance(transaction.getDestinationAccountId(), storedBalances);
+        }
+        long transactionId = transaction.getTransactionId();
+        Map<Long, BigDecimal> journalDeltas = journalEffects(transaction);
+        afterCommit(() -> {
+            journalDeltas.forEach((accountId, delta) -> journalTree.apply(accountId, delta, transactionId));
+            storedBalances.forEach((accountId, balance) -> ledgerTree.put(accountId, balance, transactionId));
+        });
+    }
+
+    /**
+     * Record single-account credits applied with set-based updates (balance = balance + amount).
+     * The same delta is applied to both trees once the transaction commits.
+     */
+    public void recordCredits(List<Transaction> credits) {
+        if (!isTracking() || credits.isEmpty()) {
+            return;
+        }
+        List<Transaction> snapshot = new ArrayList<>(credits);
+        afterCommit(() -> {
+            for (Transaction credit : snapshot) {
+                journalTree.apply(credit.getAccountId(), credit.getAmount(), credit.getTransactionId());
+                ledgerTree.apply(credit.getAccountId(), credit.getAmount(), credit.getTransactionId());
+            }
+        });
+    }
+
+    /**
+     * Record a stored balance change that did not go through a journal posting
+     * (account creation, manual edits, payment processor transfers).
+     */
+    public void recordBalanceChange(Long accountId, BigDecimal balance) {
+        if (!isTracking() || accountId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            AccountHashTree.Entry current = ledgerTree.get(accountId);
+            ledgerTree.put(accountId, balance, current != null ? current.getLastTransactionId() : 0L);
+        });
+    }
+
+    public void recordAccountRemoved(Long accountId) {
+        if (!isTracking() || accountId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            journalTree.remove(accountId);
+            ledgerTree.remove(accountId);
+        });
+    }
+
+    /**
+     * Rebuild both trees from the database with two streaming aggregate scans
+     */
+    public synchronized Map<String, Object> rebuild() {
+        long startTime = System.currentTimeMillis();
+        synchronized (pendingLock) {
+            pending = new ArrayList<>();
+        }
+        try {
+            scan();
+        } finally {
+            List<Runnable> committedMeanwhile;
+            synchronized (pendingLock) {
+                committedMeanwhile = pending;
+                pending = null;
+            }
+            // Postings the scans already counted are ignored by the trees
+            committedMeanwhile.forEach(Runnable::run);
+        }
+
+        built = true;
+        lastBuiltAt = LocalDateTime.now();
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("accounts", ledgerTree.size());
+        result.put("durationMs", System.currentTimeMillis() - startTime);
+        result.put("builtAt", lastBuiltAt);
+        log.info("🌳 Reconciliation trees rebuilt: {} accounts in {}ms", result.get("accounts"), result.get("durationMs"));
+        return result;
+    }
+
+    /**
+     * Compare the journal tree with the ledger tree and report drifting accounts
+     */
+    public Map<String, Object> findDrift(int limit) {
+        if (!built) {
+            rebuild();
+        }
+        long startTime = System.currentTimeMillis();
+        AccountHashTree.Diff diff = journalTree.diff(ledgerTree);
+
+        List<Map<String, Object>> drifts = new ArrayList<>();
+        for (AccountHashTree.Mismatch mismatch : diff.getMismatches()) {
+            if (drifts.size() >= limit) {
+                break;
+            }
+            Map<String, Object> drift = new HashMap<>();
+            drift.put("accountId", mismatch.getAccountId());
+            drift.put("journalBalance", mismatch.getLeft() != null ? mismatch.getLeft().getBalance() : null);
+            drift.put("storedBalance", mismatch.getRight() != null ? mismatch.getRight().getBalance() : null);
+            drift.put("journalLastTransactionId", mismatch.getLeft() != null ? mismatch.getLeft().getLastTransactionId() : null);
+            drift.put("storedLastTransactionId", mismatch.getRight() != null ? mismatch.getRight().getLastTransactionId() : null);
+            drifts.add(drift);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("driftCount", diff.getMismatches().size());
+        result.put("drifts", drifts);
+        result.put("nodesVisited", diff.getNodesVisited());
+        result.put("entriesCompared", diff.getEntriesCompared());
+        result.put("journalRootHash", Long.toHexString(journalTree.rootHash()));
+        result.put("ledgerRootHash", Long.toHexString(ledgerTree.rootHash()));
+        result.put("durationMs", System.currentTimeMillis() - startTime);
+        result.put("treesBuiltAt", lastBuiltAt);
+        return result;
+    }
+
+    public boolean isBuilt() {
+        return built;
+    }
+
+    private void scan() {
+        journalTree.clear();
+        ledgerTree.clear();
+
+        // Summed before entering the tree, which ignores amounts at or below an entry's last posting id
+        Map<Long, BigDecimal> journalNet = new HashMap<>();
+        Map<Long, Long> journalLastId = new HashMap<>();
+        RowCallbackHandler accumulate = rs -> {
+            long accountId = rs.getLong(1);
+            journalNet.merge(accountId, rs.getBigDecimal(2), BigDecimal::add);
+            journalLastId.merge(accountId, rs.getLong(3), Math::max);
+        };
+        jdbcTemplate.query(
+            "SELECT account_id, " +
+            "SUM(CASE WHEN transaction_type IN ('DEPOSIT', 'INTEREST_CREDIT') THEN amount ELSE -amount END) AS net, " +
+            "MAX(transaction_id) AS last_id " +
+            "FROM transactions GROUP BY account_id",
+            accumulate);
+
+        jdbcTemplate.query(
+            "SELECT destination_account_id, SUM(amount) AS net, MAX(transaction_id) AS last_id " +
+            "FROM transactions WHERE transaction_type = 'TRANSFER' AND destination_account_id IS NOT NULL " +
+            "GROUP BY destination_account_id",
+            accumulate);
+
+        // Archived postings are represented by their per-account carry-forward
+        jdbcTemplate.query(
+            "SELECT c.account_id, c.posted_net + c.transfer_in_net AS net, c.last_archived_transaction_id " +
+            "FROM account_carry_forward c JOIN accounts a ON a.account_id = c.account_id",
+            accumulate);
+        journalNet.forEach((accountId, net) -> journalTree.put(accountId, net, journalLastId.get(accountId)));
+
+        jdbcTemplate.query(
+            "SELECT account_id, balance FROM accounts",
+            rs -> {
+                long accountId = rs.getLong("account_id");
+                AccountHashTree.Entry journal = journalTree.get(accountId);
+                if (journal == null) {
+                    journalTree.put(accountId, BigDecimal.ZERO, 0L);
+                }
+                ledgerTree.put(accountId, rs.getBigDecimal("balance"),
+                    journal != null ? journal.getLastTransactionId() : 0L);
+            });
+    }
+
+    private boolean isTracking() {
+        return built || pending != null;
+    }
+
+    /**
+     * Apply a tree update now, or queue it while a rebuild is scanning
+     */
+    private void deliver(Runnable update) {
+        synchronized (pendingLock) {
+            if (pending != null) {
+                pending.add(update);
+                return;
+            }
+        }
+        synchronized (this) {
+            update.run();
+        }
+    }
+
+    // Signed balance effect of a posting on every account it touches
+    private Map<Long, BigDecimal> journalEffects(Transaction transaction) {
+        Map<Long, BigDecimal> effects = new HashMap<>();
+        BigDecimal amount = transaction.getAmount();
+        switch (transaction.getTransactionType()) {
+            case DEPOSIT:
+            case INTEREST_CREDIT:
+                effects.merge(transaction.getAccountId(), amount, BigDecimal::add);
+                break;
+            case WITHDRAWAL:
+                effects.merge(transaction.getAccountId(), amount.negate(), BigDecimal::add);
+                break;
+            case TRANSFER:
+                effects.merge(transaction.getAccountId(), amount.negate(), BigDecimal::add);
+                if (transaction.getDestinationAccountId() != null) {
+                    effects.merge(transaction.getDestinationAccountId(), amount, BigDecimal::add);
+                }
+                break;
+        }
+        return effects;
+    }
+
+    private void captureBalance(Long accountId, Map<Long, BigDecimal> balances) {
+        if (accountId == null) {
+            return;
+        }
+        accountRepository.findById(accountId)
+            .map(Account::getBalance)
+            .ifPresent(balance -> balances.put(accountId, balance));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(action);
+                }
+            });
+        } else {
+            deliver(action);
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.model.BatchJobChunk;
+import com.bankmanagement.model.BatchJobExecution;
+import com.bankmanagement.repository.BatchJobChunkRepository;
+import com.bankmanagement.repository.BatchJobExecutionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runner for resumable, checkpointed {@link ChunkedJob}s.
+ *
+ * An execution first plans its chunks (key ranges) into batch_job_chunks, then works through the
+ * chunks that are not yet committed. Each chunk's work and its COMPLETED checkpoint share one DB
+ * transaction, so after a crash or deploy the next run of the job resumes the same execution and
+ * only processes what is left. Chunks run in parallel on batchExecutor: the calling thread
+ * works the queue too, and up to batch.parallelism - 1 helpers join it when pool threads are free.
+ */
+@Service
+public class BatchJobService {
+    private static final Logger log = LoggerFactory.getLogger(BatchJobService.class);
+
+    private static final int PLANNING_BATCH = 500;
+
+    private static final String COMPLETE_CHUNK_SQL =
+        "UPDATE batch_job_chunks SET status = 'COMPLETED', items = ?, attempts = attempts + 1, " +
+        "completed_at = ?, last_error = NULL WHERE chunk_id = ? AND status <> 'COMPLETED'";
+
+    private static final String FAIL_CHUNK_SQL =
+        "UPDATE batch_job_chunks SET status = 'FAILED', attempts = attempts + 1, last_error = ? WHERE chunk_id = ?";
+
+    private static final String INSERT_CHUNK_SQL =
+        "INSERT INTO batch_job_chunks (execution_id, chunk_no, range_start, range_end, status, attempts, items) " +
+        "VALUES (?, ?, ?, ?, 'PENDING', 0, 0)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BatchJobExecutionRepository batchJobExecutionRepository;
+
+    @Autowired
+    private BatchJobChunkRepository batchJobChunkRepository;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Autowired
+    @Qualifier("batchExecutor")
+    private Executor batchExecutor;
+
+    @Autowired(required = false)
+    private List<ChunkedJob> jobs = new ArrayList<>();
+
+    @Value("${batch.parallelism:4}")
+    private int parallelism;
+
+    @Value("${batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${batch.max-attempts:3}")
+    private int maxAttempts;
+
+    private final Map<String, ReentrantLock> runLocks = new ConcurrentHashMap<>();
+
+    public Optional<ChunkedJob> findJob(String jobName) {
+        return jobs.stream().filter(job -> job.getJobName().equals(jobName)).findFirst();
+    }
+
+    /**
+     * Run a job to completion on this thread, resuming its unfinished execution if there is one
+     */
+    public Map<String, Object> run(ChunkedJob job) {
+        ReentrantLock lock = runLocks.computeIfAbsent(job.getJobName(), name -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            throw new IllegalStateException("Job " + job.getJobName() + " is already running on this node");
+        }
+        try {
+            long startTime = System.currentTimeMillis();
+            LocalDateTime runStartedAt = LocalDateTime.now();
+            BatchJobExecution execution = resumeOrCreate(job);
+            boolean resumed = execution.getStartedAt().isBefore(runStartedAt);
+            if (execution.getStatus() == BatchJobExecution.BatchJobStatus.PLANNING) {
+                plan(execution, job);
+            }
+
+            List<BatchJobChunk> remaining = batchJobChunkRepository.findByExecutionIdAndStatusInOrderByChunkNoAsc(
+                execution.getExecutionId(),
+                List.of(BatchJobChunk.ChunkStatus.PENDING, BatchJobChunk.ChunkStatus.FAILED));
+            List<BatchJobChunk> runnable = remaining.stream()
+                .filter(chunk -> chunk.getAttempts() < maxAttempts)
+                .toList();
+            updateStatus(execution, BatchJobExecution.BatchJobStatus.RUNNING, null);
+
+            log.info("⚙️ Batch job {} execution {}: {} of {} chunks to process{}", job.getJobName(),
+                execution.getExecutionId(), runnable.size(), execution.getChunkCount(), resumed ? " (resumed)" : "");
+            String error = processChunks(job, runnable);
+
+            long completed = batchJobChunkRepository.countByExecutionIdAndStatus(
+                execution.getExecutionId(), BatchJobChunk.ChunkStatus.COMPLETED);
+            Long items = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(items), 0) FROM batch_job_chunks WHERE execution_id = ?",
+                Long.class, execution.getExecutionId());
+            execution.setCompletedChunks(completed);
+            execution.setItemsProcessed(items != null ? items : 0L);
+            BatchJobExecution.BatchJobStatus finalStatus = completed == execution.getChunkCount()
+                ? BatchJobExecution.BatchJobStatus.COMPLETED : BatchJobExecution.BatchJobStatus.FAILED;
+            updateStatus(execution, finalStatus, error);
+
+            Map<String, Object> result = describe(execution);
+            result.put("resumed", resumed);
+            result.put("chunksProcessedThisRun", runnable.size());
+            result.put("durationMs", System.currentTimeMillis() - startTime);
+            log.info("⚙️ Batch job {} execution {} {}: {}/{} chunks, {} items ({}ms)", job.getJobName(),
+                execution.getExecutionId(), finalStatus, completed, execution.getChunkCount(),
+                execution.getItemsProcessed(), result.get("durationMs"));
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<Map<String, Object>> getExecutions(String jobName, int limit) {
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(limit, 100)));
+        List<BatchJobExecution> executions = jobName != null
+            ? batchJobExecutionRepository.findByJobNameOrderByExecutionIdDesc(jobName, page)
+            : batchJobExecutionRepository.findAllByOrderByExecutionIdDesc(page);
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (BatchJobExecution execution : executions) {
+            if (execution.getStatus() == BatchJobExecution.BatchJobStatus.RUNNING) {
+                // Live progress from the checkpoints
+                execution.setCompletedChunks(batchJobChunkRepository.countByExecutionIdAndStatus(
+                    execution.getExecutionId(), BatchJobChunk.ChunkStatus.COMPLETED));
+            }
+            result.add(describe(execution));
+        }
+        return result;
+    }
+
+    /**
+     * The execution the next run of the job would resume, if any
+     */
+    public Optional<BatchJobExecution> findUnfinishedExecution(String jobName) {
+        return batchJobExecutionRepository.findFirstByJobNameOrderByExecutionIdDesc(jobName)
+            .filter(execution -> execution.getStatus() == BatchJobExecution.BatchJobStatus.PLANNING ||
+                execution.getStatus() == BatchJobExecution.BatchJobStatus.RUNNING ||
+                (execution.getStatus() == BatchJobExecution.BatchJobStatus.FAILED && hasRetriableChunks(execution)));
+    }
+
+    public List<String> getJobNames() {
+        return jobs.stream().map(ChunkedJob::getJobName).toList();
+    }
+
+    private BatchJobExecution resumeOrCreate(ChunkedJob job) {
+        return transactionTemplate.execute(status -> {
+            Optional<BatchJobExecution> latest = batchJobExecutionRepository.findFirstByJobNameOrderByExecutionIdDesc(job.getJobName());
+            if (latest.isPresent()) {
+                BatchJobExecution execution = latest.get();
+                BatchJobExecution.BatchJobStatus current = execution.getStatus();
+                if (current == BatchJobExecution.BatchJobStatus.PLANNING || current == BatchJobExecution.BatchJobStatus.RUNNING) {
+                    return execution;
+                }
+                if (current == BatchJobExecution.BatchJobStatus.FAILED) {
+                    if (hasRetriableChunks(execution)) {
+                        return execution;
+                    }
+                    // Every remaining chunk has used up its attempts: give up on this execution
+                    execution.setStatus(BatchJobExecution.BatchJobStatus.ABANDONED);
+                    execution.setFinishedAt(LocalDateTime.now());
+                    batchJobExecutionRepository.save(execution);
+                }
+            }
+            BatchJobExecution execution = new BatchJobExecution();
+            execution.setJobName(job.getJobName());
+            execution.setStatus(BatchJobExecution.BatchJobStatus.PLANNING);
+            execution.setStartedAt(LocalDateTime.now());
+            execution.setUpdatedAt(LocalDateTime.now());
+            BatchJobExecution created = batchJobExecutionRepository.save(execution);
+            job.onExecutionCreated(created.getExecutionId());
+            return created;
+        });
+    }
+
+    private boolean hasRetriableChunks(BatchJobExecution execution) {
+        Long retriable = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM batch_job_chunks WHERE execution_id = ? AND status <> 'COMPLETED' AND attempts < ?",
+            Long.class, execution.getExecutionId(), maxAttempts);
+        return retriable != null && retriable > 0;
+    }
+
+    // Record chunk boundaries, continuing after the last planned chunk if planning was interrupted
+    private void plan(BatchJobExecution execution, ChunkedJob job) {
+        Long executionId = execution.getExecutionId();
+        Map<String, Object> last = jdbcTemplate.queryForMap(
+            "SELECT COALESCE(MAX(range_end), 0) AS last_key, COUNT(*) AS planned FROM batch_job_chunks WHERE execution_id = ?",
+            executionId);
+        long afterKey = ((Number) last.get("last_key")).longValue();
+        int chunkNo = ((Number) last.get("planned")).intValue();
+
+        boolean exhausted = false;
+        while (!exhausted) {
+            List<Object[]> rows = new ArrayList<>(PLANNING_BATCH);
+            while (rows.size() < PLANNING_BATCH) {
+                Long end = job.nextChunkEnd(afterKey, chunkSize);
+                if (end == null) {
+                    exhausted = true;
+                    break;
+                }
+                rows.add(new Object[] {executionId, chunkNo++, afterKey, end});
+                afterKey = end;
+            }
+            if (!rows.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jobLeaseService.renewWithinTransaction();
+                    jdbcTemplate.batchUpdate(INSERT_CHUNK_SQL, rows);
+                });
+            }
+        }
+        execution.setChunkCount((long) chunkNo);
+    }
+
+    private String processChunks(ChunkedJob job, List<BatchJobChunk> chunks) {
+        if (chunks.isEmpty()) {
+            return null;
+        }
+        ConcurrentLinkedQueue<BatchJobChunk> queue = new ConcurrentLinkedQueue<>(chunks);
+        AtomicBoolean aborted = new AtomicBoolean(false);
+        AtomicLong failures = new AtomicLong();
+        String[] lastError = new String[1];
+        JobLeaseService.Lease lease = jobLeaseService.currentLease();
+
+        WorkerGroup group = new WorkerGroup();
+        Runnable worker = () -> {
+            while (!aborted.get()) {
+                BatchJobChunk chunk = queue.poll();
+                if (chunk == null) {
+                    return;
+                }
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        jobLeaseService.renewWithinTransaction();
+                        int items = job.processChunk(chunk.getRangeStart(), chunk.getRangeEnd());
+                        int updated = jdbcTemplate.update(COMPLETE_CHUNK_SQL, items,
+                            Timestamp.valueOf(LocalDateTime.now()), chunk.getChunkId());
+                        if (updated == 0) {
+                            throw new IllegalStateException("Chunk " + chunk.getChunkNo() + " was already completed");
+                        }
+                    });
+                } catch (JobLeaseService.LeaseLostException e) {
+                    aborted.set(true);
+                    lastError[0] = e.getMessage();
+                } catch (RuntimeException e) {
+                    failures.incrementAndGet();
+                    lastError[0] = "Chunk " + chunk.getChunkNo() + ": " + e.getMessage();
+                    log.error("❌ Batch job {} chunk {} ({}, {}] failed: {}", job.getJobName(), chunk.getChunkNo(),
+                        chunk.getRangeStart(), chunk.getRangeEnd(), e.getMessage());
+                    transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.update(FAIL_CHUNK_SQL, truncate(e.getMessage()), chunk.getChunkId()));
+                }
+            }
+        };
+
+        int helpers = Math.min(Math.min(parallelism, job.getMaxParallelism()), chunks.size()) - 1;
+        for (int i = 0; i < helpers; i++) {
+            try {
+                batchExecutor.execute(() -> group.runHelper(() -> {
+                    jobLeaseService.bindLease(lease);
+                    try {
+                        worker.run();
+                    } finally {
+                        jobLeaseService.unbindLease();
+                    }
+                }));
+            } catch (RuntimeException e) {
+                // Pool saturated or shutting down: the calling thread carries on alone
+                break;
+            }
+        }
+        worker.run();
+        group.closeAndAwait();
+
+        if (aborted.get()) {
+            return "Aborted: " + lastError[0];
+        }
+        return failures.get() > 0 ? failures.get() + " chunk(s) failed, last: " + lastError[0] : null;
+    }
+
+    private void updateStatus(BatchJobExecution execution, BatchJobExecution.BatchJobStatus status, String error) {
+        execution.setStatus(status);
+        execution.setUpdatedAt(LocalDateTime.now());
+        execution.setLastError(truncate(error));
+        if (status == BatchJobExecution.BatchJobStatus.COMPLETED || status == BatchJobExecution.BatchJobStatus.FAILED) {
+            execution.setFinishedAt(LocalDateTime.now());
+        }
+        transactionTemplate.executeWithoutResult(tx -> batchJobExecutionRepository.save(execution));
+    }
+
+    private Map<String, Object> describe(BatchJobExecution execution) {
+        Map<String, Object> description = new HashMap<>();
+        description.put("executionId", execution.getExecutionId());
+        description.put("jobName", execution.getJobName());
+        description.put("status", execution.getStatus());
+        description.put("chunkCount", execution.getChunkCount());
+        description.put("completedChunks", execution.getCompletedChunks());
+        description.put("itemsProcessed", execution.getItemsProcessed());
+        description.put("startedAt", execution.getStartedAt());
+        description.put("updatedAt", execution.getUpdatedAt());
+        description.put("finishedAt", execution.getFinishedAt());
+        description.put("lastError", execution.getLastError());
+        return description;
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > 255 ? message.substring(0, 255) : message;
+    }
+
+    /**
+     * Tracks helper workers so the caller can wait for the ones that actually started.
+     * A helper that starts after the group is closed exits without doing anything.
+     */
+    private static final class WorkerGroup {
+        private int active = 0;
+        private boolean closed = false;
+
+        void runHelper(Runnable work) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                active++;
+            }
+            try {
+                work.run();
+            } finally {
+                synchronized (this) {
+                    active--;
+                    notifyAll();
+                }
+            }
+        }
+
+        synchronized void closeAndAwait() {
+            closed = true;
+            while (active > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
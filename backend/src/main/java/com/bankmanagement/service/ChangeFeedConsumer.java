@@ -0,0 +1,20 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * A derived view fed incrementally from the posting outbox.
+ * Beans implementing this interface are driven by {@link ChangeFeedService}; each batch is
+ * handled in the same DB transaction that advances the consumer's durable offset.
+ */
+public interface ChangeFeedConsumer {
+
+    /**
+     * Stable name used as the key of the consumer's stored offset
+     */
+    String getConsumerName();
+
+    void onBatch(List<OutboxEvent> events);
+}
@@ -0,0 +1,40 @@
+package com.bankmanagement.service;
+
+/**
+ * A long-running maintenance job split into key-range chunks.
+ * Beans implementing this interface are run by {@link BatchJobService}: chunks are planned once
+ * per execution, processed in parallel, and each chunk's work commits in the same DB transaction
+ * as its checkpoint, so a restarted execution resumes without redoing completed chunks.
+ */
+public interface ChunkedJob {
+
+    /**
+     * Stable name used to find the job's unfinished execution
+     */
+    String getJobName();
+
+    /**
+     * Planning: the last key of the chunk that starts after afterKey, or null when no keys remain
+     */
+    Long nextChunkEnd(long afterKey, int chunkSize);
+
+    /**
+     * Process keys in (fromExclusive, toInclusive] inside the caller's DB transaction
+     *
+     * @return number of items changed or processed, for reporting
+     */
+    int processChunk(long fromExclusive, long toInclusive);
+
+    /**
+     * Called in the DB transaction that creates a new execution, before planning; resumed executions skip it
+     */
+    default void onExecutionCreated(Long executionId) {
+    }
+
+    /**
+     * Upper bound on concurrent chunks, for jobs whose chunks write to shared rows
+     */
+    default int getMaxParallelism() {
+        return Integer.MAX_VALUE;
+    }
+}
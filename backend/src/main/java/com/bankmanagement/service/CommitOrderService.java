@@ -0,0 +1,74 @@
+package com.bankmanagement.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Commit order of the rows appended to posting_outbox and transaction_changes.
+ *
+ * Identity values are handed out at insert, not at commit, so a reader paging by id can pass a row that
+ * commits later. On PostgreSQL those tables default tx_id to the id of the inserting transaction. Every
+ * transaction below the oldest one still in flight has finished, so rows with a tx_id under that horizon
+ * are final and readers that page by (tx_id, id) below it never pass a row that commits afterwards. Any
+ * long-running transaction holds the horizon back, so those readers lag until it finishes.
+ * Where the default is missing (other databases, or a PostgreSQL schema not yet migrated) tx_id stays 0
+ * and readers fall back to waiting for id gaps to settle.
+ */
+@Service
+public class CommitOrderService {
+    private static final Logger log = LoggerFactory.getLogger(CommitOrderService.class);
+
+    private static final String COLUMN_DEFAULT_SQL =
+        "SELECT column_default FROM information_schema.columns " +
+        "WHERE LOWER(table_schema) = LOWER(CURRENT_SCHEMA) AND LOWER(table_name) = ? AND LOWER(column_name) = 'tx_id'";
+
+    // Oldest transaction id still running, or the next one to be assigned when none is
+    private static final String HORIZON_SQL =
+        "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS TEXT) AS BIGINT)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<String, Boolean> commitOrdered = new ConcurrentHashMap<>();
+
+    /**
+     * Whether this table records the inserting transaction id in tx_id
+     */
+    public boolean isCommitOrdered(String tableName) {
+        // Not cached when the lookup fails, so the next read tries again
+        return Boolean.TRUE.equals(commitOrdered.computeIfAbsent(tableName, this::detect));
+    }
+
+    /**
+     * Transaction id below which every writer has finished. Query it before reading the rows, in its own
+     * statement, so the read sees every commit below it. Must run on the primary.
+     */
+    public long horizon() {
+        Long horizon = jdbcTemplate.queryForObject(HORIZON_SQL, Long.class);
+        return horizon != null ? horizon : 0;
+    }
+
+    private Boolean detect(String tableName) {
+        try {
+            List<String> defaults = jdbcTemplate.queryForList(COLUMN_DEFAULT_SQL, String.class, tableName);
+            boolean ordered = !defaults.isEmpty() && defaults.get(0) != null
+                && defaults.get(0).contains("pg_current_xact_id");
+            if (ordered) {
+                log.info("✅ {} is read in commit order", tableName);
+            } else {
+                log.warn("⚠️ {}.tx_id has no transaction id default, readers settle id gaps by age instead", tableName);
+            }
+            return ordered;
+        } catch (Exception e) {
+            log.warn("⚠️ Could not inspect {}.tx_id: {}", tableName, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.dto.AccountView;
+import com.bankmanagement.dto.CustomerDTO;
+import com.bankmanagement.model.Account;
+import com.bankmanagement.repository.AccountRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Customer 360: the customer, their accounts and each account's most recent transactions in one document.
+ *
+ * The customer and account lookups run in parallel on the bounded overviewExecutor, then one history
+ * lookup per account; every part is an indexed read and has its own timeout. A part that times out or
+ * fails is left out and listed under "errors" with "partial": true, rather than failing the whole view.
+ * Each part runs in a read-only transaction with the same timeout, which Spring passes to every JDBC
+ * statement as its query timeout, so the database cancels the query too instead of finishing it unobserved.
+ */
+@Service
+public class CustomerOverviewService {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerOverviewService.class);
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    @Qualifier("overviewExecutor")
+    private Executor overviewExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${customers.overview.part-timeout-ms:2000}")
+    private long partTimeoutMillis;
+
+    @Value("${customers.overview.recent-transactions:10}")
+    private int recentTransactions;
+
+    private TransactionTemplate partTransactionTemplate;
+
+    @PostConstruct
+    void init() {
+        partTransactionTemplate = new TransactionTemplate(transactionManager);
+        partTransactionTemplate.setReadOnly(true);
+        // Transaction timeouts are whole seconds; round up so the future gives up first
+        partTransactionTemplate.setTimeout((int) Math.max(1, (partTimeoutMillis + 999) / 1000));
+    }
+
+    /**
+     * @return empty if the customer does not exist
+     */
+    public Optional<Map<String, Object>> getOverview(Long customerId, Integer transactionsPerAccount) {
+        long startTime = System.nanoTime();
+        int perAccount = transactionsPerAccount != null ? transactionsPerAccount : recentTransactions;
+        List<Map<String, Object>> errors = new ArrayList<>();
+
+        CompletableFuture<Optional<CustomerDTO>> customerPart =
+            submit(() -> customerService.getCustomerById(customerId));
+        CompletableFuture<List<Account>> accountsPart =
+            submit(() -> accountRepository.findByCustomerId(customerId));
+
+        Optional<CustomerDTO> customer = await("customer", customerPart, errors);
+        if (customer != null && customer.isEmpty()) {
+            return Optional.empty();
+        }
+        List<Account> accounts = await("accounts", accountsPart, errors);
+
+        List<Map<String, Object>> accountDocuments = new ArrayList<>();
+        if (accounts != null) {
+            List<CompletableFuture<Optional<Map<String, Object>>>> historyParts = new ArrayList<>();
+            for (Account account : accounts) {
+                historyParts.add(submit(() -> transactionService.getAccountHistory(
+                    account.getAccountId(), null, null, null, perAccount)));
+            }
+            for (int i = 0; i < accounts.size(); i++) {
+                Account account = accounts.get(i);
+                Optional<Map<String, Object>> history =
+                    await("transactions:" + account.getAccountId(), historyParts.get(i), errors);
+                Map<String, Object> document = new LinkedHashMap<>();
+                document.put("account", toView(account));
+                document.put("recentTransactions", history != null ? history.orElse(null) : null);
+                accountDocuments.add(document);
+            }
+        }
+
+        Map<String, Object> overview = new LinkedHashMap<>();
+        overview.put("customerId", customerId);
+        overview.put("customer", customer != null ? customer.get() : null);
+        overview.put("accounts", accounts != null ? accountDocuments : null);
+        overview.put("totalBalance", accounts != null ? totalActiveBalance(accounts) : null);
+        overview.put("partial", !errors.isEmpty());
+        overview.put("errors", errors);
+        overview.put("elapsedMs", (System.nanoTime() - startTime) / 1_000_000);
+        return Optional.of(overview);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> part) {
+        try {
+            return CompletableFuture
+                .supplyAsync(() -> partTransactionTemplate.execute(status -> part.get()), overviewExecutor)
+                .orTimeout(partTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * The part's result, or null after recording why it is missing
+     */
+    private <T> T await(String part, CompletableFuture<T> future, List<Map<String, Object>> errors) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            String reason;
+            if (cause instanceof TimeoutException) {
+                reason = "Timed out after " + partTimeoutMillis + " ms";
+            } else if (cause instanceof RejectedExecutionException) {
+                reason = "Overview executor is saturated";
+            } else {
+                reason = cause.getMessage();
+            }
+            log.warn("Customer overview part {} unavailable: {}", part, reason);
+            Map<String, Object> error = new HashMap<>();
+            error.put("part", part);
+            error.put("message", reason);
+            errors.add(error);
+            return null;
+        }
+    }
+
+    private static AccountView toView(Account account) {
+        return new AccountView(account.getAccountId(), account.getCustomerId(), account.getAccountNumber(),
+            account.getAccountType(), account.getBalance(), account.getInterestRate(), account.getStatus(),
+            account.getCreatedAt());
+    }
+
+    private static BigDecimal totalActiveBalance(List<Account> accounts) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Account account : accounts) {
+            if (account.getStatus() == Account.AccountStatus.ACTIVE && account.getBalance() != null) {
+                total = total.add(account.getBalance());
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,77 @@
+package com.bankmanagement.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Ranked customer search over first name, last name, email and phone.
+ * Queries are split on whitespace and every term must match one of the fields, as a prefix
+ * of a word or (from three characters) anywhere inside it. {@link CustomerService} keeps the
+ * index current on create, update and delete; customers.search.backend selects the implementation.
+ */
+public interface CustomerSearchIndex {
+
+    /**
+     * Best matches first, at most limit of them
+     */
+    List<Hit> search(String query, int limit);
+
+    void upsert(Long customerId, String firstName, String lastName, String email, String phone);
+
+    void remove(Long customerId);
+
+    /**
+     * False while the index cannot answer yet; callers fall back to the database
+     */
+    boolean isReady();
+
+    /**
+     * Reload everything from the customers table
+     */
+    void rebuild();
+
+    Map<String, Object> getStats();
+
+    final class Hit {
+        private final Long customerId;
+        private final double score;
+
+        public Hit(Long customerId, double score) {
+            this.customerId = customerId;
+            this.score = score;
+        }
+
+        public Long getCustomerId() {
+            return customerId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * Lower-cased whitespace-separated terms; phone-like terms lose their punctuation
+     */
+    static List<String> terms(String query) {
+        List<String> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        for (String term : query.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+            if (term.matches("[0-9()+\\-.]+") && term.chars().anyMatch(Character::isDigit)) {
+                term = normalizePhone(term);
+            }
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    static String normalizePhone(String phone) {
+        return phone == null ? "" : phone.replaceAll("[^0-9]", "");
+    }
+}
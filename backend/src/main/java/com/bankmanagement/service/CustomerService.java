@@ -3,56 +3,204 @@ package com.bankmanagement.service;
 import com.bankmanagement.dto.CustomerDTO;
 import com.bankmanagement.model.Customer;
 import com.bankmanagement.repository.CustomerRepository;
+import com.bankmanagement.util.BatchLookup;
+import com.bankmanagement.util.KeysetCursor;
+import com.bankmanagement.util.LocalCache;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+/**
+ * Reads run in read-only transactions and are projected straight into CustomerDTO;
+ * only the write methods load managed Customer entities.
+ */
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class CustomerService {
     
     @Autowired
     private CustomerRepository customerRepository;
     
+    @Autowired
+    private EntityCounterService entityCounterService;
+    
+    @Autowired
+    private TableVersionService tableVersionService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+    
+    @Autowired
+    private LocalCacheService localCacheService;
+    
+    // Lookups by id and by email (login, registration); evicted by every write below
+    private LocalCache<Long, CustomerDTO> customerCache;
+    private LocalCache<String, CustomerDTO> customerByEmailCache;
+    
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
+    
+    @PostConstruct
+    public void initCaches() {
+        customerCache = localCacheService.region("customers", 300000, 10000);
+        customerByEmailCache = localCacheService.region("customers-by-email", 300000, 10000);
+    }
+    
     public List<CustomerDTO> getAllCustomers() {
-        return customerRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return customerRepository.findAllDtos();
     }
     
     public List<CustomerDTO> getActiveCustomers() {
-        return customerRepository.findByIsActiveTrue().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return customerRepository.findActiveDtos();
     }
     
     public Optional<CustomerDTO> getCustomerById(Long customerId) {
-        return customerRepository.findById(customerId)
-                .map(this::convertToDTO);
+        return Optional.ofNullable(customerCache.get(customerId,
+            localCacheService.fromPrimary(key -> customerRepository.findDtoById(key).orElse(null))));
     }
     
     public Optional<CustomerDTO> getCustomerByEmail(String email) {
-        return customerRepository.findByEmail(email)
-                .map(this::convertToDTO);
+        return Optional.ofNullable(customerByEmailCache.get(email,
+            localCacheService.fromPrimary(key -> customerRepository.findDtoByEmail(key).orElse(null))));
     }
     
     public Optional<CustomerDTO> getCustomerByPhone(String phone) {
-        return customerRepository.findByPhone(phone)
-                .map(this::convertToDTO);
+        return customerRepository.findDtoByPhone(phone);
     }
     
     public List<CustomerDTO> searchCustomersByName(String name) {
-        return customerRepository.findByNameContaining(name).stream()
-                .map(this::convertToDTO)
+        return customerRepository.findDtosByNameContaining(name);
+    }
+    
+    /**
+     * Ranked search over name, email and phone through the customer search index.
+     * Only the returned customers are loaded, by primary key; until the index is ready
+     * this falls back to the LIKE queries.
+     */
+    public List<CustomerDTO> searchCustomers(String query, Integer limit) {
+        int maxResults = limit == null || limit <= 0 ? DEFAULT_SEARCH_LIMIT : Math.min(limit, MAX_SEARCH_LIMIT);
+        if (query == null || query.isBlank()) {
+            return new ArrayList<>();
+        }
+        if (!customerSearchIndex.isReady()) {
+            Map<Long, CustomerDTO> matches = new LinkedHashMap<>();
+            customerRepository.findDtosByNameContaining(query.trim()).forEach(c -> matches.putIfAbsent(c.getCustomerId(), c));
+            customerRepository.findDtosByEmailContaining(query.trim()).forEach(c -> matches.putIfAbsent(c.getCustomerId(), c));
+            return matches.values().stream().limit(maxResults).collect(Collectors.toList());
+        }
+        
+        List<CustomerSearchIndex.Hit> hits = customerSearchIndex.search(query, maxResults);
+        List<Long> ids = hits.stream().map(CustomerSearchIndex.Hit::getCustomerId).collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, CustomerDTO> byId = customerRepository.findDtosByIdIn(ids).stream()
+                .collect(Collectors.toMap(CustomerDTO::getCustomerId, c -> c));
+        // Keep the index's ranking
+        return ids.stream()
+                .map(byId::get)
+                .filter(c -> c != null)
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Customers for up to BatchLookup.MAX_KEYS ids in request order; ids that match nothing are listed as missing
+     */
+    public Map<String, Object> getCustomersByIds(List<Long> customerIds) {
+        List<Long> ids = BatchLookup.distinct(customerIds);
+        Map<Long, CustomerDTO> byId = BatchLookup.fetch(ids, customerRepository::findDtosByIdIn,
+                CustomerDTO::getCustomerId);
+        List<CustomerDTO> items = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            CustomerDTO customer = byId.get(id);
+            if (customer != null) {
+                items.add(customer);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("items", items);
+        result.put("missingIds", missingIds);
+        return result;
+    }
+    
+    public Map<String, Object> getSearchIndexStats() {
+        return customerSearchIndex.getStats();
+    }
+    
+    public void rebuildSearchIndex() {
+        customerSearchIndex.rebuild();
+    }
+    
+    /**
+     * One page of customers in customer_id order, continuing after the cursor's id.
+     * The last-name filter is a prefix match so (last_name, customer_id) can serve it.
+     */
+    public Map<String, Object> listCustomers(Boolean active, String lastNamePrefix, LocalDate createdFrom,
+                                             LocalDate createdTo, String cursor, Integer limit) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        StringBuilder sql = new StringBuilder(
+            "SELECT customer_id, first_name, last_name, address, phone, email, date_of_birth, is_active, created_at " +
+            "FROM customers WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (active != null) {
+            sql.append(" AND is_active = ?");
+            args.add(active);
+        }
+        if (lastNamePrefix != null && !lastNamePrefix.isBlank()) {
+            sql.append(" AND last_name LIKE ? ESCAPE '\\'");
+            args.add(lastNamePrefix.trim().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+        }
+        if (createdFrom != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(Timestamp.valueOf(createdFrom.atStartOfDay()));
+        }
+        if (createdTo != null) {
+            sql.append(" AND created_at < ?");
+            args.add(Timestamp.valueOf(createdTo.plusDays(1).atStartOfDay()));
+        }
+        if (cursor != null) {
+            sql.append(" AND customer_id > ?");
+            args.add(KeysetCursor.parse(KeysetCursor.decode(cursor, 1)[0], Long::valueOf));
+        }
+        sql.append(" ORDER BY customer_id LIMIT ?");
+        args.add(pageSize + 1);
+
+        List<CustomerDTO> rows = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new CustomerDTO(
+            rs.getLong("customer_id"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getString("address"),
+            rs.getString("phone"),
+            rs.getString("email"),
+            rs.getDate("date_of_birth").toLocalDate(),
+            rs.getBoolean("is_active"),
+            rs.getTimestamp("created_at").toLocalDateTime().toLocalDate()
+        ), args.toArray());
+        return KeysetCursor.page(rows, pageSize, customer -> KeysetCursor.encode(customer.getCustomerId()));
+    }
+    
+    @Transactional
     public CustomerDTO createCustomer(CustomerDTO customerDTO) {
         // Check if email or phone already exists
         if (customerRepository.existsByEmail(customerDTO.getEmail())) {
@@ -68,9 +216,14 @@ public class CustomerService {
         customer.setCreatedAt(LocalDateTime.now());
         
         Customer savedCustomer = customerRepository.save(customer);
+        entityCounterService.recordCustomerCreated(savedCustomer);
+        tableVersionService.recordWrite(TableVersionService.Table.CUSTOMERS);
+        indexAfterCommit(savedCustomer);
+        evictCached(savedCustomer.getCustomerId(), savedCustomer.getEmail());
         return convertToDTO(savedCustomer);
     }
     
+    @Transactional
     public CustomerDTO updateCustomer(Long customerId, CustomerDTO customerDTO) {
         Customer existingCustomer = customerRepository.findById(customerId)
                 .orElseThrow(() -> new RuntimeException("Customer not found with id: " + customerId));
@@ -87,6 +240,8 @@ public class CustomerService {
             throw new RuntimeException("Customer with phone " + customerDTO.getPhone() + " already exists");
         }
         
+        String previousEmail = existingCustomer.getEmail();
+        
         // Update fields
         existingCustomer.setFirstName(customerDTO.getFirstName());
         existingCustomer.setLastName(customerDTO.getLastName());
@@ -96,30 +251,48 @@ public class CustomerService {
         existingCustomer.setDateOfBirth(customerDTO.getDateOfBirth());
         
         Customer updatedCustomer = customerRepository.save(existingCustomer);
+        tableVersionService.recordWrite(TableVersionService.Table.CUSTOMERS);
+        indexAfterCommit(updatedCustomer);
+        evictCached(customerId, previousEmail);
+        customerByEmailCache.evict(updatedCustomer.getEmail());
         return convertToDTO(updatedCustomer);
     }
     
+    @Transactional
     public void deactivateCustomer(Long customerId) {
         Customer customer = customerRepository.findById(customerId)
                 .orElseThrow(() -> new RuntimeException("Customer not found with id: " + customerId));
         
+        boolean wasActive = Boolean.TRUE.equals(customer.getIsActive());
         customer.setIsActive(false);
         customerRepository.save(customer);
+        evictCached(customerId, customer.getEmail());
+        entityCounterService.recordCustomerActiveChanged(wasActive, false);
+        tableVersionService.recordWrite(TableVersionService.Table.CUSTOMERS);
     }
     
+    @Transactional
     public void activateCustomer(Long customerId) {
         Customer customer = customerRepository.findById(customerId)
                 .orElseThrow(() -> new RuntimeException("Customer not found with id: " + customerId));
         
+        boolean wasActive = Boolean.TRUE.equals(customer.getIsActive());
         customer.setIsActive(true);
         customerRepository.save(customer);
+        evictCached(customerId, customer.getEmail());
+        entityCounterService.recordCustomerActiveChanged(wasActive, true);
+        tableVersionService.recordWrite(TableVersionService.Table.CUSTOMERS);
     }
     
+    @Transactional
     public void deleteCustomer(Long customerId) {
-        if (!customerRepository.existsById(customerId)) {
-            throw new RuntimeException("Customer not found with id: " + customerId);
-        }
-        customerRepository.deleteById(customerId);
+        Customer customer = customerRepository.findById(customerId)
+                .orElseThrow(() -> new RuntimeException("Customer not found with id: " + customerId));
+        customerRepository.delete(customer);
+        entityCounterService.recordCustomerDeleted(Boolean.TRUE.equals(customer.getIsActive()));
+        tableVersionService.recordWrite(TableVersionService.Table.CUSTOMERS);
+        runAfterCommit(() -> customerSearchIndex.remove(customerId));
+        evictCached(customerId, customer.getEmail());
     }
     
     public long getTotalCustomers() {
@@ -130,6 +303,34 @@ public class CustomerService {
         return customerRepository.countByIsActiveTrue();
     }
     
+    private void evictCached(Long customerId, String email) {
+        customerCache.evict(customerId);
+        customerByEmailCache.evict(email);
+    }
+    
+    private void indexAfterCommit(Customer customer) {
+        Long customerId = customer.getCustomerId();
+        String firstName = customer.getFirstName();
+        String lastName = customer.getLastName();
+        String email = customer.getEmail();
+        String phone = customer.getPhone();
+        runAfterCommit(() -> customerSearchIndex.upsert(customerId, firstName, lastName, email, phone));
+    }
+    
+    // The search index only sees committed customers
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
     private CustomerDTO convertToDTO(Customer customer) {
         return new CustomerDTO(
                 customer.getCustomerId(),
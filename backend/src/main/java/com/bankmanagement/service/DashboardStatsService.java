@@ -0,0 +1,181 @@
+package com.bankmanagement.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Dashboard stats served from an immutable in-memory snapshot.
+ *
+ * A snapshot older than dashboard.stats.max-staleness-ms is recomputed with its parts fetched in
+ * parallel on taskExecutor. Requests arriving while a refresh is in flight wait on that refresh
+ * instead of starting their own, so a burst of dashboard loads costs one computation.
+ */
+@Service
+public class DashboardStatsService {
+    private static final Logger log = LoggerFactory.getLogger(DashboardStatsService.class);
+
+    @Autowired
+    private EntityCounterService entityCounterService;
+
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    @Autowired
+    @Qualifier("taskExecutor")
+    private Executor taskExecutor;
+
+    @Value("${dashboard.stats.max-staleness-ms:5000}")
+    private long maxStalenessMillis;
+
+    @Value("${dashboard.stats.refresh-timeout-ms:10000}")
+    private long refreshTimeoutMillis;
+
+    private volatile Snapshot snapshot;
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong coalescedRequests = new AtomicLong();
+
+    /**
+     * The current snapshot, refreshed first if it is older than the staleness bound.
+     * Falls back to the previous snapshot if the refresh fails.
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.ageMillis() <= maxStalenessMillis) {
+            return current;
+        }
+        try {
+            return refresh().get(refreshTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for dashboard stats", e);
+        } catch (Exception e) {
+            if (current != null) {
+                log.warn("⚠️ Dashboard stats refresh failed, serving snapshot from {}: {}", current.getComputedAt(), e.getMessage());
+                return current;
+            }
+            throw new IllegalStateException("Dashboard stats unavailable: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Start a refresh, or join the one already running
+     */
+    public CompletableFuture<Snapshot> refresh() {
+        while (true) {
+            CompletableFuture<Snapshot> running = inFlight.get();
+            if (running != null) {
+                coalescedRequests.incrementAndGet();
+                return running;
+            }
+            CompletableFuture<Snapshot> mine = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, mine)) {
+                compute(mine);
+                return mine;
+            }
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Snapshot current = snapshot;
+        Map<String, Object> status = new HashMap<>();
+        status.put("computedAt", current != null ? current.getComputedAt() : null);
+        status.put("ageMs", current != null ? current.ageMillis() : null);
+        status.put("lastComputeMs", current != null ? current.getComputeMillis() : null);
+        status.put("maxStalenessMs", maxStalenessMillis);
+        status.put("refreshes", refreshes.get());
+        status.put("coalescedRequests", coalescedRequests.get());
+        status.put("refreshInFlight", inFlight.get() != null);
+        return status;
+    }
+
+    private void compute(CompletableFuture<Snapshot> target) {
+        long startTime = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime startOfMonth = now.toLocalDate().withDayOfMonth(1).atStartOfDay();
+        LocalDateTime startOfDay = now.toLocalDate().atStartOfDay();
+
+        CompletableFuture<Map<String, Object>> counters;
+        CompletableFuture<Map<String, Object>> month;
+        CompletableFuture<Map<String, Object>> today;
+        try {
+            counters = CompletableFuture.supplyAsync(entityCounterService::getSnapshot, taskExecutor);
+            month = CompletableFuture.supplyAsync(() -> transactionRollupService.summarize(startOfMonth, now), taskExecutor);
+            today = CompletableFuture.supplyAsync(() -> transactionRollupService.summarize(startOfDay, now), taskExecutor);
+        } catch (RuntimeException e) {
+            // Executor saturated or shutting down: fail this refresh so the next caller starts a new one
+            inFlight.compareAndSet(target, null);
+            target.completeExceptionally(e);
+            return;
+        }
+
+        CompletableFuture.allOf(counters, month, today).whenComplete((ignored, throwable) -> {
+            try {
+                if (throwable != null) {
+                    target.completeExceptionally(throwable);
+                    return;
+                }
+                Map<String, Object> stats = new HashMap<>(counters.join());
+                stats.put("monthlyAmount", month.join().get("totalAmount"));
+                stats.put("monthlyByTransactionType", month.join().get("byTransactionType"));
+                stats.put("todayTransactions", today.join().get("transactionCount"));
+                stats.put("todayAmount", today.join().get("totalAmount"));
+                Snapshot computed = new Snapshot(stats, now, startTime, System.currentTimeMillis() - startTime);
+                snapshot = computed;
+                refreshes.incrementAndGet();
+                target.complete(computed);
+            } catch (RuntimeException e) {
+                target.completeExceptionally(e);
+            } finally {
+                inFlight.compareAndSet(target, null);
+            }
+        });
+    }
+
+    /**
+     * Immutable set of dashboard figures computed together
+     */
+    public static final class Snapshot {
+        private final Map<String, Object> stats;
+        private final LocalDateTime computedAt;
+        private final long computedAtMillis;
+        private final long computeMillis;
+
+        Snapshot(Map<String, Object> stats, LocalDateTime computedAt, long computedAtMillis, long computeMillis) {
+            this.stats = Collections.unmodifiableMap(new HashMap<>(stats));
+            this.computedAt = computedAt;
+            this.computedAtMillis = computedAtMillis;
+            this.computeMillis = computeMillis;
+        }
+
+        public Map<String, Object> getStats() {
+            return stats;
+        }
+
+        public LocalDateTime getComputedAt() {
+            return computedAt;
+        }
+
+        public long getComputeMillis() {
+            return computeMillis;
+        }
+
+        public long ageMillis() {
+            return System.currentTimeMillis() - computedAtMillis;
+        }
+    }
+}
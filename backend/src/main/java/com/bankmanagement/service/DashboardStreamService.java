@@ -0,0 +1,297 @@
+package com.bankmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live dashboard feed over Server-Sent Events.
+ *
+ * Subscribers get the full counter snapshot on connect, then "delta" events carrying the new
+ * value and the change of every figure that moved. Changes are coalesced: one tick every
+ * 1000 / dashboard.stream.max-pushes-per-second ms reads the in-memory counters, serializes a
+ * single event and queues it for every client, so open dashboards cost no database queries.
+ * Writes happen on dashboardStreamExecutor, one drain at a time per client so its events stay in
+ * order; a client that falls more than dashboard.stream.max-pending-events behind is disconnected.
+ */
+@Service
+public class DashboardStreamService {
+    private static final Logger log = LoggerFactory.getLogger(DashboardStreamService.class);
+
+    private static final Map<String, String> CHANGE_KINDS = Map.of(
+        "totalTransactions", "transaction",
+        "monthlyTransactions", "transaction",
+        "totalBalance", "balance",
+        "totalAccounts", "account",
+        "activeAccounts", "account",
+        "totalCustomers", "customer",
+        "activeCustomers", "customer");
+
+    @Autowired
+    private EntityCounterService entityCounterService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("schedulerExecutor")
+    private ThreadPoolTaskScheduler schedulerExecutor;
+
+    @Autowired
+    @Qualifier("dashboardStreamExecutor")
+    private Executor dashboardStreamExecutor;
+
+    @Value("${dashboard.stream.max-pushes-per-second:2}")
+    private int maxPushesPerSecond;
+
+    @Value("${dashboard.stream.max-clients:1000}")
+    private int maxClients;
+
+    @Value("${dashboard.stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${dashboard.stream.heartbeat-ms:20000}")
+    private long heartbeatMillis;
+
+    @Value("${dashboard.stream.max-pending-events:32}")
+    private int maxPendingEvents;
+
+    private final Map<SseEmitter, Client> clients = new ConcurrentHashMap<>();
+    private final AtomicLong eventSequence = new AtomicLong();
+    private final AtomicLong pushes = new AtomicLong();
+    private final AtomicLong slowClientsDropped = new AtomicLong();
+    private ScheduledFuture<?> ticker;
+
+    // Figures the last event brought clients to; seeded by subscribe() when no client was connected
+    private final AtomicReference<Map<String, Object>> lastPushed = new AtomicReference<>();
+    // Only touched by the tick
+    private long lastVersion = -1;
+    private long lastSentAtMillis = System.currentTimeMillis();
+
+    @PostConstruct
+    public void start() {
+        long intervalMillis = Math.max(1, 1000 / Math.max(1, maxPushesPerSecond));
+        ticker = schedulerExecutor.scheduleAtFixedRate(this::tick, Duration.ofMillis(intervalMillis));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.cancel(false);
+        }
+        clients.keySet().forEach(SseEmitter::complete);
+        clients.clear();
+    }
+
+    /**
+     * Register a client and send it the current figures
+     *
+     * @throws IllegalStateException when the client limit is reached
+     */
+    public SseEmitter subscribe() {
+        if (clients.size() >= maxClients) {
+            throw new IllegalStateException("Too many dashboard streams open (" + maxClients + ")");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitter.onCompletion(() -> clients.remove(emitter));
+        emitter.onTimeout(() -> clients.remove(emitter));
+        emitter.onError(error -> clients.remove(emitter));
+
+        Map<String, Object> counters = entityCounterService.getSnapshot();
+        Map<String, Object> snapshot = new HashMap<>(counters);
+        snapshot.put("at", LocalDateTime.now());
+        try {
+            emitter.send(SseEmitter.event()
+                .id(String.valueOf(eventSequence.get()))
+                .name("snapshot")
+                .data(objectMapper.writeValueAsString(snapshot), MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        clients.put(emitter, new Client(emitter));
+        // Changes after this snapshot go out in the next delta
+        lastPushed.compareAndSet(null, counters);
+        return emitter;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("clients", clients.size());
+        status.put("maxClients", maxClients);
+        status.put("maxPushesPerSecond", maxPushesPerSecond);
+        status.put("eventsPublished", eventSequence.get());
+        status.put("pushes", pushes.get());
+        status.put("slowClientsDropped", slowClientsDropped.get());
+        return status;
+    }
+
+    private void tick() {
+        try {
+            Map<String, Object> previousPush = lastPushed.get();
+            if (clients.isEmpty()) {
+                // Unless a subscriber seeded it meanwhile
+                lastPushed.compareAndSet(previousPush, null);
+                return;
+            }
+            long version = entityCounterService.getVersion();
+            if (previousPush != null && version == lastVersion) {
+                if (System.currentTimeMillis() - lastSentAtMillis >= heartbeatMillis) {
+                    broadcast(SseEmitter.event().comment("heartbeat"));
+                }
+                return;
+            }
+            Map<String, Object> current = entityCounterService.getSnapshot();
+            lastVersion = version;
+            if (previousPush == null) {
+                lastPushed.set(current);
+                return;
+            }
+
+            Map<String, Object> changes = new HashMap<>();
+            Set<String> kinds = new TreeSet<>();
+            for (Map.Entry<String, Object> entry : current.entrySet()) {
+                Object previous = previousPush.get(entry.getKey());
+                if (sameValue(previous, entry.getValue())) {
+                    continue;
+                }
+                Map<String, Object> change = new HashMap<>();
+                change.put("value", entry.getValue());
+                change.put("delta", difference(entry.getValue(), previous));
+                changes.put(entry.getKey(), change);
+                kinds.add(CHANGE_KINDS.getOrDefault(entry.getKey(), "other"));
+            }
+            lastPushed.set(current);
+            if (changes.isEmpty()) {
+                return;
+            }
+
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("changes", changes);
+            payload.put("kinds", kinds);
+            payload.put("at", LocalDateTime.now());
+            // Serialized once for every client
+            String json = objectMapper.writeValueAsString(payload);
+            broadcast(SseEmitter.event()
+                .id(String.valueOf(eventSequence.incrementAndGet()))
+                .name("delta")
+                .data(json, MediaType.APPLICATION_JSON));
+        } catch (JsonProcessingException e) {
+            log.error("❌ Failed to serialize dashboard delta: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("❌ Dashboard stream tick failed: {}", e.getMessage());
+        }
+    }
+
+    private void broadcast(SseEmitter.SseEventBuilder event) {
+        lastSentAtMillis = System.currentTimeMillis();
+        // Built once: the builder is not reusable and the frame is identical for every client
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = event.build();
+        for (Client client : clients.values()) {
+            client.enqueue(frame);
+        }
+    }
+
+    /**
+     * Events not yet written to one client, drained by at most one executor task at a time
+     */
+    private final class Client {
+        private final SseEmitter emitter;
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Client(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            if (pendingCount.incrementAndGet() > maxPendingEvents) {
+                slowClientsDropped.incrementAndGet();
+                drop();
+                return;
+            }
+            pending.add(frame);
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    dashboardStreamExecutor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                    drop();
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                while ((frame = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    try {
+                        emitter.send(frame);
+                        pushes.incrementAndGet();
+                    } catch (IOException | IllegalStateException e) {
+                        // Disconnected client; the container completes the emitter
+                        clients.remove(emitter);
+                        return;
+                    }
+                }
+                draining.set(false);
+                // An event queued after the last poll but before the flag was cleared is drained here
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void drop() {
+            if (clients.remove(emitter) != null) {
+                emitter.complete();
+            }
+        }
+    }
+
+    private static boolean sameValue(Object previous, Object current) {
+        if (previous instanceof BigDecimal && current instanceof BigDecimal) {
+            return ((BigDecimal) previous).compareTo((BigDecimal) current) == 0;
+        }
+        return previous != null && previous.equals(current);
+    }
+
+    private static Object difference(Object current, Object previous) {
+        if (!(current instanceof Number) || !(previous instanceof Number)) {
+            return null;
+        }
+        if (current instanceof BigDecimal || previous instanceof BigDecimal) {
+            return new BigDecimal(current.toString()).subtract(new BigDecimal(previous.toString()));
+        }
+        return ((Number) current).longValue() - ((Number) previous).longValue();
+    }
+}
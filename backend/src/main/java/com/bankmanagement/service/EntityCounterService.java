@@ -0,0 +1,389 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.config.ReplicaRoutingDataSource;
+import com.bankmanagement.model.Account;
+import com.bankmanagement.model.Customer;
+import com.bankmanagement.model.Transaction;
+import com.bankmanagement.repository.AccountRepository;
+import com.bankmanagement.repository.CustomerRepository;
+import com.bankmanagement.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Incrementally maintained entity counters for the health check and dashboard.
+ *
+ * CRUD and posting paths report deltas, which are applied in memory once their DB transaction
+ * commits, so reads never touch the database. Each node keeps its own counters; a periodic
+ * reconciliation reloads them from one repeatable-read snapshot and re-applies the deltas that
+ * committed after the snapshot was taken, which corrects drift (including writes made by other nodes).
+ */
+@Service
+public class EntityCounterService {
+    private static final Logger log = LoggerFactory.getLogger(EntityCounterService.class);
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate snapshotTransactionTemplate;
+
+    private final Counts counts = new Counts();
+    private Counts reconcileDeltas;
+    private boolean reconciling = false;
+    private YearMonth currentMonth = YearMonth.now();
+    private volatile boolean initialized = false;
+    private volatile LocalDateTime lastReconciledAt;
+    private volatile Map<String, Object> lastCorrection = new HashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    public EntityCounterService(PlatformTransactionManager transactionManager) {
+        this.snapshotTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTransactionTemplate.setReadOnly(true);
+        this.snapshotTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    public void recordCustomerCreated(Customer customer) {
+        Counts delta = new Counts();
+        delta.customers = 1;
+        delta.activeCustomers = Boolean.TRUE.equals(customer.getIsActive()) ? 1 : 0;
+        afterCommit(delta);
+    }
+
+    public void recordCustomerActiveChanged(boolean wasActive, boolean isActive) {
+        if (wasActive == isActive) {
+            return;
+        }
+        Counts delta = new Counts();
+        delta.activeCustomers = isActive ? 1 : -1;
+        afterCommit(delta);
+    }
+
+    public void recordCustomerDeleted(boolean wasActive) {
+        Counts delta = new Counts();
+        delta.customers = -1;
+        delta.activeCustomers = wasActive ? -1 : 0;
+        afterCommit(delta);
+    }
+
+    public void recordAccountCreated(Account account) {
+        Counts delta = new Counts();
+        delta.accounts = 1;
+        delta.activeAccounts = isActive(account.getStatus()) ? 1 : 0;
+        delta.activeBalance = activeBalance(account.getStatus(), account.getBalance());
+        afterCommit(delta);
+    }
+
+    public void recordAccountUpdated(Account.AccountStatus previousStatus, BigDecimal previousBalance, Account updated) {
+        Counts delta = new Counts();
+        delta.activeAccounts = (isActive(updated.getStatus()) ? 1 : 0) - (isActive(previousStatus) ? 1 : 0);
+        delta.activeBalance = activeBalance(updated.getStatus(), updated.getBalance())
+            .subtract(activeBalance(previousStatus, previousBalance));
+        afterCommit(delta);
+    }
+
+    public void recordAccountDeleted(Account.AccountStatus status, BigDecimal balance) {
+        Counts delta = new Counts();
+        delta.accounts = -1;
+        delta.activeAccounts = isActive(status) ? -1 : 0;
+        delta.activeBalance = activeBalance(status, balance).negate();
+        afterCommit(delta);
+    }
+
+    /**
+     * Record a balance change made without a posting (recalculation, payment processor transfers)
+     */
+    public void recordAccountBalanceChange(Account account, BigDecimal balanceDelta) {
+        recordAccountBalanceChange(account.getStatus(), balanceDelta);
+    }
+
+    public void recordAccountBalanceChange(Account.AccountStatus status, BigDecimal balanceDelta) {
+        if (balanceDelta == null || balanceDelta.signum() == 0 || !isActive(status)) {
+            return;
+        }
+        Counts delta = new Counts();
+        delta.activeBalance = balanceDelta;
+        afterCommit(delta);
+    }
+
+    /**
+     * Record a posting saved in the current transaction; affected accounts are read from the
+     * persistence context the posting path has already loaded them into.
+     */
+    public void recordPosting(Transaction transaction) {
+        Counts delta = new Counts();
+        delta.transactions = 1;
+        delta.monthlyTransactions = inCurrentMonth(transaction.getTransactionDate()) ? 1 : 0;
+        BigDecimal amount = transaction.getAmount();
+        switch (transaction.getTransactionType()) {
+            case DEPOSIT:
+            case INTEREST_CREDIT:
+                delta.activeBalance = activeAmount(transaction.getAccountId(), amount);
+                break;
+            case WITHDRAWAL:
+                delta.activeBalance = activeAmount(transaction.getAccountId(), amount.negate());
+                break;
+            case TRANSFER:
+                delta.activeBalance = activeAmount(transaction.getAccountId(), amount.negate());
+                if (transaction.getDestinationAccountId() != null) {
+                    delta.activeBalance = delta.activeBalance.add(activeAmount(transaction.getDestinationAccountId(), amount));
+                }
+                break;
+        }
+        afterCommit(delta);
+    }
+
+    /**
+     * Record interest credits to accounts that were selected as ACTIVE
+     */
+    public void recordCredits(List<Transaction> credits) {
+        if (credits.isEmpty()) {
+            return;
+        }
+        Counts delta = new Counts();
+        for (Transaction credit : credits) {
+            delta.transactions++;
+            delta.monthlyTransactions += inCurrentMonth(credit.getTransactionDate()) ? 1 : 0;
+            delta.activeBalance = delta.activeBalance.add(credit.getAmount());
+        }
+        afterCommit(delta);
+    }
+
+    /**
+     * Record transactions removed from the hot table (deleted or archived); balances are unchanged
+     */
+    public void recordTransactionsRemoved(long removed, long removedFromCurrentMonth) {
+        if (removed == 0) {
+            return;
+        }
+        Counts delta = new Counts();
+        delta.transactions = -removed;
+        delta.monthlyTransactions = -removedFromCurrentMonth;
+        afterCommit(delta);
+    }
+
+    /**
+     * Current counter values, loading them from the database on first use
+     */
+    public Map<String, Object> getSnapshot() {
+        if (!initialized) {
+            reconcile();
+        }
+        Map<String, Object> snapshot = new HashMap<>();
+        synchronized (this) {
+            rollMonth();
+            snapshot.put("totalCustomers", counts.customers);
+            snapshot.put("activeCustomers", counts.activeCustomers);
+            snapshot.put("totalAccounts", counts.accounts);
+            snapshot.put("activeAccounts", counts.activeAccounts);
+            snapshot.put("totalBalance", counts.activeBalance);
+            snapshot.put("totalTransactions", counts.transactions);
+            snapshot.put("monthlyTransactions", counts.monthlyTransactions);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Reload every counter from one database snapshot, keeping deltas committed meanwhile.
+     * Runs on every node because the counters live in each node's memory.
+     */
+    @Scheduled(fixedDelayString = "${counters.reconcile-interval-ms:300000}", initialDelayString = "${counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        synchronized (this) {
+            if (reconciling) {
+                return;
+            }
+            reconciling = true;
+        }
+        try {
+            YearMonth month = YearMonth.now();
+            // Compared with the deltas of commits on the primary, so never read from a replica
+            Counts loaded = ReplicaRoutingDataSource.onPrimary(() -> snapshotTransactionTemplate.execute(status -> {
+                // The first read fixes the snapshot. Deltas applied before it are already in the counts below,
+                // so only those applied from here on are kept. A commit whose callback straddles this point
+                // is counted twice until the next reconcile.
+                jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+                synchronized (this) {
+                    reconcileDeltas = new Counts();
+                }
+                Counts db = new Counts();
+                db.customers = customerRepository.count();
+                db.activeCustomers = customerRepository.countByIsActiveTrue();
+                db.accounts = accountRepository.count();
+                db.activeAccounts = accountRepository.countByStatus(Account.AccountStatus.ACTIVE);
+                BigDecimal balance = accountRepository.getTotalBalance();
+                db.activeBalance = balance != null ? balance : BigDecimal.ZERO;
+                db.transactions = transactionRepository.count();
+                db.monthlyTransactions = transactionRepository.countByTransactionDateAfter(month.atDay(1).atStartOfDay());
+                return db;
+            }));
+
+            synchronized (this) {
+                loaded.add(reconcileDeltas);
+                if (initialized) {
+                    lastCorrection = loaded.difference(counts);
+                    if (!lastCorrection.isEmpty()) {
+                        log.info("🔢 Counter drift corrected: {}", lastCorrection);
+                    }
+                }
+                counts.set(loaded);
+                version.incrementAndGet();
+                currentMonth = month;
+                initialized = true;
+                lastReconciledAt = LocalDateTime.now();
+            }
+        } catch (Exception e) {
+            log.error("❌ Counter reconciliation failed: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                reconcileDeltas = null;
+                reconciling = false;
+            }
+        }
+    }
+
+    /**
+     * Increases whenever a delta is applied or the counters are reloaded, so readers can skip unchanged values
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("initialized", initialized);
+        status.put("lastReconciledAt", lastReconciledAt);
+        status.put("lastCorrection", lastCorrection);
+        return status;
+    }
+
+    private synchronized void apply(Counts delta) {
+        rollMonth();
+        counts.add(delta);
+        version.incrementAndGet();
+        if (reconcileDeltas != null) {
+            reconcileDeltas.add(delta);
+        }
+    }
+
+    // A new month starts the monthly counter from zero
+    private void rollMonth() {
+        YearMonth now = YearMonth.now();
+        if (!now.equals(currentMonth)) {
+            currentMonth = now;
+            counts.monthlyTransactions = 0;
+        }
+    }
+
+    private void afterCommit(Counts delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(delta);
+                }
+            });
+        } else {
+            apply(delta);
+        }
+    }
+
+    private BigDecimal activeAmount(Long accountId, BigDecimal amount) {
+        return accountRepository.findById(accountId)
+            .filter(account -> isActive(account.getStatus()))
+            .map(account -> amount)
+            .orElse(BigDecimal.ZERO);
+    }
+
+    private static boolean inCurrentMonth(LocalDateTime date) {
+        return date == null || YearMonth.from(date).equals(YearMonth.now());
+    }
+
+    private static boolean isActive(Account.AccountStatus status) {
+        return status == Account.AccountStatus.ACTIVE;
+    }
+
+    private static BigDecimal activeBalance(Account.AccountStatus status, BigDecimal balance) {
+        return isActive(status) && balance != null ? balance : BigDecimal.ZERO;
+    }
+
+    /**
+     * Counter values, also used as a delta
+     */
+    private static final class Counts {
+        private long customers;
+        private long activeCustomers;
+        private long accounts;
+        private long activeAccounts;
+        private BigDecimal activeBalance = BigDecimal.ZERO;
+        private long transactions;
+        private long monthlyTransactions;
+
+        void add(Counts delta) {
+            customers += delta.customers;
+            activeCustomers += delta.activeCustomers;
+            accounts += delta.accounts;
+            activeAccounts += delta.activeAccounts;
+            activeBalance = activeBalance.add(delta.activeBalance);
+            transactions += delta.transactions;
+            monthlyTransactions += delta.monthlyTransactions;
+        }
+
+        void set(Counts other) {
+            customers = other.customers;
+            activeCustomers = other.activeCustomers;
+            accounts = other.accounts;
+            activeAccounts = other.activeAccounts;
+            activeBalance = other.activeBalance;
+            transactions = other.transactions;
+            monthlyTransactions = other.monthlyTransactions;
+        }
+
+        // Non-zero differences between these (reconciled) values and the in-memory ones
+        Map<String, Object> difference(Counts current) {
+            Map<String, Object> diff = new HashMap<>();
+            putIfNonZero(diff, "totalCustomers", customers - current.customers);
+            putIfNonZero(diff, "activeCustomers", activeCustomers - current.activeCustomers);
+            putIfNonZero(diff, "totalAccounts", accounts - current.accounts);
+            putIfNonZero(diff, "activeAccounts", activeAccounts - current.activeAccounts);
+            BigDecimal balanceDiff = activeBalance.subtract(current.activeBalance);
+            if (balanceDiff.signum() != 0) {
+                diff.put("totalBalance", balanceDiff);
+            }
+            putIfNonZero(diff, "totalTransactions", transactions - current.transactions);
+            putIfNonZero(diff, "monthlyTransactions", monthlyTransactions - current.monthlyTransactions);
+            return diff;
+        }
+
+        private static void putIfNonZero(Map<String, Object> diff, String key, long value) {
+            if (value != 0) {
+                diff.put(key, value);
+            }
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.model.Account;
+import com.bankmanagement.model.Transaction;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Full extracts of transactions and accounts as CSV or NDJSON.
+ *
+ * Rows are read from a forward-only cursor with export.fetch-size rows per round trip and written
+ * straight to the response as they arrive, flushing every export.flush-rows rows. Nothing is
+ * collected, so heap use does not depend on the size of the extract and the first bytes go out
+ * as soon as the first fetch returns.
+ */
+@Service
+public class ExportService {
+    private static final Logger log = LoggerFactory.getLogger(ExportService.class);
+
+    private static final List<Column> TRANSACTION_COLUMNS = List.of(
+        new Column("transactionId", rs -> rs.getLong("transaction_id")),
+        new Column("transactionDate", rs -> timestamp(rs, "transaction_date")),
+        new Column("transactionType", rs -> rs.getString("transaction_type")),
+        new Column("amount", rs -> rs.getBigDecimal("amount")),
+        new Column("accountId", rs -> rs.getLong("account_id")),
+        new Column("accountNumber", rs -> rs.getString("account_number")),
+        new Column("destinationAccountId", rs -> nullableLong(rs, "destination_account_id")),
+        new Column("destinationAccountNumber", rs -> rs.getString("destination_account_number")),
+        new Column("description", rs -> rs.getString("description")));
+
+    private static final List<Column> ACCOUNT_COLUMNS = List.of(
+        new Column("accountId", rs -> rs.getLong("account_id")),
+        new Column("accountNumber", rs -> rs.getString("account_number")),
+        new Column("customerId", rs -> rs.getLong("customer_id")),
+        new Column("accountType", rs -> rs.getString("account_type")),
+        new Column("status", rs -> rs.getString("status")),
+        new Column("balance", rs -> rs.getBigDecimal("balance")),
+        new Column("interestRate", rs -> rs.getBigDecimal("interest_rate")),
+        new Column("createdAt", rs -> timestamp(rs, "created_at")));
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${export.flush-rows:1000}")
+    private int flushRows;
+
+    public ExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                         @Value("${export.fetch-size:1000}") int fetchSize) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    public enum Format {
+        CSV("text/csv;charset=UTF-8", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * @throws IllegalArgumentException for anything but csv or ndjson
+         */
+        public static Format parse(String format) {
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + format + " (expected csv or ndjson)");
+            }
+        }
+    }
+
+    /**
+     * Stream transactions in id order, optionally limited to a date range, a type, or both legs of one account
+     *
+     * @return number of rows written
+     */
+    public long exportTransactions(Format format, LocalDateTime from, LocalDateTime to,
+                                   Transaction.TransactionType type, Long accountId, OutputStream out) {
+        StringBuilder sql = new StringBuilder(
+            "SELECT t.transaction_id, t.transaction_date, t.transaction_type, t.amount, t.account_id, " +
+            "a.account_number, t.destination_account_id, da.account_number AS destination_account_number, " +
+            "t.description FROM transactions t " +
+            "LEFT JOIN accounts a ON a.account_id = t.account_id " +
+            "LEFT JOIN accounts da ON da.account_id = t.destination_account_id WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (from != null) {
+            sql.append(" AND t.transaction_date >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND t.transaction_date < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        if (type != null) {
+            sql.append(" AND t.transaction_type = ?");
+            args.add(type.name());
+        }
+        if (accountId != null) {
+            sql.append(" AND (t.account_id = ? OR t.destination_account_id = ?)");
+            args.add(accountId);
+            args.add(accountId);
+        }
+        sql.append(" ORDER BY t.transaction_id");
+        return stream("transactions", sql.toString(), args, TRANSACTION_COLUMNS, format, out);
+    }
+
+    /**
+     * Stream accounts in id order, optionally filtered by customer, status and type
+     *
+     * @return number of rows written
+     */
+    public long exportAccounts(Format format, Long customerId, Account.AccountStatus status,
+                               Account.AccountType type, OutputStream out) {
+        StringBuilder sql = new StringBuilder(
+            "SELECT a.account_id, a.account_number, a.customer_id, a.account_type, a.status, a.balance, " +
+            "a.interest_rate, a.created_at FROM accounts a WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (customerId != null) {
+            sql.append(" AND a.customer_id = ?");
+            args.add(customerId);
+        }
+        if (status != null) {
+            sql.append(" AND a.status = ?");
+            args.add(status.name());
+        }
+        if (type != null) {
+            sql.append(" AND a.account_type = ?");
+            args.add(type.name());
+        }
+        sql.append(" ORDER BY a.account_id");
+        return stream("accounts", sql.toString(), args, ACCOUNT_COLUMNS, format, out);
+    }
+
+    private long stream(String name, String sql, List<Object> args, List<Column> columns, Format format, OutputStream out) {
+        long startTime = System.currentTimeMillis();
+        long[] rows = {0};
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        try {
+            RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer, columns) : new NdjsonRowWriter(writer, columns);
+            rowWriter.begin();
+            writer.flush();
+
+            // Read-only transaction keeps the connection out of autocommit so PostgreSQL honours the fetch size
+            readOnlyTransactionTemplate.execute(status -> {
+                streamingJdbcTemplate.query(sql, rs -> {
+                    try {
+                        rowWriter.write(rs);
+                        if (++rows[0] % flushRows == 0) {
+                            rowWriter.flush();
+                            writer.flush();
+                        }
+                    } catch (IOException e) {
+                        // Client went away: abandon the cursor rather than read the rest of the table
+                        throw new UncheckedIOException(e);
+                    }
+                }, args.toArray());
+                return null;
+            });
+
+            rowWriter.flush();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("📤 Exported {} {} rows as {} in {} ms", rows[0], name, format, System.currentTimeMillis() - startTime);
+        return rows[0];
+    }
+
+    private static String timestamp(ResultSet rs, String column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value != null ? value.toLocalDateTime().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null;
+    }
+
+    private static Long nullableLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    @FunctionalInterface
+    private interface ColumnReader {
+        Object read(ResultSet rs) throws SQLException;
+    }
+
+    private record Column(String name, ColumnReader reader) {
+    }
+
+    private interface RowWriter {
+        void begin() throws IOException;
+
+        void write(ResultSet rs) throws IOException, SQLException;
+
+        void flush() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private final List<Column> columns;
+
+        CsvRowWriter(Writer writer, List<Column> columns) {
+            this.writer = writer;
+            this.columns = columns;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(columns.get(i).name());
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws IOException, SQLException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = columns.get(i).reader().read(rs);
+                if (value instanceof BigDecimal) {
+                    writer.write(((BigDecimal) value).toPlainString());
+                } else if (value instanceof String) {
+                    writeText((String) value);
+                } else if (value != null) {
+                    writer.write(value.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() {
+            // Writes go straight to the shared writer
+        }
+
+        private void writeText(String value) throws IOException {
+            writer.write(csvText(value));
+        }
+    }
+
+    /**
+     * A free-text CSV field, quoted when needed
+     */
+    static String csvText(String value) {
+        // Free text that a spreadsheet would evaluate as a formula is prefixed with a quote
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        private final List<Column> columns;
+
+        NdjsonRowWriter(Writer writer, List<Column> columns) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.setRootValueSeparator(null);
+            // The shared writer is flushed and closed by the caller
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.columns = columns;
+        }
+
+        @Override
+        public void begin() {
+            // No header line
+        }
+
+        @Override
+        public void write(ResultSet rs) throws IOException, SQLException {
+            generator.writeStartObject();
+            for (Column column : columns) {
+                Object value = column.reader().read(rs);
+                generator.writeFieldName(column.name());
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof BigDecimal) {
+                    generator.writeNumber((BigDecimal) value);
+                } else if (value instanceof Long) {
+                    generator.writeNumber((Long) value);
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.model.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Interest accrual with periodic posting.
+ *
+ * Each accrual run adds time-proportional interest (balance * rate * elapsed / year) at
+ * ten decimal places to a per-account accumulator, checkpointed to interest_accruals with
+ * batched statements. Real INTEREST_CREDIT postings are only written on the posting cadence,
+ * for whole cents; the sub-cent remainder carries forward. Because accrual is driven by
+ * last_accrued_at, a run lost to a restart is caught up by the next one (bounded by
+ * interest.accrual.max-catch-up-seconds).
+ *
+ * Runs hold the interest-accrual or interest-posting lease, which may move between nodes, so
+ * every run reloads the accumulators and writes increments rather than absolute amounts. An
+ * accrual only applies if last_accrued_at is still what the run read, so an interval is never
+ * accrued twice.
+ */
+@Service
+public class InterestAccrualService {
+    private static final Logger log = LoggerFactory.getLogger(InterestAccrualService.class);
+
+    private static final BigDecimal MILLIS_PER_YEAR = BigDecimal.valueOf(365L * 24 * 60 * 60 * 1000);
+    private static final int ACCRUAL_SCALE = 10;
+
+    public static final String ACCRUAL_JOB = "interest-accrual";
+    public static final String POSTING_JOB = "interest-posting";
+
+    private static final String ACCRUE_SQL =
+        "UPDATE interest_accruals SET accrued_amount = accrued_amount + ?, last_accrued_at = ? " +
+        "WHERE account_id = ? AND last_accrued_at = ?";
+
+    private static final String POST_SQL =
+        "UPDATE interest_accruals SET accrued_amount = accrued_amount - ?, last_posted_at = ? WHERE account_id = ?";
+
+    private static final String INSERT_CHECKPOINT_SQL =
+        "INSERT INTO interest_accruals (accrued_amount, last_accrued_at, last_posted_at, account_id) " +
+        "VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private InterestEngineService interestEngineService;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Value("${interest.chunk-size:1000}")
+    private int chunkSize;
+
+    // Accrual period assumed for an account seen for the first time
+    @Value("${interest.accrual.initial-period-seconds:900}")
+    private long initialPeriodSeconds;
+
+    @Value("${interest.accrual.max-catch-up-seconds:86400}")
+    private long maxCatchUpSeconds;
+
+    private final ConcurrentSkipListMap<Long, Accumulator> accumulators = new ConcurrentSkipListMap<>();
+    private final ReentrantLock runLock = new ReentrantLock();
+    private volatile boolean loaded = false;
+    private volatile LocalDateTime lastAccrualAt;
+    private volatile LocalDateTime lastPostingAt;
+
+    /**
+     * Accrue interest for every eligible savings account and checkpoint it chunk by chunk
+     */
+    public Map<String, Object> accrue() {
+        runLock.lock();
+        try {
+            reload();
+            long startTime = System.currentTimeMillis();
+            LocalDateTime now = LocalDateTime.now();
+            long lastAccountId = 0L;
+            long accountsAccrued = 0;
+            BigDecimal totalAccrued = BigDecimal.ZERO;
+
+            while (true) {
+                List<InterestEngineService.EligibleAccount> chunk = interestEngineService.selectEligibleChunk(lastAccountId);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                lastAccountId = chunk.get(chunk.size() - 1).getAccountId();
+
+                List<Object[]> increments = new ArrayList<>(chunk.size());
+                List<Accumulator> incremented = new ArrayList<>(chunk.size());
+                List<BigDecimal> interests = new ArrayList<>(chunk.size());
+                List<Object[]> inserts = new ArrayList<>();
+                List<Accumulator> inserted = new ArrayList<>();
+                for (InterestEngineService.EligibleAccount account : chunk) {
+                    Accumulator current = accumulators.get(account.getAccountId());
+                    LocalDateTime since = current != null ? current.lastAccruedAt : now.minusSeconds(initialPeriodSeconds);
+                    long elapsedMillis = Math.min(Duration.between(since, now).toMillis(), maxCatchUpSeconds * 1000);
+                    if (elapsedMillis <= 0) {
+                        continue;
+                    }
+                    BigDecimal interest = account.getBalance()
+                        .multiply(account.getInterestRate())
+                        .multiply(BigDecimal.valueOf(elapsedMillis))
+                        .divide(MILLIS_PER_YEAR, ACCRUAL_SCALE, RoundingMode.HALF_EVEN);
+                    BigDecimal accrued = (current != null ? current.accruedAmount : BigDecimal.ZERO).add(interest);
+                    Accumulator next = new Accumulator(account.getAccountId(), accrued, now,
+                        current != null ? current.lastPostedAt : null);
+                    if (current != null) {
+                        incremented.add(next);
+                        interests.add(interest);
+                        increments.add(new Object[] {
+                            interest, Timestamp.valueOf(now), account.getAccountId(), Timestamp.valueOf(since)
+                        });
+                    } else {
+                        inserted.add(next);
+                        inserts.add(next.toRow());
+                        totalAccrued = totalAccrued.add(interest);
+                    }
+                }
+
+                if (!increments.isEmpty() || !inserts.isEmpty()) {
+                    int[] counts = transactionTemplate.execute(status -> {
+                        jobLeaseService.renewWithinTransaction();
+                        if (!inserts.isEmpty()) {
+                            jdbcTemplate.batchUpdate(INSERT_CHECKPOINT_SQL, inserts);
+                        }
+                        return increments.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(ACCRUE_SQL, increments);
+                    });
+                    inserted.forEach(accumulator -> accumulators.put(accumulator.accountId, accumulator));
+                    accountsAccrued += inserted.size();
+                    for (int i = 0; i < counts.length; i++) {
+                        // Zero rows: another run accrued this interval since the reload. SUCCESS_NO_INFO (-2) counts as applied.
+                        if (counts[i] != 0) {
+                            accumulators.put(incremented.get(i).accountId, incremented.get(i));
+                            totalAccrued = totalAccrued.add(interests.get(i));
+                            accountsAccrued++;
+                        }
+                    }
+                }
+            }
+
+            lastAccrualAt = now;
+            Map<String, Object> result = new HashMap<>();
+            result.put("accountsAccrued", accountsAccrued);
+            result.put("interestAccrued", totalAccrued.setScale(ACCRUAL_SCALE, RoundingMode.HALF_EVEN));
+            result.put("durationMs", System.currentTimeMillis() - startTime);
+            result.put("accruedAt", now);
+            log.info("💰 Interest accrued for {} accounts ({}ms)", accountsAccrued, result.get("durationMs"));
+            return result;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Post whole cents of accrued interest as INTEREST_CREDIT transactions and carry the remainder
+     */
+    public Map<String, Object> postAccruedInterest() {
+        runLock.lock();
+        try {
+            reload();
+            long startTime = System.currentTimeMillis();
+            LocalDateTime now = LocalDateTime.now();
+            long accountsPosted = 0;
+            long orphansRemoved = 0;
+            BigDecimal totalPosted = BigDecimal.ZERO;
+            Long cursor = Long.MIN_VALUE;
+
+            while (true) {
+                List<Accumulator> chunk = new ArrayList<>(chunkSize);
+                for (Accumulator accumulator : accumulators.tailMap(cursor, false).values()) {
+                    chunk.add(accumulator);
+                    if (chunk.size() >= chunkSize) {
+                        break;
+                    }
+                }
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                cursor = chunk.get(chunk.size() - 1).accountId;
+
+                Set<Long> existing = existingAccountIds(chunk);
+                List<Transaction> postings = new ArrayList<>();
+                List<Accumulator> updated = new ArrayList<>();
+                List<Object[]> checkpoints = new ArrayList<>();
+                List<Long> orphans = new ArrayList<>();
+                for (Accumulator accumulator : chunk) {
+                    if (!existing.contains(accumulator.accountId)) {
+                        orphans.add(accumulator.accountId);
+                        continue;
+                    }
+                    BigDecimal amount = accumulator.accruedAmount.setScale(2, RoundingMode.DOWN);
+                    if (amount.signum() <= 0) {
+                        continue;
+                    }
+                    Transaction posting = new Transaction(accumulator.accountId,
+                        Transaction.TransactionType.INTEREST_CREDIT, amount, "Accrued interest credit", null);
+                    posting.setTransactionDate(now);
+                    postings.add(posting);
+
+                    Accumulator next = new Accumulator(accumulator.accountId,
+                        accumulator.accruedAmount.subtract(amount), accumulator.lastAccruedAt, now);
+                    updated.add(next);
+                    checkpoints.add(new Object[] {amount, Timestamp.valueOf(now), accumulator.accountId});
+                }
+
+                if (!postings.isEmpty() || !orphans.isEmpty()) {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        jobLeaseService.renewWithinTransaction();
+                        if (!postings.isEmpty()) {
+                            interestEngineService.postCredits(postings);
+                            jdbcTemplate.batchUpdate(POST_SQL, checkpoints);
+                        }
+                        if (!orphans.isEmpty()) {
+                            jdbcTemplate.batchUpdate("DELETE FROM interest_accruals WHERE account_id = ?",
+                                orphans, orphans.size(), (ps, accountId) -> ps.setLong(1, accountId));
+                        }
+                    });
+                    updated.forEach(accumulator -> accumulators.put(accumulator.accountId, accumulator));
+                    orphans.forEach(accumulators::remove);
+                    accountsPosted += postings.size();
+                    orphansRemoved += orphans.size();
+                    for (Transaction posting : postings) {
+                        totalPosted = totalPosted.add(posting.getAmount());
+                    }
+                }
+            }
+
+            lastPostingAt = now;
+            Map<String, Object> result = new HashMap<>();
+            result.put("accountsPosted", accountsPosted);
+            result.put("interestPosted", totalPosted);
+            result.put("orphanAccrualsRemoved", orphansRemoved);
+            result.put("durationMs", System.currentTimeMillis() - startTime);
+            result.put("postedAt", now);
+            log.info("💰 Accrued interest posted to {} accounts: ${} ({}ms)",
+                accountsPosted, totalPosted, result.get("durationMs"));
+            return result;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    public Map<String, Object> getSummary() {
+        BigDecimal totalAccrued = BigDecimal.ZERO;
+        for (Accumulator accumulator : accumulators.values()) {
+            totalAccrued = totalAccrued.add(accumulator.accruedAmount);
+        }
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("loaded", loaded);
+        summary.put("accounts", accumulators.size());
+        summary.put("totalAccrued", totalAccrued);
+        summary.put("lastAccrualAt", lastAccrualAt);
+        summary.put("lastPostingAt", lastPostingAt);
+        return summary;
+    }
+
+    public BigDecimal getAccruedInterest(Long accountId) {
+        Accumulator accumulator = accumulators.get(accountId);
+        return accumulator != null ? accumulator.accruedAmount : BigDecimal.ZERO;
+    }
+
+    /**
+     * Replace the accumulators with the checkpointed state, which another node may have moved on
+     */
+    private void reload() {
+        Map<Long, Accumulator> current = new HashMap<>();
+        jdbcTemplate.query(
+            "SELECT account_id, accrued_amount, last_accrued_at, last_posted_at FROM interest_accruals",
+            rs -> {
+                Timestamp lastPostedAt = rs.getTimestamp("last_posted_at");
+                long accountId = rs.getLong("account_id");
+                current.put(accountId, new Accumulator(accountId,
+                    rs.getBigDecimal("accrued_amount"),
+                    rs.getTimestamp("last_accrued_at").toLocalDateTime(),
+                    lastPostedAt != null ? lastPostedAt.toLocalDateTime() : null));
+            });
+        accumulators.keySet().retainAll(current.keySet());
+        accumulators.putAll(current);
+        if (!loaded) {
+            loaded = true;
+            log.info("💰 Loaded {} interest accumulators", accumulators.size());
+        }
+    }
+
+    private Set<Long> existingAccountIds(List<Accumulator> chunk) {
+        if (chunk.isEmpty()) {
+            return Collections.emptySet();
+        }
+        StringBuilder sql = new StringBuilder("SELECT account_id FROM accounts WHERE account_id IN (");
+        Object[] ids = new Object[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+            ids[i] = chunk.get(i).accountId;
+        }
+        sql.append(")");
+        return new HashSet<>(jdbcTemplate.queryForList(sql.toString(), Long.class, ids));
+    }
+
+    /**
+     * Immutable snapshot of one account's accrual state
+     */
+    private static final class Accumulator {
+        private final long accountId;
+        private final BigDecimal accruedAmount;
+        private final LocalDateTime lastAccruedAt;
+        private final LocalDateTime lastPostedAt;
+
+        Accumulator(long accountId, BigDecimal accruedAmount, LocalDateTime lastAccruedAt, LocalDateTime lastPostedAt) {
+            this.accountId = accountId;
+            this.accruedAmount = accruedAmount;
+            this.lastAccruedAt = lastAccruedAt;
+            this.lastPostedAt = lastPostedAt;
+        }
+
+        // Parameter order of the INSERT checkpoint statement
+        Object[] toRow() {
+            return new Object[] {
+                accruedAmount,
+                Timestamp.valueOf(lastAccruedAt),
+                lastPostedAt != null ? Timestamp.valueOf(lastPostedAt) : null,
+                accountId
+            };
+        }
+    }
+}
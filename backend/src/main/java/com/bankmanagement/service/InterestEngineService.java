@@ -0,0 +1,143 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.model.OutboxEvent;
+import com.bankmanagement.model.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based interest posting used by InterestAccrualService.
+ *
+ * Eligible savings accounts are selected in keyset-paginated chunks (account_id > lastId),
+ * and each chunk's INTEREST_CREDIT postings, balance updates and outbox rows are written with
+ * JDBC batches in the caller's DB transaction. Work is linear in the number of eligible
+ * accounts and never leaves the calling thread.
+ */
+@Service
+public class InterestEngineService {
+    private static final String SELECT_CHUNK_SQL =
+        "SELECT account_id, balance, interest_rate FROM accounts " +
+        "WHERE account_type = 'SAVINGS' AND status = 'ACTIVE' AND balance > 0 AND interest_rate > 0 " +
+        "AND account_id > ? ORDER BY account_id LIMIT ?";
+
+    private static final String INSERT_TRANSACTION_SQL =
+        "INSERT INTO transactions (account_id, transaction_type, amount, transaction_date, description) " +
+        "VALUES (?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_BALANCE_SQL =
+        "UPDATE accounts SET balance = balance + ? WHERE account_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private BalanceReconciliationService balanceReconciliationService;
+
+    @Autowired
+    private EntityCounterService entityCounterService;
+
+    @Autowired
+    private TableVersionService tableVersionService;
+
+    @Autowired
+    private TransactionSyncService transactionSyncService;
+
+    @Value("${interest.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Next keyset chunk of interest-bearing savings accounts after the given account id
+     */
+    public List<EligibleAccount> selectEligibleChunk(long afterAccountId) {
+        return jdbcTemplate.query(SELECT_CHUNK_SQL,
+            (rs, rowNum) -> new EligibleAccount(
+                rs.getLong("account_id"), rs.getBigDecimal("balance"), rs.getBigDecimal("interest_rate")),
+            afterAccountId, chunkSize);
+    }
+
+    /**
+     * Insert INTEREST_CREDIT postings, apply them to balances and write their outbox rows
+     * with one JDBC batch each. Must be called inside a DB transaction.
+     */
+    public void postCredits(List<Transaction> postings) {
+        Timestamp postedAt = Timestamp.valueOf(postings.get(0).getTransactionDate());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+            connection -> connection.prepareStatement(INSERT_TRANSACTION_SQL, new String[] {"transaction_id"}),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Transaction posting = postings.get(i);
+                    ps.setLong(1, posting.getAccountId());
+                    ps.setString(2, posting.getTransactionType().name());
+                    ps.setBigDecimal(3, posting.getAmount());
+                    ps.setTimestamp(4, postedAt);
+                    ps.setString(5, posting.getDescription());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return postings.size();
+                }
+            },
+            keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < postings.size(); i++) {
+            postings.get(i).setTransactionId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, postings, postings.size(), (ps, posting) -> {
+            ps.setBigDecimal(1, posting.getAmount());
+            ps.setLong(2, posting.getAccountId());
+        });
+
+        outboxService.recordPostingsBatch(postings, OutboxEvent.EventSource.INTEREST_ENGINE);
+        transactionSyncService.recordCreated(postings);
+        balanceReconciliationService.recordCredits(postings);
+        entityCounterService.recordCredits(postings);
+        tableVersionService.recordWrite(TableVersionService.Table.TRANSACTIONS, TableVersionService.Table.ACCOUNTS);
+    }
+
+    /**
+     * Minimal projection of an account eligible for interest
+     */
+    public static final class EligibleAccount {
+        private final long accountId;
+        private final BigDecimal balance;
+        private final BigDecimal interestRate;
+
+        EligibleAccount(long accountId, BigDecimal balance, BigDecimal interestRate) {
+            this.accountId = accountId;
+            this.balance = balance;
+            this.interestRate = interestRate;
+        }
+
+        public long getAccountId() {
+            return accountId;
+        }
+
+        public BigDecimal getBalance() {
+            return balance;
+        }
+
+        public BigDecimal getInterestRate() {
+            return interestRate;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.model.JobLease;
+import com.bankmanagement.repository.JobLeaseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * DB-backed leases that let each scheduled job run on exactly one node per tick.
+ *
+ * A node acquires a job by taking over its job_leases row once lease_until has passed, bumping
+ * the fencing token. On release the lease is kept until lockAtLeast after acquisition, so a
+ * node whose timer fires a little later in the same tick skips it. Long jobs call
+ * {@link #renewWithinTransaction()} inside each write transaction: it extends the lease and fails
+ * if the token has moved on, which keeps a stalled former owner from committing.
+ * Lease times come from node clocks, which are assumed to be NTP-synchronised.
+ */
+@Service
+public class JobLeaseService {
+    private static final Logger log = LoggerFactory.getLogger(JobLeaseService.class);
+
+    private static final String TAKE_OVER_SQL =
+        "UPDATE job_leases SET owner_id = ?, lease_until = ?, fencing_token = fencing_token + 1, " +
+        "acquired_at = ?, released_at = NULL WHERE job_name = ? AND lease_until <= ?";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO job_leases (job_name, owner_id, lease_until, fencing_token, acquired_at, run_count) " +
+        "VALUES (?, ?, ?, 1, ?, 0)";
+
+    private static final String RENEW_SQL =
+        "UPDATE job_leases SET lease_until = ? " +
+        "WHERE job_name = ? AND owner_id = ? AND fencing_token = ? AND lease_until > ?";
+
+    private static final String RELEASE_SQL =
+        "UPDATE job_leases SET lease_until = ?, released_at = ?, last_outcome = ?, run_count = run_count + 1 " +
+        "WHERE job_name = ? AND owner_id = ? AND fencing_token = ?";
+
+    private final ThreadLocal<Lease> currentLease = new ThreadLocal<>();
+    private final String instanceId;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Value("${job-lease.enabled:true}")
+    private boolean enabled;
+
+    public JobLeaseService(@Value("${job-lease.instance-id:}") String configuredInstanceId) {
+        this.instanceId = configuredInstanceId != null && !configuredInstanceId.isBlank()
+            ? configuredInstanceId
+            : hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Try to take the lease for a job. Empty if another node holds an unexpired lease.
+     *
+     * @param lockAtMost how long the lease lasts if this node dies without releasing it
+     */
+    public Optional<Lease> tryAcquire(String jobName, Duration lockAtMost) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!enabled) {
+            // Single-node mode: an unfenced local lease that is never written
+            return Optional.of(new Lease(jobName, instanceId, 0L, now, lockAtMost));
+        }
+        Timestamp until = Timestamp.valueOf(now.plus(lockAtMost));
+        Timestamp nowTs = Timestamp.valueOf(now);
+
+        Long token = transactionTemplate.execute(status -> {
+            int updated = jdbcTemplate.update(TAKE_OVER_SQL, instanceId, until, nowTs, jobName, nowTs);
+            if (updated == 0) {
+                return null;
+            }
+            return jdbcTemplate.queryForObject(
+                "SELECT fencing_token FROM job_leases WHERE job_name = ?", Long.class, jobName);
+        });
+
+        if (token == null) {
+            // First run of this job anywhere: create the row; losing the insert race means someone else has it
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.update(INSERT_SQL, jobName, instanceId, until, nowTs));
+                token = 1L;
+            } catch (DataIntegrityViolationException e) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(new Lease(jobName, instanceId, token, now, lockAtMost));
+    }
+
+    /**
+     * Release a lease, keeping it until lockAtLeast after acquisition.
+     *
+     * @return false if the lease had already been taken over by another owner
+     */
+    public boolean release(Lease lease, Duration lockAtLeast, String outcome) {
+        if (!enabled) {
+            return true;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime minimum = lease.getAcquiredAt().plus(lockAtLeast);
+        LocalDateTime until = minimum.isAfter(now) ? minimum : now;
+        String trimmedOutcome = outcome != null && outcome.length() > 255 ? outcome.substring(0, 255) : outcome;
+        Integer updated = transactionTemplate.execute(status -> jdbcTemplate.update(RELEASE_SQL,
+            Timestamp.valueOf(until), Timestamp.valueOf(now),
+            trimmedOutcome, lease.getJobName(), lease.getOwnerId(), lease.getFencingToken()));
+        if (updated == null || updated == 0) {
+            log.warn("⚠️ Lease for job {} (token {}) was lost before release", lease.getJobName(), lease.getFencingToken());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Run a job on this thread if the lease can be acquired; the lease is bound to the thread
+     * so the job's write transactions can call {@link #renewWithinTransaction()}.
+     *
+     * @return the job's result, or empty if another node holds the lease
+     */
+    public <T> Optional<T> runExclusive(String jobName, Duration lockAtMost, Duration lockAtLeast, Supplier<T> job) {
+        Optional<Lease> acquired = tryAcquire(jobName, lockAtMost);
+        if (acquired.isEmpty()) {
+            log.debug("⏭️ Skipping job {}: lease held by another node", jobName);
+            return Optional.empty();
+        }
+        Lease lease = acquired.get();
+        currentLease.set(lease);
+        String outcome = "FAILED";
+        try {
+            T result = job.get();
+            outcome = "COMPLETED";
+            return Optional.ofNullable(result);
+        } catch (RuntimeException e) {
+            outcome = "FAILED: " + e.getMessage();
+            throw e;
+        } finally {
+            currentLease.remove();
+            release(lease, lockAtLeast, outcome);
+        }
+    }
+
+    /**
+     * Extend the lease bound to the current thread and verify its fencing token, as part of the
+     * caller's DB transaction. The lease row stays locked until that transaction ends, so a
+     * takeover cannot interleave with the write. No-op when no lease is bound (manual runs).
+     *
+     * @throws LeaseLostException if another owner has taken the lease
+     */
+    public void renewWithinTransaction() {
+        Lease lease = currentLease.get();
+        if (lease == null || !enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int updated = jdbcTemplate.update(RENEW_SQL, Timestamp.valueOf(now.plus(lease.getLockAtMost())),
+            lease.getJobName(), lease.getOwnerId(), lease.getFencingToken(), Timestamp.valueOf(now));
+        if (updated == 0) {
+            throw new LeaseLostException("Lease for job " + lease.getJobName() + " with fencing token " +
+                lease.getFencingToken() + " is no longer held by " + lease.getOwnerId());
+        }
+    }
+
+    /**
+     * The lease bound to the current thread, if any, so it can be handed to worker threads
+     */
+    public Lease currentLease() {
+        return currentLease.get();
+    }
+
+    /**
+     * Bind a lease acquired on another thread (e.g. a job's driver thread) to this worker thread
+     */
+    public void bindLease(Lease lease) {
+        if (lease != null) {
+            currentLease.set(lease);
+        }
+    }
+
+    public void unbindLease() {
+        currentLease.remove();
+    }
+
+    public Map<String, Object> getStatus() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Map<String, Object>> jobs = new ArrayList<>();
+        for (JobLease lease : jobLeaseRepository.findAllByOrderByJobNameAsc()) {
+            Map<String, Object> job = new HashMap<>();
+            job.put("jobName", lease.getJobName());
+            job.put("owner", lease.getOwnerId());
+            job.put("fencingToken", lease.getFencingToken());
+            job.put("leaseUntil", lease.getLeaseUntil());
+            job.put("acquiredAt", lease.getAcquiredAt());
+            job.put("releasedAt", lease.getReleasedAt());
+            job.put("running", lease.getReleasedAt() == null && lease.getLeaseUntil().isAfter(now));
+            job.put("heldByThisInstance", instanceId.equals(lease.getOwnerId()) && lease.getLeaseUntil().isAfter(now));
+            job.put("lastOutcome", lease.getLastOutcome());
+            job.put("runCount", lease.getRunCount());
+            jobs.add(job);
+        }
+
+        Map<String, Object> status = new HashMap<>();
+        status.put("instanceId", instanceId);
+        status.put("enabled", enabled);
+        status.put("jobs", jobs);
+        return status;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+
+    /**
+     * A held lease: the fencing token identifies this acquisition
+     */
+    public static final class Lease {
+        private final String jobName;
+        private final String ownerId;
+        private final long fencingToken;
+        private final LocalDateTime acquiredAt;
+        private final Duration lockAtMost;
+
+        Lease(String jobName, String ownerId, long fencingToken, LocalDateTime acquiredAt, Duration lockAtMost) {
+            this.jobName = jobName;
+            this.ownerId = ownerId;
+            this.fencingToken = fencingToken;
+            this.acquiredAt = acquiredAt;
+            this.lockAtMost = lockAtMost;
+        }
+
+        public String getJobName() {
+            return jobName;
+        }
+
+        public String getOwnerId() {
+            return ownerId;
+        }
+
+        public long getFencingToken() {
+            return fencingToken;
+        }
+
+        public LocalDateTime getAcquiredAt() {
+            return acquiredAt;
+        }
+
+        public Duration getLockAtMost() {
+            return lockAtMost;
+        }
+    }
+
+    /**
+     * Thrown when a job's lease has been taken over while it was still running
+     */
+    public static class LeaseLostException extends IllegalStateException {
+        public LeaseLostException(String message) {
+            super(message);
+        }
+    }
+}
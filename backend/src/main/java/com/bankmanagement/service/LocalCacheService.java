@@ -0,0 +1,106 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.config.ReplicaRoutingDataSource;
+import com.bankmanagement.util.LocalCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Registry of the node-local cache regions.
+ *
+ * Caching is opt-in per entity: a service declares a region for the reference or slowly changing
+ * data it owns (roles, customers, account metadata) and evicts it on its own writes. Nothing that
+ * holds a balance is cached. Each region is sized and expired through
+ * cache.regions.&lt;name&gt;.enabled / ttl-ms / max-size; cache.local.enabled=false turns all of them off.
+ * Loaders read from the primary (see {@link #fromPrimary(Function)}), since a row read from a lagging
+ * replica right after an eviction would otherwise be served for the whole TTL.
+ */
+@Service
+public class LocalCacheService {
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${cache.local.enabled:true}")
+    private boolean cachingEnabled;
+
+    private final Map<String, LocalCache<?, ?>> regions = new ConcurrentHashMap<>();
+    private final TransactionTemplate primaryReadTransactionTemplate;
+
+    public LocalCacheService(PlatformTransactionManager transactionManager) {
+        this.primaryReadTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.primaryReadTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.primaryReadTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * The named region, created with the configured limits (or these defaults) on first use
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> LocalCache<K, V> region(String name, long defaultTtlMillis, int defaultMaxSize) {
+        return (LocalCache<K, V>) regions.computeIfAbsent(name, key -> {
+            String prefix = "cache.regions." + name + ".";
+            boolean enabled = cachingEnabled && environment.getProperty(prefix + "enabled", Boolean.class, true);
+            long ttlMillis = environment.getProperty(prefix + "ttl-ms", Long.class, defaultTtlMillis);
+            int maxSize = environment.getProperty(prefix + "max-size", Integer.class, defaultMaxSize);
+            return new LocalCache<>(name, enabled, ttlMillis, maxSize);
+        });
+    }
+
+    /**
+     * Wrap a region loader so it reads from the primary. Read-write transactions already use it; otherwise
+     * the loader runs in its own read-only transaction pinned to the primary, because the caller's
+     * transaction may already hold a replica connection.
+     */
+    public <K, V> Function<K, V> fromPrimary(Function<K, V> loader) {
+        return key -> {
+            if (TransactionSynchronizationManager.isActualTransactionActive() &&
+                !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                return loader.apply(key);
+            }
+            return ReplicaRoutingDataSource.onPrimary(() ->
+                primaryReadTransactionTemplate.execute(status -> loader.apply(key)));
+        };
+    }
+
+    public List<Map<String, Object>> getStats() {
+        List<LocalCache<?, ?>> sorted = new ArrayList<>(regions.values());
+        sorted.sort(Comparator.comparing(LocalCache::getName));
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (LocalCache<?, ?> region : sorted) {
+            stats.add(region.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * @return false if there is no such region
+     */
+    public boolean clear(String name) {
+        LocalCache<?, ?> region = regions.get(name);
+        if (region == null) {
+            return false;
+        }
+        region.clear();
+        return true;
+    }
+
+    public void clearAll() {
+        Collection<LocalCache<?, ?>> all = regions.values();
+        all.forEach(LocalCache::clear);
+    }
+}
@@ -0,0 +1,84 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.model.OutboxEvent;
+import com.bankmanagement.model.Transaction;
+import com.bankmanagement.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes posting outbox rows. MANDATORY propagation guarantees the row commits
+ * (or rolls back) together with the posting, or the deletion, that produced it.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public OutboxEvent recordPosting(Transaction transaction, OutboxEvent.EventSource source) {
+        return outboxEventRepository.save(eventFor(transaction, source, OutboxEvent.EventType.POSTED));
+    }
+
+    /**
+     * Record that a posting was deleted, so consumers take it back out of their views
+     */
+    public OutboxEvent recordReversal(Transaction transaction, OutboxEvent.EventSource source) {
+        return outboxEventRepository.save(eventFor(transaction, source, OutboxEvent.EventType.REVERSED));
+    }
+
+    /**
+     * Write outbox rows for already-inserted postings with a single JDBC batch
+     */
+    public void recordPostingsBatch(List<Transaction> transactions, OutboxEvent.EventSource source) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO posting_outbox (source, transaction_id, account_id, destination_account_id, " +
+            "transaction_type, amount, created_at, event_type, transaction_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            transactions, transactions.size(), (ps, transaction) -> {
+                ps.setString(1, source.name());
+                ps.setLong(2, transaction.getTransactionId());
+                ps.setLong(3, transaction.getAccountId());
+                ps.setObject(4, transaction.getDestinationAccountId(), Types.BIGINT);
+                ps.setString(5, transaction.getTransactionType().name());
+                ps.setBigDecimal(6, transaction.getAmount());
+                ps.setTimestamp(7, createdAt);
+                ps.setString(8, OutboxEvent.EventType.POSTED.name());
+                ps.setTimestamp(9, transaction.getTransactionDate() != null
+                    ? Timestamp.valueOf(transaction.getTransactionDate()) : null);
+            });
+    }
+
+    public OutboxEvent recordTransfer(Long fromAccountId, Long toAccountId, BigDecimal amount,
+                                      OutboxEvent.EventSource source) {
+        return outboxEventRepository.save(new OutboxEvent(
+            source, null, fromAccountId, toAccountId, Transaction.TransactionType.TRANSFER, amount));
+    }
+
+    private static OutboxEvent eventFor(Transaction transaction, OutboxEvent.EventSource source,
+                                        OutboxEvent.EventType eventType) {
+        OutboxEvent event = new OutboxEvent(
+            source,
+            transaction.getTransactionId(),
+            transaction.getAccountId(),
+            transaction.getDestinationAccountId(),
+            transaction.getTransactionType(),
+            transaction.getAmount());
+        event.setEventType(eventType);
+        event.setTransactionDate(transaction.getTransactionDate());
+        return event;
+    }
+}
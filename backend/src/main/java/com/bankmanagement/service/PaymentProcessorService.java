@@ -1,12 +1,14 @@
 package com.bankmanagement.service;
 
 import com.bankmanagement.model.Account;
+import com.bankmanagement.model.OutboxEvent;
 import com.bankmanagement.model.PaymentRequest;
 import com.bankmanagement.repository.AccountRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
@@ -31,6 +33,21 @@ public class PaymentProcessorService {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private BalanceReconciliationService balanceReconciliationService;
+
+    @Autowired
+    private EntityCounterService entityCounterService;
+
+    @Autowired
+    private TableVersionService tableVersionService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     // Thread pool for concurrent payment processing
     private ExecutorService executorService;
     private static final int THREAD_POOL_SIZE = 8;
@@ -203,28 +220,43 @@ public class PaymentProcessorService {
             }
 
             try {
-                // Fetch accounts
-                Account fromAccount = accountRepository.findById(request.getFromAccountId())
-                    .orElseThrow(() -> new RuntimeException("From account not found"));
-                Account toAccount = accountRepository.findById(request.getToAccountId())
-                    .orElseThrow(() -> new RuntimeException("To account not found"));
-
-                // Check sufficient funds
-                if (fromAccount.getBalance().compareTo(request.getAmount()) < 0) {
+                // Debit, credit and outbox row commit in a single DB transaction
+                Boolean transferred = transactionTemplate.execute(status -> {
+                    // Fetch accounts
+                    Account fromAccount = accountRepository.findById(request.getFromAccountId())
+                        .orElseThrow(() -> new RuntimeException("From account not found"));
+                    Account toAccount = accountRepository.findById(request.getToAccountId())
+                        .orElseThrow(() -> new RuntimeException("To account not found"));
+
+                    // Check sufficient funds
+                    if (fromAccount.getBalance().compareTo(request.getAmount()) < 0) {
+                        return false;
+                    }
+
+                    // Atomic debit and credit
+                    fromAccount.setBalance(fromAccount.getBalance().subtract(request.getAmount()));
+                    toAccount.setBalance(toAccount.getBalance().add(request.getAmount()));
+
+                    // Save accounts
+                    accountRepository.save(fromAccount);
+                    accountRepository.save(toAccount);
+                    outboxService.recordTransfer(fromAccount.getAccountId(), toAccount.getAccountId(),
+                        request.getAmount(), OutboxEvent.EventSource.PAYMENT_PROCESSOR);
+                    balanceReconciliationService.recordBalanceChange(fromAccount.getAccountId(), fromAccount.getBalance());
+                    balanceReconciliationService.recordBalanceChange(toAccount.getAccountId(), toAccount.getBalance());
+                    entityCounterService.recordAccountBalanceChange(fromAccount, request.getAmount().negate());
+                    entityCounterService.recordAccountBalanceChange(toAccount, request.getAmount());
+                    tableVersionService.recordWrite(TableVersionService.Table.ACCOUNTS);
+                    return true;
+                });
+
+                if (!Boolean.TRUE.equals(transferred)) {
                     request.setStatus(PaymentRequest.PaymentStatus.FAILED);
                     request.setErrorMessage("Insufficient funds");
                     failedCount.incrementAndGet();
                     return request;
                 }
 
-                // Atomic debit and credit
-                fromAccount.setBalance(fromAccount.getBalance().subtract(request.getAmount()));
-                toAccount.setBalance(toAccount.getBalance().add(request.getAmount()));
-
-                // Save accounts
-                accountRepository.save(fromAccount);
-                accountRepository.save(toAccount);
-
                 // Success
                 request.setStatus(PaymentRequest.PaymentStatus.SUCCESS);
                 request.setProcessedAt(LocalDateTime.now());
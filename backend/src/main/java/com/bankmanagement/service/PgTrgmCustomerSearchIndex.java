@@ -0,0 +1,116 @@
+package com.bankmanagement.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Customer search served by PostgreSQL's pg_trgm, for deployments with more than one node.
+ *
+ * Every term is a LIKE '%term%' on one normalized search text, which the GIN trigram index
+ * idx_customers_search_trgm answers without scanning the table; hits are ranked by trigram
+ * similarity to the whole query. The index is maintained by PostgreSQL, so writes need no hook.
+ * Terms shorter than three characters yield no trigrams and cannot use the index.
+ * The extension and index are created at startup when missing, since the schema script only runs
+ * against an empty database; that needs a role allowed to create the extension.
+ */
+@Service
+@ConditionalOnProperty(name = "customers.search.backend", havingValue = "pg_trgm")
+public class PgTrgmCustomerSearchIndex implements CustomerSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(PgTrgmCustomerSearchIndex.class);
+
+    // Must match the expression of idx_customers_search_trgm in database-schema.sql
+    static final String SEARCH_TEXT =
+        "LOWER(first_name || ' ' || last_name || ' ' || email || ' ' || regexp_replace(phone, '[^0-9]', '', 'g'))";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicLong searches = new AtomicLong();
+    private final AtomicLong searchNanos = new AtomicLong();
+
+    @PostConstruct
+    public void ensureIndex() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+                jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_customers_search_trgm ON customers " +
+                    "USING gin ((" + SEARCH_TEXT + ") gin_trgm_ops)");
+            });
+            log.info("✅ pg_trgm customer search index in place");
+        } catch (Exception e) {
+            // Searches fail until a superuser creates the extension, see database-schema.sql
+            log.error("❌ Could not create the pg_trgm extension or customer search index: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public List<Hit> search(String query, int limit) {
+        List<String> terms = CustomerSearchIndex.terms(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        long startTime = System.nanoTime();
+        StringBuilder sql = new StringBuilder("SELECT customer_id, similarity(" + SEARCH_TEXT + ", ?) AS score " +
+            "FROM customers WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        args.add(String.join(" ", terms));
+        for (String term : terms) {
+            sql.append(" AND ").append(SEARCH_TEXT).append(" LIKE ? ESCAPE '\\'");
+            args.add("%" + term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+        }
+        sql.append(" ORDER BY score DESC, customer_id LIMIT ?");
+        args.add(limit);
+
+        List<Hit> hits = jdbcTemplate.query(sql.toString(),
+            (rs, rowNum) -> new Hit(rs.getLong("customer_id"), rs.getDouble("score")), args.toArray());
+        searches.incrementAndGet();
+        searchNanos.addAndGet(System.nanoTime() - startTime);
+        return hits;
+    }
+
+    @Override
+    public void upsert(Long customerId, String firstName, String lastName, String email, String phone) {
+        // Maintained by PostgreSQL
+    }
+
+    @Override
+    public void remove(Long customerId) {
+        // Maintained by PostgreSQL
+    }
+
+    @Override
+    public boolean isReady() {
+        return true;
+    }
+
+    @Override
+    public void rebuild() {
+        // Nothing held in memory
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        long searchCount = searches.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("backend", "pg_trgm");
+        stats.put("ready", true);
+        stats.put("searches", searchCount);
+        stats.put("avgSearchMicros", searchCount > 0 ? searchNanos.get() / searchCount / 1000.0 : null);
+        return stats;
+    }
+}
@@ -0,0 +1,45 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.model.Role;
+import com.bankmanagement.repository.RoleRepository;
+import com.bankmanagement.util.LocalCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Role lookups by name, served from the "roles" cache region. Roles are reference data;
+ * creating one through this service evicts its name.
+ */
+@Service
+@Transactional(readOnly = true)
+public class RoleService {
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private LocalCacheService localCacheService;
+
+    private LocalCache<Role.RoleName, Role> roleCache;
+
+    @PostConstruct
+    public void initCache() {
+        roleCache = localCacheService.region("roles", 3600000, 100);
+    }
+
+    public Optional<Role> findByRoleName(Role.RoleName roleName) {
+        return Optional.ofNullable(roleCache.get(roleName,
+            localCacheService.fromPrimary(key -> roleRepository.findByRoleName(key).orElse(null))));
+    }
+
+    @Transactional
+    public Role createRole(Role role) {
+        Role saved = roleRepository.save(role);
+        roleCache.evict(saved.getRoleName());
+        return saved;
+    }
+}
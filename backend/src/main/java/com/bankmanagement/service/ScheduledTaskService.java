@@ -1,70 +1,106 @@
 package com.bankmanagement.service;
 
-import com.bankmanagement.model.Account;
-import com.bankmanagement.model.Transaction;
-import com.bankmanagement.repository.AccountRepository;
-import com.bankmanagement.repository.TransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class ScheduledTaskService {
 
     @Autowired
-    private AccountRepository accountRepository;
+    private AsyncTransactionService asyncTransactionService;
     
     @Autowired
-    private TransactionRepository transactionRepository;
+    private InterestAccrualService interestAccrualService;
     
     @Autowired
-    private AsyncTransactionService asyncTransactionService;
+    private TransactionArchiveService transactionArchiveService;
+    
+    @Autowired
+    private JobLeaseService jobLeaseService;
+    
+    @Autowired
+    private EntityCounterService entityCounterService;
+    
+    @Autowired
+    private BatchJobService batchJobService;
+    
+    @Autowired
+    private BalanceRecalculationJob balanceRecalculationJob;
+    
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+    
+    @Autowired
+    private TransactionRollupBackfillJob transactionRollupBackfillJob;
+    
+    @Autowired
+    private StatementService statementService;
+    
+    @Autowired
+    private TransactionSyncService transactionSyncService;
+
+    @Autowired
+    @Qualifier("jobExecutor")
+    private Executor jobExecutor;
 
+    private final Set<String> runningJobs = ConcurrentHashMap.newKeySet();
     private final AtomicLong scheduledTaskExecutions = new AtomicLong(0);
     private final ConcurrentHashMap<String, LocalDateTime> lastExecutionTimes = new ConcurrentHashMap<>();
 
-    // Run every 5 minutes to recalculate account balances
+    // Run every 5 minutes to recalculate account balances (one node per tick)
     @Scheduled(fixedRate = 300000, initialDelay = 60000)
     public void scheduledBalanceRecalculation() {
-        try {
-            String taskName = "balance-recalculation";
-            lastExecutionTimes.put(taskName, LocalDateTime.now());
-            scheduledTaskExecutions.incrementAndGet();
+        runOffScheduler("balance-recalculation", () -> {
+            try {
+                String taskName = "balance-recalculation";
             
-            System.out.println("🔄 Scheduled task: Starting balance recalculation at " + 
-                             LocalDateTime.now() + " (execution #" + scheduledTaskExecutions.get() + ")");
-            
-            asyncTransactionService.recalculateAllAccountBalancesAsync()
-                .thenAccept(result -> {
-                    System.out.println("✅ Scheduled balance recalculation completed: " + result);
-                })
-                .exceptionally(throwable -> {
-                    System.err.println("❌ Scheduled balance recalculation failed: " + throwable.getMessage());
-                    return null;
-                });
+                // Checkpointed chunks: a run interrupted by a crash or deploy is resumed, not restarted
+                Optional<Map<String, Object>> result = jobLeaseService.runExclusive(taskName,
+                    Duration.ofMinutes(30), Duration.ofMinutes(4), () -> {
+                        lastExecutionTimes.put(taskName, LocalDateTime.now());
+                        scheduledTaskExecutions.incrementAndGet();
+                        System.out.println("🔄 Scheduled task: Starting balance recalculation at " + 
+                                         LocalDateTime.now() + " (execution #" + scheduledTaskExecutions.get() + ")");
+                        return batchJobService.run(balanceRecalculationJob);
+                    });
+                result.ifPresent(r -> System.out.println("✅ Scheduled balance recalculation completed: " + r));
                 
-        } catch (Exception e) {
-            System.err.println("❌ Error in scheduled balance recalculation: " + e.getMessage());
-        }
+            } catch (Exception e) {
+                System.err.println("❌ Error in scheduled balance recalculation: " + e.getMessage());
+            }
+        });
     }
 
-    // Run every hour to generate transaction reports
+    // Run every hour to generate transaction reports (one node per tick)
     @Scheduled(fixedRate = 3600000, initialDelay = 120000)
     public void scheduledTransactionReport() {
         try {
             String taskName = "transaction-report";
+            Optional<JobLeaseService.Lease> lease = jobLeaseService.tryAcquire(taskName, Duration.ofMinutes(30));
+            if (lease.isEmpty()) {
+                return;
+            }
             lastExecutionTimes.put(taskName, LocalDateTime.now());
             
             System.out.println("📊 Scheduled task: Generating transaction report at " + 
                              LocalDateTime.now());
             
             asyncTransactionService.generateTransactionReportAsync()
+                .whenComplete((report, throwable) -> jobLeaseService.release(lease.get(), Duration.ofMinutes(50),
+                    throwable == null ? "COMPLETED" : "FAILED: " + throwable.getMessage()))
                 .thenAccept(report -> {
                     System.out.println("✅ Scheduled transaction report generated: " + report);
                 })
@@ -78,46 +114,40 @@ public class ScheduledTaskService {
         }
     }
 
-    // Run daily at 2 AM to clean up old transactions (example)
-    @Scheduled(cron = "0 0 2 * * ?")
+    // Run daily at 2 AM to move transactions past the retention window into the archive
+    @Scheduled(cron = "${archive.cron:0 0 2 * * ?}")
     public void scheduledDataCleanup() {
-        try {
-            String taskName = "data-cleanup";
-            lastExecutionTimes.put(taskName, LocalDateTime.now());
+        runOffScheduler("data-cleanup", () -> {
+            try {
+                String taskName = "data-cleanup";
             
-            System.out.println("🧹 Scheduled task: Starting data cleanup at " + 
-                             LocalDateTime.now());
+                // Keyset-ordered chunks, each copied, folded into the carry-forward and deleted in one transaction
+                Optional<Map<String, Object>> result = jobLeaseService.runExclusive(taskName,
+                    Duration.ofMinutes(10), Duration.ofMinutes(5), () -> {
+                        lastExecutionTimes.put(taskName, LocalDateTime.now());
+                        System.out.println("🧹 Scheduled task: Starting transaction archival at " + 
+                                         LocalDateTime.now());
+                        return transactionArchiveService.archive();
+                    });
+                result.ifPresent(r -> System.out.println("✅ Transaction archival completed: " + r));
             
-            // Example: Clean up transactions older than 1 year
-            LocalDateTime cutoffDate = LocalDateTime.now().minusYears(1);
-            List<Transaction> oldTransactions = transactionRepository.findAll().stream()
-                .filter(t -> t.getTransactionDate().isBefore(cutoffDate))
-                .toList();
-            
-            if (!oldTransactions.isEmpty()) {
-                System.out.println("🗑️ Found " + oldTransactions.size() + " old transactions to clean up");
-                // In a real scenario, you might archive these instead of deleting
-                // transactionRepository.deleteAll(oldTransactions);
-                System.out.println("ℹ️ Data cleanup completed (transactions archived, not deleted)");
-            } else {
-                System.out.println("ℹ️ No old transactions found for cleanup");
+            } catch (Exception e) {
+                System.err.println("❌ Error in scheduled data cleanup: " + e.getMessage());
             }
-            
-        } catch (Exception e) {
-            System.err.println("❌ Error in scheduled data cleanup: " + e.getMessage());
-        }
+        });
     }
 
-    // Run every 30 seconds to monitor system health
+    // Run every 30 seconds to monitor system health (per node, not leased)
     @Scheduled(fixedRate = 30000, initialDelay = 10000)
     public void scheduledHealthCheck() {
         try {
             String taskName = "health-check";
             lastExecutionTimes.put(taskName, LocalDateTime.now());
             
-            // Check database connectivity
-            long accountCount = accountRepository.count();
-            long transactionCount = transactionRepository.count();
+            // Served from the in-memory counters instead of COUNT(*) scans
+            Map<String, Object> counters = entityCounterService.getSnapshot();
+            Object accountCount = counters.get("totalAccounts");
+            Object transactionCount = counters.get("totalTransactions");
             
             // Check async service metrics
             long processedTxn = asyncTransactionService.getProcessedTransactionsCount();
@@ -140,53 +170,134 @@ public class ScheduledTaskService {
         }
     }
 
-    // Run every 15 minutes to apply interest credits
+    // Run every 15 minutes to accrue interest into the per-account accumulators
     @Scheduled(fixedRate = 900000, initialDelay = 300000)
-    public void scheduledInterestCredit() {
-        try {
-            String taskName = "interest-credit";
-            lastExecutionTimes.put(taskName, LocalDateTime.now());
+    public void scheduledInterestAccrual() {
+        runOffScheduler(InterestAccrualService.ACCRUAL_JOB, () -> {
+            try {
+                String taskName = InterestAccrualService.ACCRUAL_JOB;
             
-            System.out.println("💰 Scheduled task: Processing interest credits at " + 
-                             LocalDateTime.now());
+                // Sub-cent accrual is checkpointed; no transactions are written until posting
+                Optional<Map<String, Object>> result = jobLeaseService.runExclusive(taskName,
+                    Duration.ofMinutes(10), Duration.ofMinutes(12), () -> {
+                        lastExecutionTimes.put(taskName, LocalDateTime.now());
+                        System.out.println("💰 Scheduled task: Accruing interest at " + 
+                                         LocalDateTime.now());
+                        return interestAccrualService.accrue();
+                    });
+                result.ifPresent(r -> System.out.println("✅ Scheduled interest accrual completed: " + r));
             
-            List<Account> savingsAccounts = accountRepository.findAll().stream()
-                .filter(account -> account.getAccountType() == Account.AccountType.SAVINGS)
-                .filter(account -> account.getStatus() == Account.AccountStatus.ACTIVE)
-                .filter(account -> account.getBalance().compareTo(BigDecimal.ZERO) > 0)
-                .toList();
+            } catch (Exception e) {
+                System.err.println("❌ Error in scheduled interest accrual: " + e.getMessage());
+            }
+        });
+    }
+
+    // Post accrued interest on the posting cadence (monthly by default)
+    @Scheduled(cron = "${interest.posting-cron:0 0 0 1 * ?}")
+    public void scheduledInterestPosting() {
+        runOffScheduler(InterestAccrualService.POSTING_JOB, () -> {
+            try {
+                String taskName = InterestAccrualService.POSTING_JOB;
             
-            if (!savingsAccounts.isEmpty()) {
-                System.out.println("💰 Found " + savingsAccounts.size() + " savings accounts for interest calculation");
-                
-                // Process interest credits in parallel
-                savingsAccounts.parallelStream().forEach(account -> {
-                    BigDecimal interestAmount = account.getBalance()
-                        .multiply(account.getInterestRate())
-                        .divide(BigDecimal.valueOf(365 * 24 * 60 * 15)); // Every 15 minutes
-                    
-                    if (interestAmount.compareTo(BigDecimal.ZERO) > 0) {
-                        Transaction interestTransaction = new Transaction();
-                        interestTransaction.setAccountId(account.getAccountId());
-                        interestTransaction.setTransactionType(Transaction.TransactionType.INTEREST_CREDIT);
-                        interestTransaction.setAmount(interestAmount);
-                        interestTransaction.setDescription("Scheduled interest credit");
-                        interestTransaction.setTransactionDate(LocalDateTime.now());
-                        
-                        asyncTransactionService.processTransactionAsync(interestTransaction)
-                            .thenAccept(t -> System.out.println("💰 Interest credited to account " + 
-                                         account.getAccountNumber() + ": $" + interestAmount))
-                            .exceptionally(throwable -> {
-                                System.err.println("❌ Failed to credit interest to account " + 
-                                                 account.getAccountNumber() + ": " + throwable.getMessage());
-                                return null;
-                            });
-                    }
-                });
+                Optional<Map<String, Object>> result = jobLeaseService.runExclusive(taskName,
+                    Duration.ofMinutes(10), Duration.ofMinutes(5), () -> {
+                        lastExecutionTimes.put(taskName, LocalDateTime.now());
+                        System.out.println("💰 Scheduled task: Posting accrued interest at " + 
+                                         LocalDateTime.now());
+                        return interestAccrualService.postAccruedInterest();
+                    });
+                result.ifPresent(r -> System.out.println("✅ Scheduled interest posting completed: " + r));
+            
+            } catch (Exception e) {
+                System.err.println("❌ Error in scheduled interest posting: " + e.getMessage());
             }
+        });
+    }
+
+    // Statements for the month just ended, after the month-end interest posting
+    @Scheduled(cron = "${statements.cron:0 0 3 1 * ?}")
+    public void scheduledStatements() {
+        runOffScheduler(StatementJob.JOB_NAME, () -> {
+            try {
+                String taskName = StatementJob.JOB_NAME;
+                lastExecutionTimes.put(taskName, LocalDateTime.now());
+                System.out.println("🧾 Scheduled task: Generating monthly statements at " + 
+                                 LocalDateTime.now());
+                Optional<Map<String, Object>> result = statementService.generate(YearMonth.now().minusMonths(1));
+                result.ifPresent(r -> System.out.println("✅ Scheduled statement generation completed: " + r));
             
-        } catch (Exception e) {
-            System.err.println("❌ Error in scheduled interest credit: " + e.getMessage());
+            } catch (Exception e) {
+                System.err.println("❌ Error in scheduled statement generation: " + e.getMessage());
+            }
+        });
+    }
+
+    // Daily, trim the delta-sync change log to its retention window
+    @Scheduled(cron = "${sync.transactions.purge-cron:0 30 2 * * ?}")
+    public void scheduledTransactionChangePurge() {
+        runOffScheduler("transaction-change-purge", () -> {
+            try {
+                String taskName = "transaction-change-purge";
+                Optional<Long> purged = jobLeaseService.runExclusive(taskName,
+                    Duration.ofMinutes(10), Duration.ofMinutes(5), () -> {
+                        lastExecutionTimes.put(taskName, LocalDateTime.now());
+                        return transactionSyncService.purge();
+                    });
+                purged.ifPresent(count -> System.out.println("✅ Transaction change log purge completed: " + count + " removed"));
+            
+            } catch (Exception e) {
+                System.err.println("❌ Error in scheduled transaction change purge: " + e.getMessage());
+            }
+        });
+    }
+
+    // Check hourly whether the transaction rollups need their backfill (first run, or an interrupted one)
+    @Scheduled(fixedRate = 3600000, initialDelay = 90000)
+    public void scheduledRollupBackfill() {
+        runOffScheduler(TransactionRollupBackfillJob.JOB_NAME, () -> {
+            try {
+                String taskName = TransactionRollupBackfillJob.JOB_NAME;
+                if (!transactionRollupService.needsBackfill()) {
+                    return;
+                }
+            
+                Optional<Map<String, Object>> result = jobLeaseService.runExclusive(taskName,
+                    Duration.ofMinutes(30), Duration.ZERO, () -> {
+                        lastExecutionTimes.put(taskName, LocalDateTime.now());
+                        System.out.println("📈 Scheduled task: Backfilling transaction rollups at " + 
+                                         LocalDateTime.now());
+                        return batchJobService.run(transactionRollupBackfillJob);
+                    });
+                result.ifPresent(r -> System.out.println("✅ Transaction rollup backfill completed: " + r));
+            
+            } catch (Exception e) {
+                System.err.println("❌ Error in transaction rollup backfill: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Run a long job on the job pool, so it never holds one of the few scheduler threads that the
+     * one-second ticks (ETag sync, change feed, dashboard stream) depend on. A tick is skipped while
+     * the same job is still running on this node or the pool is full.
+     */
+    private void runOffScheduler(String taskName, Runnable job) {
+        if (!runningJobs.add(taskName)) {
+            System.out.println("⏭️ Scheduled task " + taskName + " still running, skipping this tick");
+            return;
+        }
+        try {
+            jobExecutor.execute(() -> {
+                try {
+                    job.run();
+                } finally {
+                    runningJobs.remove(taskName);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            runningJobs.remove(taskName);
+            System.err.println("⚠️ Job pool full, skipping scheduled task " + taskName);
         }
     }
 
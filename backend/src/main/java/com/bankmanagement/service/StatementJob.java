@@ -0,0 +1,368 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.model.Account;
+import com.bankmanagement.model.StatementRun;
+import com.bankmanagement.model.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statements for every active account, as a chunked job over account id ranges.
+ *
+ * Each chunk reads its accounts with their net movements after and within the period (one
+ * aggregate over hot and archived postings), walks the stored balance back to the closing and
+ * opening balances, then streams the period's postings in account order and writes them with a
+ * running balance. A statement whose postings do not add up to its closing balance fails the chunk,
+ * which is retried. Output is one CSV and one binary file per chunk, renamed into place when
+ * complete, so a rerun chunk simply replaces its files.
+ *
+ * Binary layout (big-endian): int magic "VXST", short version, int period start and end (epoch
+ * days, end exclusive), int statement count; per statement long account id, long customer id, UTF
+ * account number, byte account type ordinal, long opening cents, int posting count, the postings
+ * (long transaction id, long local time in epoch seconds, byte transaction type ordinal, long
+ * counterparty account id or 0, long balance change in cents) and long closing cents.
+ */
+@Component
+public class StatementJob implements ChunkedJob {
+    private static final Logger log = LoggerFactory.getLogger(StatementJob.class);
+
+    public static final String JOB_NAME = "monthly-statements";
+
+    static final int BINARY_MAGIC = 0x56585354;
+    static final short BINARY_VERSION = 1;
+
+    private static final String CSV_HEADER = "account_id,account_number,customer_id,account_type,record_type,date," +
+        "transaction_id,transaction_type,description,counterparty_account_id,amount,balance_change,balance\r\n";
+
+    private static final String SIGNED_AMOUNT =
+        "CASE WHEN transaction_type IN ('DEPOSIT', 'INTEREST_CREDIT') THEN amount ELSE -amount END";
+
+    // Both legs of every posting from the period start on; a row moved by a concurrent archive chunk is in one table only
+    private static final String MOVEMENTS_SQL =
+        "SELECT account_id AS statement_account_id, transaction_date, " + SIGNED_AMOUNT + " AS net_change FROM transactions " +
+        "  WHERE account_id > ? AND account_id <= ? AND transaction_date >= ? " +
+        "UNION ALL SELECT destination_account_id, transaction_date, amount FROM transactions " +
+        "  WHERE destination_account_id > ? AND destination_account_id <= ? AND transaction_type = 'TRANSFER' AND transaction_date >= ? " +
+        "UNION ALL SELECT account_id, transaction_date, " + SIGNED_AMOUNT + " FROM archived_transactions " +
+        "  WHERE account_id > ? AND account_id <= ? AND transaction_date >= ? " +
+        "UNION ALL SELECT destination_account_id, transaction_date, amount FROM archived_transactions " +
+        "  WHERE destination_account_id > ? AND destination_account_id <= ? AND transaction_type = 'TRANSFER' AND transaction_date >= ?";
+
+    private static final String ACCOUNTS_SQL =
+        "SELECT a.account_id, a.account_number, a.customer_id, a.account_type, a.balance, " +
+        "COALESCE(SUM(CASE WHEN m.transaction_date >= ? THEN m.net_change ELSE 0 END), 0) AS net_after, " +
+        "COALESCE(SUM(CASE WHEN m.transaction_date < ? THEN m.net_change ELSE 0 END), 0) AS net_in_period " +
+        "FROM accounts a LEFT JOIN (" + MOVEMENTS_SQL + ") m ON m.statement_account_id = a.account_id " +
+        "WHERE a.account_id > ? AND a.account_id <= ? AND a.status = 'ACTIVE' " +
+        "GROUP BY a.account_id, a.account_number, a.customer_id, a.account_type, a.balance " +
+        "ORDER BY a.account_id";
+
+    private static final String POSTING_COLUMNS =
+        "transaction_id, transaction_date, transaction_type, amount, account_id, destination_account_id, description";
+
+    // The period's postings by statement account; a transfer to the same account is listed once
+    private static final String POSTINGS_SQL =
+        "SELECT p.* FROM (" +
+        "  SELECT account_id AS statement_account_id, " + POSTING_COLUMNS + " FROM transactions " +
+        "    WHERE account_id > ? AND account_id <= ? AND transaction_date >= ? AND transaction_date < ? " +
+        "  UNION ALL SELECT destination_account_id, " + POSTING_COLUMNS + " FROM transactions " +
+        "    WHERE destination_account_id > ? AND destination_account_id <= ? AND transaction_type = 'TRANSFER' " +
+        "    AND destination_account_id <> account_id AND transaction_date >= ? AND transaction_date < ? " +
+        "  UNION ALL SELECT account_id, " + POSTING_COLUMNS + " FROM archived_transactions " +
+        "    WHERE account_id > ? AND account_id <= ? AND transaction_date >= ? AND transaction_date < ? " +
+        "  UNION ALL SELECT destination_account_id, " + POSTING_COLUMNS + " FROM archived_transactions " +
+        "    WHERE destination_account_id > ? AND destination_account_id <= ? AND transaction_type = 'TRANSFER' " +
+        "    AND destination_account_id <> account_id AND transaction_date >= ? AND transaction_date < ?" +
+        ") p ORDER BY p.statement_account_id, p.transaction_date, p.transaction_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Same connection as jdbcTemplate inside the chunk transaction, but fetches postings in batches
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    @Value("${statements.output-dir:statements}")
+    private String outputRoot;
+
+    private volatile YearMonth requestedPeriod;
+
+    public StatementJob(DataSource dataSource, @Value("${statements.fetch-size:1000}") int fetchSize) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    @Override
+    public String getJobName() {
+        return JOB_NAME;
+    }
+
+    /**
+     * Period for the next new execution; without one it covers the previous month
+     */
+    void requestPeriod(YearMonth period) {
+        this.requestedPeriod = period;
+    }
+
+    @Override
+    public void onExecutionCreated(Long executionId) {
+        YearMonth period = requestedPeriod != null ? requestedPeriod : YearMonth.now().minusMonths(1);
+        Path outputDir = Paths.get(outputRoot, period + "-" + executionId).toAbsolutePath();
+        jdbcTemplate.update("INSERT INTO statement_runs (execution_id, period_start, period_end, output_dir, " +
+                "statements, postings, created_at) VALUES (?, ?, ?, ?, 0, 0, ?)",
+            executionId, java.sql.Date.valueOf(period.atDay(1)), java.sql.Date.valueOf(period.plusMonths(1).atDay(1)),
+            outputDir.toString(), Timestamp.valueOf(LocalDateTime.now()));
+        log.info("🧾 Statement run {} for {} writing to {}", executionId, period, outputDir);
+    }
+
+    /**
+     * The run being worked: executions of this job run one at a time and only the latest is ever resumed
+     */
+    StatementRun currentRun() {
+        List<StatementRun> runs = jdbcTemplate.query(
+            "SELECT * FROM statement_runs ORDER BY execution_id DESC LIMIT 1", (rs, rowNum) -> mapRun(rs));
+        if (runs.isEmpty()) {
+            throw new IllegalStateException("No statement run has been started");
+        }
+        return runs.get(0);
+    }
+
+    StatementRun findRun(Long executionId) {
+        List<StatementRun> runs = jdbcTemplate.query(
+            "SELECT * FROM statement_runs WHERE execution_id = ?", (rs, rowNum) -> mapRun(rs), executionId);
+        return runs.isEmpty() ? null : runs.get(0);
+    }
+
+    @Override
+    public Long nextChunkEnd(long afterKey, int chunkSize) {
+        // Served by idx_accounts_status_account
+        List<Long> ids = jdbcTemplate.queryForList(
+            "SELECT account_id FROM accounts WHERE status = 'ACTIVE' AND account_id > ? ORDER BY account_id LIMIT ?",
+            Long.class, afterKey, chunkSize);
+        return ids.isEmpty() ? null : ids.get(ids.size() - 1);
+    }
+
+    @Override
+    public int processChunk(long fromExclusive, long toInclusive) {
+        StatementRun run = currentRun();
+        Timestamp periodStart = Timestamp.valueOf(run.getPeriodStart().atStartOfDay());
+        Timestamp periodEnd = Timestamp.valueOf(run.getPeriodEnd().atStartOfDay());
+
+        List<Object> accountArgs = new ArrayList<>(List.of(periodEnd, periodEnd));
+        List<Object> postingArgs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            accountArgs.addAll(List.of(fromExclusive, toInclusive, periodStart));
+            postingArgs.addAll(List.of(fromExclusive, toInclusive, periodStart, periodEnd));
+        }
+        accountArgs.addAll(List.of(fromExclusive, toInclusive));
+
+        List<StatementAccount> accounts = jdbcTemplate.query(ACCOUNTS_SQL, (rs, rowNum) -> {
+            BigDecimal closing = rs.getBigDecimal("balance").subtract(rs.getBigDecimal("net_after"));
+            return new StatementAccount(rs.getLong("account_id"), rs.getString("account_number"),
+                rs.getLong("customer_id"), Account.AccountType.valueOf(rs.getString("account_type")),
+                closing.subtract(rs.getBigDecimal("net_in_period")), closing);
+        }, accountArgs.toArray());
+        if (accounts.isEmpty()) {
+            return 0;
+        }
+
+        Path outputDir = Paths.get(run.getOutputDir());
+        String baseName = "statements-" + (fromExclusive + 1) + "-" + toInclusive;
+        Path csvPart = outputDir.resolve(baseName + ".csv.part");
+        Path binaryPart = outputDir.resolve(baseName + ".stmt.part");
+        long postings;
+        try {
+            Files.createDirectories(outputDir);
+            try (ChunkWriter writer = new ChunkWriter(csvPart, binaryPart, run, accounts)) {
+                streamingJdbcTemplate.query(POSTINGS_SQL, writer::addPosting, postingArgs.toArray());
+                writer.finish();
+                postings = writer.postings;
+            }
+            Files.move(csvPart, outputDir.resolve(baseName + ".csv"), StandardCopyOption.ATOMIC_MOVE);
+            Files.move(binaryPart, outputDir.resolve(baseName + ".stmt"), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + baseName, e);
+        } finally {
+            // Left behind only by a failed attempt
+            deleteQuietly(csvPart);
+            deleteQuietly(binaryPart);
+        }
+
+        jdbcTemplate.update("UPDATE statement_runs SET statements = statements + ?, postings = postings + ? " +
+            "WHERE execution_id = ?", accounts.size(), postings, run.getExecutionId());
+        return accounts.size();
+    }
+
+    static StatementRun mapRun(ResultSet rs) throws SQLException {
+        StatementRun run = new StatementRun();
+        run.setExecutionId(rs.getLong("execution_id"));
+        run.setPeriodStart(rs.getDate("period_start").toLocalDate());
+        run.setPeriodEnd(rs.getDate("period_end").toLocalDate());
+        run.setOutputDir(rs.getString("output_dir"));
+        run.setStatements(rs.getLong("statements"));
+        run.setPostings(rs.getLong("postings"));
+        run.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        return run;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("⚠️ Could not delete {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    private record StatementAccount(long accountId, String accountNumber, long customerId,
+                                    Account.AccountType accountType, BigDecimal opening, BigDecimal closing) {
+    }
+
+    private record Posting(long transactionId, LocalDateTime date, Transaction.TransactionType type,
+                           BigDecimal amount, Long counterpartyAccountId, BigDecimal change, String description) {
+    }
+
+    /**
+     * Writes the chunk's statements in account order as the sorted postings stream past;
+     * only the current account's postings are held in memory
+     */
+    private static final class ChunkWriter implements Closeable {
+        private final Writer csv;
+        private final DataOutputStream binary;
+        private final List<StatementAccount> accounts;
+        private final LocalDate periodStart;
+        private final LocalDate lastDay;
+        private final List<Posting> pending = new ArrayList<>();
+        private int next = 0;
+        private long postings = 0;
+
+        ChunkWriter(Path csvPath, Path binaryPath, StatementRun run, List<StatementAccount> accounts) throws IOException {
+            this.accounts = accounts;
+            this.periodStart = run.getPeriodStart();
+            this.lastDay = run.getPeriodEnd().minusDays(1);
+            this.csv = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(csvPath), StandardCharsets.UTF_8), 65536);
+            this.binary = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(binaryPath), 65536));
+            csv.write(CSV_HEADER);
+            binary.writeInt(BINARY_MAGIC);
+            binary.writeShort(BINARY_VERSION);
+            binary.writeInt((int) run.getPeriodStart().toEpochDay());
+            binary.writeInt((int) run.getPeriodEnd().toEpochDay());
+            binary.writeInt(accounts.size());
+        }
+
+        void addPosting(ResultSet rs) throws SQLException {
+            long statementAccountId = rs.getLong("statement_account_id");
+            try {
+                while (next < accounts.size() && accounts.get(next).accountId() < statementAccountId) {
+                    writeStatement(accounts.get(next++));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (next == accounts.size() || accounts.get(next).accountId() != statementAccountId) {
+                // Not an active account
+                return;
+            }
+            long sourceId = rs.getLong("account_id");
+            Long destinationId = rs.getObject("destination_account_id") != null ? rs.getLong("destination_account_id") : null;
+            boolean outgoing = sourceId == statementAccountId;
+            boolean incoming = destinationId != null && destinationId == statementAccountId;
+            Transaction.TransactionType type = Transaction.TransactionType.valueOf(rs.getString("transaction_type"));
+            BigDecimal amount = rs.getBigDecimal("amount");
+            // Same rules as the account history
+            BigDecimal change;
+            if (!outgoing) {
+                change = amount;
+            } else if (incoming) {
+                change = BigDecimal.ZERO;
+            } else {
+                change = type == Transaction.TransactionType.DEPOSIT || type == Transaction.TransactionType.INTEREST_CREDIT
+                    ? amount : amount.negate();
+            }
+            pending.add(new Posting(rs.getLong("transaction_id"), rs.getTimestamp("transaction_date").toLocalDateTime(),
+                type, amount, outgoing ? destinationId : Long.valueOf(sourceId), change, rs.getString("description")));
+        }
+
+        void finish() throws IOException {
+            while (next < accounts.size()) {
+                writeStatement(accounts.get(next++));
+            }
+        }
+
+        private void writeStatement(StatementAccount account) throws IOException {
+            String prefix = account.accountId() + "," + ExportService.csvText(account.accountNumber()) + "," +
+                account.customerId() + "," + account.accountType() + ",";
+            csv.write(prefix + "OPENING," + periodStart + ",,,,,,," + account.opening().toPlainString() + "\r\n");
+            binary.writeLong(account.accountId());
+            binary.writeLong(account.customerId());
+            binary.writeUTF(account.accountNumber());
+            binary.writeByte(account.accountType().ordinal());
+            binary.writeLong(cents(account.opening()));
+            binary.writeInt(pending.size());
+
+            BigDecimal balance = account.opening();
+            for (Posting posting : pending) {
+                balance = balance.add(posting.change());
+                csv.write(prefix + "POSTING," + posting.date() + "," + posting.transactionId() + "," + posting.type() + "," +
+                    (posting.description() != null ? ExportService.csvText(posting.description()) : "") + "," +
+                    (posting.counterpartyAccountId() != null ? posting.counterpartyAccountId() : "") + "," +
+                    posting.amount().toPlainString() + "," + posting.change().toPlainString() + "," +
+                    balance.toPlainString() + "\r\n");
+                binary.writeLong(posting.transactionId());
+                binary.writeLong(posting.date().toEpochSecond(ZoneOffset.UTC));
+                binary.writeByte(posting.type().ordinal());
+                binary.writeLong(posting.counterpartyAccountId() != null ? posting.counterpartyAccountId() : 0L);
+                binary.writeLong(cents(posting.change()));
+            }
+            if (balance.compareTo(account.closing()) != 0) {
+                throw new IllegalStateException("Statement for account " + account.accountId() + " does not balance: " +
+                    "postings end at " + balance + ", closing balance is " + account.closing());
+            }
+            csv.write(prefix + "CLOSING," + lastDay + ",,,,,,," + account.closing().toPlainString() + "\r\n");
+            binary.writeLong(cents(account.closing()));
+            postings += pending.size();
+            pending.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                csv.close();
+            } finally {
+                binary.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.model.BatchJobExecution;
+import com.bankmanagement.model.StatementRun;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Starts statement runs for a chosen month and reports on past ones.
+ *
+ * A run is an execution of {@link StatementJob} under its cluster lease. An unfinished run is
+ * resumed by asking for the same month again; another month is refused until it completes.
+ */
+@Service
+public class StatementService {
+
+    @Autowired
+    private StatementJob statementJob;
+
+    @Autowired
+    private BatchJobService batchJobService;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Generate (or resume) the statements for a month that has ended
+     *
+     * @return the execution result, or empty if another node is running statements
+     * @throws IllegalArgumentException if the month has not ended
+     * @throws IllegalStateException if a run for another month is unfinished
+     */
+    public Optional<Map<String, Object>> generate(YearMonth period) {
+        if (period.plusMonths(1).atDay(1).atStartOfDay().isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Statement period " + period + " has not ended yet");
+        }
+        return jobLeaseService.runExclusive(StatementJob.JOB_NAME, Duration.ofMinutes(30), Duration.ZERO, () -> {
+            Optional<BatchJobExecution> unfinished = batchJobService.findUnfinishedExecution(StatementJob.JOB_NAME);
+            if (unfinished.isPresent()) {
+                StatementRun run = statementJob.findRun(unfinished.get().getExecutionId());
+                if (run != null && !YearMonth.from(run.getPeriodStart()).equals(period)) {
+                    throw new IllegalStateException("Statements for " + YearMonth.from(run.getPeriodStart()) +
+                        " are unfinished, generate that period again to resume them first");
+                }
+            }
+            statementJob.requestPeriod(period);
+            try {
+                Map<String, Object> result = batchJobService.run(statementJob);
+                StatementRun run = statementJob.findRun((Long) result.get("executionId"));
+                if (run != null) {
+                    result.put("run", describe(run));
+                }
+                return result;
+            } finally {
+                statementJob.requestPeriod(null);
+            }
+        });
+    }
+
+    public List<Map<String, Object>> getRuns(int limit) {
+        return jdbcTemplate.query(
+            "SELECT r.*, e.status FROM statement_runs r " +
+            "LEFT JOIN batch_job_executions e ON e.execution_id = r.execution_id " +
+            "ORDER BY r.execution_id DESC LIMIT ?",
+            (rs, rowNum) -> {
+                Map<String, Object> description = describe(StatementJob.mapRun(rs));
+                description.put("status", rs.getString("status"));
+                return description;
+            }, Math.max(1, Math.min(limit, 100)));
+    }
+
+    private static Map<String, Object> describe(StatementRun run) {
+        Map<String, Object> description = new HashMap<>();
+        description.put("executionId", run.getExecutionId());
+        description.put("period", YearMonth.from(run.getPeriodStart()).toString());
+        description.put("periodStart", run.getPeriodStart());
+        description.put("periodEnd", run.getPeriodEnd());
+        description.put("outputDir", run.getOutputDir());
+        description.put("statements", run.getStatements());
+        description.put("postings", run.getPostings());
+        description.put("createdAt", run.getCreatedAt());
+        return description;
+    }
+}
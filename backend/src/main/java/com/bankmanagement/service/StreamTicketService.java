@@ -0,0 +1,56 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-use tickets for the dashboard event stream.
+ *
+ * EventSource cannot send an Authorization header, and a bearer JWT in the URL would end up in access
+ * logs, proxy logs and browser history. Clients therefore exchange their JWT for a ticket valid for
+ * dashboard.stream.ticket-ttl-ms and open the stream with it. Tickets are signed, so any node can
+ * redeem one; each node remembers the tickets it redeemed until they expire and refuses them again.
+ */
+@Service
+public class StreamTicketService {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${dashboard.stream.ticket-ttl-ms:30000}")
+    private long ticketTtlMillis;
+
+    // Ticket id to expiry of the tickets redeemed on this node
+    private final Map<String, Long> redeemed = new ConcurrentHashMap<>();
+
+    public String issue(Long userId, String email, List<String> roles) {
+        return jwtUtil.generateStreamTicket(userId, email, roles, ticketTtlMillis);
+    }
+
+    /**
+     * @return the ticket's claims, or null when it is invalid, expired or already used
+     */
+    public Claims redeem(String ticket) {
+        Claims claims = jwtUtil.parseStreamTicket(ticket);
+        if (claims == null || claims.getId() == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        redeemed.values().removeIf(expiresAt -> expiresAt < now);
+        if (redeemed.putIfAbsent(claims.getId(), claims.getExpiration().getTime()) != null) {
+            return null;
+        }
+        return claims;
+    }
+
+    public long getTicketTtlMillis() {
+        return ticketTtlMillis;
+    }
+}
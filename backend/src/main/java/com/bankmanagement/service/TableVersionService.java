@@ -0,0 +1,225 @@
+package com.bankmanagement.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Per-table version counters behind the ETags of the account, customer and transaction reads.
+ *
+ * Write paths report the tables they touched; the bump is applied in memory once their DB transaction
+ * commits, so computing an ETag never touches the database. Local bumps are published to table_versions
+ * (one increment per table per sync, however many writes were coalesced) and the other nodes' increments
+ * are read back on the same schedule. Until they are published, a node's own writes show up in its ETags
+ * as a suffix unique to this node and boot, so its clients see their writes immediately; writes made on
+ * other nodes reach the ETags within one sync interval.
+ */
+@Service
+public class TableVersionService {
+    private static final Logger log = LoggerFactory.getLogger(TableVersionService.class);
+
+    public enum Table {
+        ACCOUNTS("accounts", 'a'),
+        CUSTOMERS("customers", 'c'),
+        TRANSACTIONS("transactions", 't');
+
+        private final String tableName;
+        private final char tag;
+
+        Table(String tableName, char tag) {
+            this.tableName = tableName;
+            this.tag = tag;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${etags.enabled:true}")
+    private boolean enabled;
+
+    private final String bootId = Long.toString(ThreadLocalRandom.current().nextLong(Long.MAX_VALUE), 36);
+    private final Map<Table, AtomicReference<Version>> versions = new EnumMap<>(Table.class);
+    private volatile boolean loaded = false;
+    private volatile LocalDateTime lastSyncedAt;
+    private volatile String lastSyncError;
+
+    public TableVersionService() {
+        for (Table table : Table.values()) {
+            // The first sync publishes one bump per table, covering writes an earlier run of this node never published
+            versions.put(table, new AtomicReference<>(new Version(0, 1)));
+        }
+    }
+
+    /**
+     * Record writes to these tables in the current transaction, applied once it commits
+     */
+    public void recordWrite(Table... tables) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(tables);
+                }
+            });
+        } else {
+            bump(tables);
+        }
+    }
+
+    /**
+     * Weak ETag over the current versions of these tables, or null while ETags are disabled or the
+     * shared versions have not been loaded yet. Take it before running the query, so the response is
+     * never older than its tag.
+     */
+    public String etag(Table... tables) {
+        if (!enabled || !loaded) {
+            return null;
+        }
+        StringBuilder etag = new StringBuilder("W/\"");
+        for (Table table : tables) {
+            Version version = versions.get(table).get();
+            etag.append(table.tag).append(version.shared);
+            if (version.pending > 0) {
+                etag.append('+').append(bootId).append('.').append(version.pending);
+            }
+        }
+        return etag.append('"').toString();
+    }
+
+    /**
+     * The table_versions rows a replica must have applied to answer a read tagged for these tables, or null
+     * when this node has unpublished writes to one of them and only the primary holds everything the tag covers.
+     * Like the ETag, take it before running the query.
+     */
+    public Map<String, Long> requiredVersions(Table... tables) {
+        Map<String, Long> required = new HashMap<>();
+        for (Table table : tables) {
+            Version version = versions.get(table).get();
+            if (version.pending > 0) {
+                return null;
+            }
+            required.put(table.tableName, version.shared);
+        }
+        return required;
+    }
+
+    /**
+     * Publish this node's pending bumps and pick up the shared versions
+     */
+    @Scheduled(fixedDelayString = "${etags.sync-interval-ms:1000}", initialDelayString = "${etags.sync-interval-ms:1000}")
+    public synchronized void sync() {
+        if (!enabled) {
+            return;
+        }
+        Map<Table, Long> published = new EnumMap<>(Table.class);
+        for (Table table : Table.values()) {
+            published.put(table, versions.get(table).get().pending);
+        }
+        try {
+            Map<String, Long> shared = transactionTemplate.execute(status -> {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                for (Map.Entry<Table, Long> entry : published.entrySet()) {
+                    if (entry.getValue() > 0) {
+                        publish(entry.getKey(), now);
+                    }
+                }
+                Map<String, Long> current = new HashMap<>();
+                jdbcTemplate.query("SELECT table_name, version FROM table_versions",
+                    rs -> { current.put(rs.getString("table_name"), rs.getLong("version")); });
+                return current;
+            });
+            for (Table table : Table.values()) {
+                long sharedVersion = shared.getOrDefault(table.tableName, 0L);
+                long publishedBumps = published.get(table);
+                versions.get(table).updateAndGet(version ->
+                    new Version(Math.max(version.shared, sharedVersion), version.pending - publishedBumps));
+            }
+            loaded = true;
+            lastSyncedAt = LocalDateTime.now();
+            lastSyncError = null;
+        } catch (Exception e) {
+            // Pending bumps stay local and are published by the next sync
+            if (lastSyncError == null) {
+                log.warn("⚠️ Table version sync failed: {}", e.getMessage());
+            }
+            lastSyncError = e.getMessage();
+        }
+    }
+
+    @PreDestroy
+    public void publishPending() {
+        sync();
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("enabled", enabled);
+        status.put("loaded", loaded);
+        status.put("lastSyncedAt", lastSyncedAt);
+        status.put("lastSyncError", lastSyncError);
+        Map<String, Object> tables = new HashMap<>();
+        for (Table table : Table.values()) {
+            Version version = versions.get(table).get();
+            Map<String, Object> counters = new HashMap<>();
+            counters.put("sharedVersion", version.shared);
+            counters.put("unpublishedWrites", version.pending);
+            tables.put(table.tableName, counters);
+        }
+        status.put("tables", tables);
+        return status;
+    }
+
+    private void bump(Table... tables) {
+        for (Table table : tables) {
+            versions.get(table).updateAndGet(version -> new Version(version.shared, version.pending + 1));
+        }
+    }
+
+    private void publish(Table table, Timestamp now) {
+        int updated = jdbcTemplate.update(
+            "UPDATE table_versions SET version = version + 1, updated_at = ? WHERE table_name = ?",
+            now, table.tableName);
+        if (updated == 0) {
+            // A concurrent first insert from another node fails this sync, the next one updates the row
+            jdbcTemplate.update("INSERT INTO table_versions (table_name, version, updated_at) VALUES (?, 1, ?)",
+                table.tableName, now);
+        }
+    }
+
+    /**
+     * Last shared version seen plus this node's writes committed since then and not yet published
+     */
+    private static final class Version {
+        private final long shared;
+        private final long pending;
+
+        Version(long shared, long pending) {
+            this.shared = shared;
+            this.pending = pending;
+        }
+    }
+}
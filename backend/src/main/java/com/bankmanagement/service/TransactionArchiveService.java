@@ -0,0 +1,244 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.model.AccountCarryForward;
+import com.bankmanagement.model.ArchivedTransaction;
+import com.bankmanagement.repository.AccountCarryForwardRepository;
+import com.bankmanagement.repository.ArchivedTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Chunked archival of old postings.
+ *
+ * Transactions older than the retention window are moved from the hot transactions table to
+ * archived_transactions in keyset-ordered chunks of transaction ids. Each chunk is one database
+ * transaction: copy, fold the balance effect into account_carry_forward, delete. Balance replays
+ * over the hot table start from the carry-forward, so archiving never changes a computed balance.
+ */
+@Service
+public class TransactionArchiveService {
+    private static final Logger log = LoggerFactory.getLogger(TransactionArchiveService.class);
+
+    // Chunk range: (lastId, chunkEndId] restricted to rows older than the cutoff
+    private static final String CHUNK_RANGE =
+        " FROM transactions WHERE transaction_id > ? AND transaction_id <= ? AND transaction_date < ?";
+
+    private static final String COPY_SQL =
+        "INSERT INTO archived_transactions (transaction_id, account_id, transaction_type, amount, " +
+        "transaction_date, description, destination_account_id, archived_at) " +
+        "SELECT transaction_id, account_id, transaction_type, amount, transaction_date, description, " +
+        "destination_account_id, ?" + CHUNK_RANGE;
+
+    // Delta-sync clients drop archived rows from their transaction list
+    private static final String LOG_ARCHIVED_SQL =
+        "INSERT INTO transaction_changes (transaction_id, change_type, changed_at) " +
+        "SELECT transaction_id, 'ARCHIVED', ?" + CHUNK_RANGE + " ORDER BY transaction_id";
+
+    private static final String POSTED_NET_SQL =
+        "SELECT account_id, " +
+        "SUM(CASE WHEN transaction_type IN ('DEPOSIT', 'INTEREST_CREDIT') THEN amount ELSE -amount END) AS net, " +
+        "COUNT(*) AS cnt, MAX(transaction_id) AS last_id" + CHUNK_RANGE + " GROUP BY account_id";
+
+    private static final String TRANSFER_IN_SQL =
+        "SELECT destination_account_id, SUM(amount) AS net, COUNT(*) AS cnt, MAX(transaction_id) AS last_id" +
+        CHUNK_RANGE + " AND transaction_type = 'TRANSFER' AND destination_account_id IS NOT NULL " +
+        "GROUP BY destination_account_id";
+
+    private static final String UPDATE_CARRY_FORWARD_SQL =
+        "UPDATE account_carry_forward SET posted_net = posted_net + ?, transfer_in_net = transfer_in_net + ?, " +
+        "archived_count = archived_count + ?, " +
+        "last_archived_transaction_id = GREATEST(last_archived_transaction_id, ?), updated_at = ? " +
+        "WHERE account_id = ?";
+
+    private static final String INSERT_CARRY_FORWARD_SQL =
+        "INSERT INTO account_carry_forward (posted_net, transfer_in_net, archived_count, " +
+        "last_archived_transaction_id, updated_at, account_id) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    @Autowired
+    private AccountCarryForwardRepository accountCarryForwardRepository;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Autowired
+    private EntityCounterService entityCounterService;
+
+    @Autowired
+    private TableVersionService tableVersionService;
+
+    @Value("${archive.retention-days:365}")
+    private int retentionDays;
+
+    @Value("${archive.chunk-size:1000}")
+    private int chunkSize;
+
+    private final ReentrantLock runLock = new ReentrantLock();
+    private volatile Map<String, Object> lastRun;
+
+    /**
+     * Archive everything older than the configured retention window
+     */
+    public Map<String, Object> archive() {
+        return archiveOlderThan(LocalDateTime.now().minusDays(retentionDays));
+    }
+
+    /**
+     * Move transactions dated before the cutoff to the archive, one chunk per database transaction
+     */
+    public Map<String, Object> archiveOlderThan(LocalDateTime cutoff) {
+        if (!runLock.tryLock()) {
+            throw new IllegalStateException("Archival is already running");
+        }
+        try {
+            long startTime = System.currentTimeMillis();
+            Timestamp cutoffTs = Timestamp.valueOf(cutoff);
+            long lastId = 0L;
+            long archived = 0;
+            int chunks = 0;
+
+            while (true) {
+                List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT transaction_id FROM transactions WHERE transaction_id > ? AND transaction_date < ? " +
+                    "ORDER BY transaction_id LIMIT ?",
+                    Long.class, lastId, cutoffTs, chunkSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                long fromId = lastId;
+                long toId = ids.get(ids.size() - 1);
+                Integer moved = transactionTemplate.execute(status -> archiveChunk(fromId, toId, cutoffTs));
+                archived += moved != null ? moved : 0;
+                chunks++;
+                lastId = toId;
+            }
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("cutoff", cutoff);
+            result.put("transactionsArchived", archived);
+            result.put("chunks", chunks);
+            result.put("durationMs", System.currentTimeMillis() - startTime);
+            result.put("completedAt", LocalDateTime.now());
+            lastRun = result;
+            log.info("🗄️ Archived {} transactions older than {} in {} chunks ({}ms)",
+                archived, cutoff, chunks, result.get("durationMs"));
+            return result;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Page through archived postings, optionally for one account (both legs), by transaction id
+     */
+    public List<ArchivedTransaction> getArchivedTransactions(Long accountId, Long afterId, int limit) {
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(limit, 1000)));
+        long after = afterId != null ? afterId : 0L;
+        if (accountId != null) {
+            return archivedTransactionRepository.findAccountHistoryAfter(accountId, after, page);
+        }
+        return archivedTransactionRepository.findByTransactionIdGreaterThanOrderByTransactionIdAsc(after, page);
+    }
+
+    public Optional<AccountCarryForward> getCarryForward(Long accountId) {
+        return accountCarryForwardRepository.findById(accountId);
+    }
+
+    public BigDecimal getPostedNetCarryForward(Long accountId) {
+        return accountCarryForwardRepository.findById(accountId)
+            .map(AccountCarryForward::getPostedNet)
+            .orElse(BigDecimal.ZERO);
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("retentionDays", retentionDays);
+        status.put("chunkSize", chunkSize);
+        status.put("archivedTransactions", archivedTransactionRepository.count());
+        status.put("accountsWithCarryForward", accountCarryForwardRepository.count());
+        status.put("running", runLock.isLocked());
+        status.put("lastRun", lastRun);
+        return status;
+    }
+
+    private int archiveChunk(long fromId, long toId, Timestamp cutoff) {
+        jobLeaseService.renewWithinTransaction();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Map<Long, Object[]> deltas = new HashMap<>();
+
+        jdbcTemplate.query(POSTED_NET_SQL, rs -> {
+            Object[] delta = deltas.computeIfAbsent(rs.getLong("account_id"), id -> newDelta(id, now));
+            delta[0] = ((BigDecimal) delta[0]).add(rs.getBigDecimal("net"));
+            delta[2] = (Long) delta[2] + rs.getLong("cnt");
+            delta[3] = Math.max((Long) delta[3], rs.getLong("last_id"));
+        }, fromId, toId, cutoff);
+
+        jdbcTemplate.query(TRANSFER_IN_SQL, rs -> {
+            Object[] delta = deltas.computeIfAbsent(rs.getLong("destination_account_id"), id -> newDelta(id, now));
+            delta[1] = ((BigDecimal) delta[1]).add(rs.getBigDecimal("net"));
+            delta[2] = (Long) delta[2] + rs.getLong("cnt");
+            delta[3] = Math.max((Long) delta[3], rs.getLong("last_id"));
+        }, fromId, toId, cutoff);
+
+        int copied = jdbcTemplate.update(COPY_SQL, now, fromId, toId, cutoff);
+
+        // Only non-zero when the cutoff falls inside the current month
+        Timestamp monthStart = Timestamp.valueOf(YearMonth.now().atDay(1).atStartOfDay());
+        Long copiedThisMonth = cutoff.after(monthStart)
+            ? jdbcTemplate.queryForObject("SELECT COUNT(*)" + CHUNK_RANGE + " AND transaction_date >= ?",
+                Long.class, fromId, toId, cutoff, monthStart)
+            : Long.valueOf(0L);
+
+        List<Object[]> rows = new ArrayList<>(deltas.values());
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_CARRY_FORWARD_SQL, rows);
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                inserts.add(rows.get(i));
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CARRY_FORWARD_SQL, inserts);
+        }
+
+        jdbcTemplate.update(LOG_ARCHIVED_SQL, now, fromId, toId, cutoff);
+        int deleted = jdbcTemplate.update("DELETE" + CHUNK_RANGE, fromId, toId, cutoff);
+        if (deleted != copied) {
+            throw new IllegalStateException("Archive chunk (" + fromId + ", " + toId + "] copied " + copied +
+                " rows but deleted " + deleted);
+        }
+        entityCounterService.recordTransactionsRemoved(deleted, copiedThisMonth != null ? copiedThisMonth : 0L);
+        tableVersionService.recordWrite(TableVersionService.Table.TRANSACTIONS);
+        return deleted;
+    }
+
+    // Parameter order shared by the UPDATE and INSERT carry-forward statements
+    private static Object[] newDelta(Long accountId, Timestamp now) {
+        return new Object[] {BigDecimal.ZERO, BigDecimal.ZERO, 0L, 0L, now, accountId};
+    }
+}
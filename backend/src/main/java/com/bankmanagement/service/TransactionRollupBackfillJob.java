@@ -0,0 +1,82 @@
+package com.bankmanagement.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Rebuilds the transaction rollups for every day before today, over transaction id ranges of
+ * both the hot and the archived transactions. Chunks add into shared day buckets, so they run
+ * one at a time; the run is still checkpointed and resumes after a restart.
+ */
+@Component
+public class TransactionRollupBackfillJob implements ChunkedJob {
+
+    public static final String JOB_NAME = "transaction-rollup-backfill";
+
+    // One statement so a row moved by a concurrent archive chunk is seen exactly once
+    private static final String CHUNK_SQL =
+        "SELECT p.transaction_date, p.transaction_type, p.amount, a.account_type FROM (" +
+        "  SELECT account_id, transaction_date, transaction_type, amount FROM transactions " +
+        "    WHERE transaction_id > ? AND transaction_id <= ? AND transaction_date < ? " +
+        "  UNION ALL " +
+        "  SELECT account_id, transaction_date, transaction_type, amount FROM archived_transactions " +
+        "    WHERE transaction_id > ? AND transaction_id <= ? AND transaction_date < ?" +
+        ") p LEFT JOIN accounts a ON a.account_id = p.account_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    @Override
+    public String getJobName() {
+        return JOB_NAME;
+    }
+
+    @Override
+    public void onExecutionCreated(Long executionId) {
+        // Start of today, with a minute of slack for postings still committing around midnight
+        LocalDateTime cutover = LocalDateTime.now().minusMinutes(1).truncatedTo(ChronoUnit.DAYS);
+        transactionRollupService.beginBackfill(executionId, cutover);
+    }
+
+    @Override
+    public int getMaxParallelism() {
+        return 1;
+    }
+
+    @Override
+    public Long nextChunkEnd(long afterKey, int chunkSize) {
+        List<Long> ids = jdbcTemplate.queryForList(
+            "SELECT transaction_id FROM (" +
+            "  (SELECT transaction_id FROM transactions WHERE transaction_id > ? ORDER BY transaction_id LIMIT ?) " +
+            "  UNION ALL " +
+            "  (SELECT transaction_id FROM archived_transactions WHERE transaction_id > ? ORDER BY transaction_id LIMIT ?)" +
+            ") ids ORDER BY transaction_id LIMIT ?",
+            Long.class, afterKey, chunkSize, afterKey, chunkSize, chunkSize);
+        return ids.isEmpty() ? null : ids.get(ids.size() - 1);
+    }
+
+    @Override
+    public int processChunk(long fromExclusive, long toInclusive) {
+        Timestamp cutover = Timestamp.valueOf(transactionRollupService.getCutover());
+        Map<TransactionRollupService.BucketKey, TransactionRollupService.Bucket> hourly = new TreeMap<>();
+        int[] postings = new int[1];
+        jdbcTemplate.query(CHUNK_SQL, rs -> {
+            postings[0]++;
+            TransactionRollupService.addTo(hourly, rs.getTimestamp("transaction_date").toLocalDateTime(),
+                rs.getString("transaction_type"), rs.getString("account_type"), rs.getBigDecimal("amount"));
+        }, fromExclusive, toInclusive, cutover, fromExclusive, toInclusive, cutover);
+        transactionRollupService.apply(hourly);
+        return postings[0];
+    }
+}
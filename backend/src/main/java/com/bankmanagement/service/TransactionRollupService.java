@@ -0,0 +1,394 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.model.BatchJobExecution;
+import com.bankmanagement.model.OutboxEvent;
+import com.bankmanagement.repository.BatchJobExecutionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Hourly and daily transaction rollups by transaction type and account type.
+ *
+ * New postings are folded in from the change feed, one batch per DB transaction together with
+ * the consumer offset; a deleted posting is taken back out when its reversal event arrives. The
+ * backfill job rebuilds every bucket before its cutover from transactions and archived_transactions;
+ * from then on the feed only writes buckets at or after the cutover, so the two writers never touch
+ * the same rows, except for reversals of older postings once the backfill has completed. Range
+ * queries read whole days from the daily table and the partial days at either end from the hourly table.
+ */
+@Service
+public class TransactionRollupService implements ChangeFeedConsumer {
+    private static final Logger log = LoggerFactory.getLogger(TransactionRollupService.class);
+
+    public static final String STATE_NAME = "transaction-rollups";
+    public static final String UNKNOWN_ACCOUNT_TYPE = "UNKNOWN";
+
+    private static final String POSTINGS_BY_ID_SQL =
+        "SELECT t.transaction_date, t.transaction_type, t.amount, a.account_type " +
+        "FROM transactions t LEFT JOIN accounts a ON a.account_id = t.account_id " +
+        "WHERE t.transaction_id IN (%s)";
+
+    private static final String ACCOUNT_TYPES_SQL =
+        "SELECT account_id, account_type FROM accounts WHERE account_id IN (%s)";
+
+    private static final String UPDATE_HOURLY_SQL =
+        "UPDATE transaction_rollups_hourly SET transaction_count = transaction_count + ?, total_amount = total_amount + ? " +
+        "WHERE bucket_start = ? AND transaction_type = ? AND account_type = ?";
+
+    private static final String INSERT_HOURLY_SQL =
+        "INSERT INTO transaction_rollups_hourly (transaction_count, total_amount, bucket_start, transaction_type, account_type) " +
+        "VALUES (?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_DAILY_SQL =
+        "UPDATE transaction_rollups_daily SET transaction_count = transaction_count + ?, total_amount = total_amount + ? " +
+        "WHERE bucket_date = ? AND transaction_type = ? AND account_type = ?";
+
+    private static final String INSERT_DAILY_SQL =
+        "INSERT INTO transaction_rollups_daily (transaction_count, total_amount, bucket_date, transaction_type, account_type) " +
+        "VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BatchJobExecutionRepository batchJobExecutionRepository;
+
+    private volatile boolean stateReady = false;
+
+    @Override
+    public String getConsumerName() {
+        return STATE_NAME;
+    }
+
+    @Override
+    public void onBatch(List<OutboxEvent> events) {
+        // Payment processor transfers carry no transaction row and are not part of the rollups
+        List<OutboxEvent> postings = events.stream()
+            .filter(event -> event.getTransactionId() != null)
+            .toList();
+        if (postings.isEmpty()) {
+            return;
+        }
+        // Locks the state row so a backfill cannot move the cutover under this batch
+        LocalDateTime cutover = lockCutover();
+        Map<BucketKey, Bucket> hourly = new TreeMap<>();
+
+        // Events written before they carried the posting date read it from the posting row
+        List<Long> undatedIds = postings.stream()
+            .filter(event -> event.getTransactionDate() == null)
+            .map(OutboxEvent::getTransactionId)
+            .toList();
+        if (!undatedIds.isEmpty()) {
+            String placeholders = String.join(",", Collections.nCopies(undatedIds.size(), "?"));
+            jdbcTemplate.query(String.format(POSTINGS_BY_ID_SQL, placeholders), rs -> {
+                LocalDateTime date = rs.getTimestamp("transaction_date").toLocalDateTime();
+                if (cutover != null && date.isBefore(cutover)) {
+                    return;
+                }
+                addTo(hourly, date, rs.getString("transaction_type"), rs.getString("account_type"), rs.getBigDecimal("amount"));
+            }, undatedIds.toArray());
+        }
+
+        List<OutboxEvent> dated = postings.stream()
+            .filter(event -> event.getTransactionDate() != null)
+            .toList();
+        if (!dated.isEmpty()) {
+            Map<Long, String> accountTypes = accountTypes(dated);
+            Boolean backfilled = null;
+            for (OutboxEvent event : dated) {
+                boolean reversal = event.getEventType() == OutboxEvent.EventType.REVERSED;
+                if (cutover != null && event.getTransactionDate().isBefore(cutover)) {
+                    // Days before the cutover are counted by the backfill. A deletion is taken back out once the
+                    // backfill has completed; while it runs, its chunk for the posting may not have read the row.
+                    if (!reversal) {
+                        continue;
+                    }
+                    if (backfilled == null) {
+                        backfilled = !needsBackfill();
+                    }
+                    if (!backfilled) {
+                        continue;
+                    }
+                }
+                addTo(hourly, event.getTransactionDate(), event.getTransactionType().name(),
+                    accountTypes.get(event.getAccountId()), reversal ? -1 : 1,
+                    reversal ? event.getAmount().negate() : event.getAmount());
+            }
+        }
+        apply(hourly);
+    }
+
+    /**
+     * Add pre-aggregated hourly buckets (and the days they roll up to) inside the caller's transaction
+     */
+    void apply(Map<BucketKey, Bucket> hourly) {
+        if (hourly.isEmpty()) {
+            return;
+        }
+        Map<BucketKey, Bucket> daily = new TreeMap<>();
+        hourly.forEach((key, bucket) -> daily
+            .computeIfAbsent(new BucketKey(key.start.truncatedTo(ChronoUnit.DAYS), key.transactionType, key.accountType),
+                k -> new Bucket())
+            .add(bucket.count, bucket.amount));
+
+        upsert(hourly, UPDATE_HOURLY_SQL, INSERT_HOURLY_SQL, false);
+        upsert(daily, UPDATE_DAILY_SQL, INSERT_DAILY_SQL, true);
+    }
+
+    /**
+     * Fold one posting into an hourly bucket map
+     */
+    static void addTo(Map<BucketKey, Bucket> hourly, LocalDateTime date, String transactionType,
+                      String accountType, BigDecimal amount) {
+        addTo(hourly, date, transactionType, accountType, 1, amount);
+    }
+
+    /**
+     * Fold a signed count and amount into an hourly bucket map, negative to take deleted postings out
+     */
+    static void addTo(Map<BucketKey, Bucket> hourly, LocalDateTime date, String transactionType,
+                      String accountType, long count, BigDecimal amount) {
+        BucketKey key = new BucketKey(date.truncatedTo(ChronoUnit.HOURS), transactionType,
+            accountType != null ? accountType : UNKNOWN_ACCOUNT_TYPE);
+        hourly.computeIfAbsent(key, k -> new Bucket()).add(count, amount);
+    }
+
+    /**
+     * Transactions posted in [from, to), at hour resolution
+     */
+    public long countTransactions(LocalDateTime from, LocalDateTime to) {
+        return ((Number) summarize(from, to).get("transactionCount")).longValue();
+    }
+
+    /**
+     * Count and amount over a time range with breakdowns by transaction type and account type.
+     * The range is widened to whole hours.
+     */
+    public Map<String, Object> summarize(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime end = to.truncatedTo(ChronoUnit.HOURS).equals(to) ? to : to.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        LocalDateTime firstWholeDay = start.truncatedTo(ChronoUnit.DAYS).equals(start) ? start : start.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+        LocalDateTime endOfWholeDays = end.truncatedTo(ChronoUnit.DAYS);
+
+        Map<BucketKey, Bucket> totals = new TreeMap<>();
+        int[] rowsRead = new int[1];
+        if (firstWholeDay.isBefore(endOfWholeDays)) {
+            readRollups("SELECT transaction_type, account_type, transaction_count, total_amount FROM transaction_rollups_daily " +
+                "WHERE bucket_date >= ? AND bucket_date < ?", totals, rowsRead,
+                Date.valueOf(firstWholeDay.toLocalDate()), Date.valueOf(endOfWholeDays.toLocalDate()));
+            readHourly(start, firstWholeDay, totals, rowsRead);
+            readHourly(endOfWholeDays, end, totals, rowsRead);
+        } else {
+            readHourly(start, end, totals, rowsRead);
+        }
+
+        long count = 0;
+        BigDecimal amount = BigDecimal.ZERO;
+        Map<String, Map<String, Object>> byTransactionType = new TreeMap<>();
+        Map<String, Map<String, Object>> byAccountType = new TreeMap<>();
+        for (Map.Entry<BucketKey, Bucket> entry : totals.entrySet()) {
+            Bucket bucket = entry.getValue();
+            count += bucket.count;
+            amount = amount.add(bucket.amount);
+            accumulate(byTransactionType, entry.getKey().transactionType, bucket);
+            accumulate(byAccountType, entry.getKey().accountType, bucket);
+        }
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("from", start);
+        summary.put("to", end);
+        summary.put("transactionCount", count);
+        summary.put("totalAmount", amount);
+        summary.put("byTransactionType", byTransactionType);
+        summary.put("byAccountType", byAccountType);
+        summary.put("rollupRowsRead", rowsRead[0]);
+        return summary;
+    }
+
+    public LocalDateTime getCutover() {
+        ensureState();
+        return jdbcTemplate.queryForObject(
+            "SELECT cutover FROM transaction_rollup_state WHERE state_name = ?",
+            (rs, rowNum) -> {
+                Timestamp cutover = rs.getTimestamp("cutover");
+                return cutover != null ? cutover.toLocalDateTime() : null;
+            }, STATE_NAME);
+    }
+
+    /**
+     * True until a backfill has completed: rollups before the feed started are missing or partial
+     */
+    public boolean needsBackfill() {
+        if (getCutover() == null) {
+            return true;
+        }
+        return batchJobExecutionRepository.findFirstByJobNameOrderByExecutionIdDesc(TransactionRollupBackfillJob.JOB_NAME)
+            .map(execution -> execution.getStatus() != BatchJobExecution.BatchJobStatus.COMPLETED)
+            .orElse(true);
+    }
+
+    /**
+     * Start of a backfill, inside the transaction creating its execution: move the cutover to the
+     * start of the day and drop every bucket before it. Waits for an in-flight feed batch.
+     */
+    void beginBackfill(Long executionId, LocalDateTime cutover) {
+        lockCutover();
+        jdbcTemplate.update("UPDATE transaction_rollup_state SET cutover = ?, backfill_execution_id = ?, updated_at = ? " +
+            "WHERE state_name = ?", Timestamp.valueOf(cutover), executionId, Timestamp.valueOf(LocalDateTime.now()), STATE_NAME);
+        int hourly = jdbcTemplate.update("DELETE FROM transaction_rollups_hourly WHERE bucket_start < ?", Timestamp.valueOf(cutover));
+        int daily = jdbcTemplate.update("DELETE FROM transaction_rollups_daily WHERE bucket_date < ?", Date.valueOf(cutover.toLocalDate()));
+        log.info("📈 Rollup backfill {} started: cutover {}, cleared {} hourly and {} daily rows",
+            executionId, cutover, hourly, daily);
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("cutover", getCutover());
+        status.put("needsBackfill", needsBackfill());
+        status.put("hourlyRows", jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transaction_rollups_hourly", Long.class));
+        status.put("dailyRows", jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transaction_rollups_daily", Long.class));
+        return status;
+    }
+
+    private LocalDateTime lockCutover() {
+        ensureState();
+        return jdbcTemplate.queryForObject(
+            "SELECT cutover FROM transaction_rollup_state WHERE state_name = ? FOR UPDATE",
+            (rs, rowNum) -> {
+                Timestamp cutover = rs.getTimestamp("cutover");
+                return cutover != null ? cutover.toLocalDateTime() : null;
+            }, STATE_NAME);
+    }
+
+    private Map<Long, String> accountTypes(List<OutboxEvent> events) {
+        List<Long> accountIds = events.stream().map(OutboxEvent::getAccountId).distinct().toList();
+        String placeholders = String.join(",", Collections.nCopies(accountIds.size(), "?"));
+        Map<Long, String> accountTypes = new HashMap<>();
+        jdbcTemplate.query(String.format(ACCOUNT_TYPES_SQL, placeholders),
+            rs -> { accountTypes.put(rs.getLong("account_id"), rs.getString("account_type")); }, accountIds.toArray());
+        return accountTypes;
+    }
+
+    // Create the state row once, in its own transaction; losing the insert race is fine
+    private void ensureState() {
+        if (stateReady) {
+            return;
+        }
+        Long rows = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM transaction_rollup_state WHERE state_name = ?", Long.class, STATE_NAME);
+        if (rows == null || rows == 0) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                    "INSERT INTO transaction_rollup_state (state_name, updated_at) VALUES (?, ?)",
+                    STATE_NAME, Timestamp.valueOf(LocalDateTime.now())));
+            } catch (DataIntegrityViolationException e) {
+                // Created concurrently
+            }
+        }
+        stateReady = true;
+    }
+
+    private void readHourly(LocalDateTime from, LocalDateTime to, Map<BucketKey, Bucket> totals, int[] rowsRead) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        readRollups("SELECT transaction_type, account_type, transaction_count, total_amount FROM transaction_rollups_hourly " +
+            "WHERE bucket_start >= ? AND bucket_start < ?", totals, rowsRead,
+            Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    private void readRollups(String sql, Map<BucketKey, Bucket> totals, int[] rowsRead, Object... args) {
+        jdbcTemplate.query(sql, rs -> {
+            rowsRead[0]++;
+            BucketKey key = new BucketKey(LocalDateTime.MIN, rs.getString("transaction_type"), rs.getString("account_type"));
+            totals.computeIfAbsent(key, k -> new Bucket()).add(rs.getLong("transaction_count"), rs.getBigDecimal("total_amount"));
+        }, args);
+    }
+
+    private void accumulate(Map<String, Map<String, Object>> breakdown, String name, Bucket bucket) {
+        Map<String, Object> entry = breakdown.computeIfAbsent(name, k -> {
+            Map<String, Object> empty = new HashMap<>();
+            empty.put("count", 0L);
+            empty.put("amount", BigDecimal.ZERO);
+            return empty;
+        });
+        entry.put("count", (Long) entry.get("count") + bucket.count);
+        entry.put("amount", ((BigDecimal) entry.get("amount")).add(bucket.amount));
+    }
+
+    // Keys are applied in sorted order so concurrent writers lock rows in the same order
+    private void upsert(Map<BucketKey, Bucket> buckets, String updateSql, String insertSql, boolean daily) {
+        List<Object[]> rows = buckets.entrySet().stream()
+            .map(entry -> new Object[] {
+                entry.getValue().count,
+                entry.getValue().amount,
+                daily ? Date.valueOf(entry.getKey().start.toLocalDate()) : Timestamp.valueOf(entry.getKey().start),
+                entry.getKey().transactionType,
+                entry.getKey().accountType})
+            .collect(Collectors.toList());
+        int[] updated = jdbcTemplate.batchUpdate(updateSql, rows);
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                inserts.add(rows.get(i));
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(insertSql, inserts);
+        }
+    }
+
+    static final class BucketKey implements Comparable<BucketKey> {
+        private final LocalDateTime start;
+        private final String transactionType;
+        private final String accountType;
+
+        BucketKey(LocalDateTime start, String transactionType, String accountType) {
+            this.start = start;
+            this.transactionType = transactionType;
+            this.accountType = accountType;
+        }
+
+        @Override
+        public int compareTo(BucketKey other) {
+            int byStart = start.compareTo(other.start);
+            if (byStart != 0) {
+                return byStart;
+            }
+            int byType = transactionType.compareTo(other.transactionType);
+            return byType != 0 ? byType : accountType.compareTo(other.accountType);
+        }
+    }
+
+    static final class Bucket {
+        private long count;
+        private BigDecimal amount = BigDecimal.ZERO;
+
+        void add(long count, BigDecimal amount) {
+            this.count += count;
+            this.amount = this.amount.add(amount);
+        }
+    }
+}
@@ -2,13 +2,20 @@ package com.bankmanagement.service;
 
 import com.bankmanagement.model.Transaction;
 import com.bankmanagement.model.Account;
+import com.bankmanagement.model.OutboxEvent;
 import com.bankmanagement.repository.TransactionRepository;
 import com.bankmanagement.repository.AccountRepository;
+import com.bankmanagement.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -23,6 +30,27 @@ public class TransactionService {
     @Autowired
     private AccountRepository accountRepository;
     
+    @Autowired
+    private BalanceReconciliationService balanceReconciliationService;
+    
+    @Autowired
+    private OutboxService outboxService;
+    
+    @Autowired
+    private EntityCounterService entityCounterService;
+    
+    @Autowired
+    private TableVersionService tableVersionService;
+    
+    @Autowired
+    private TransactionSyncService transactionSyncService;
+
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
     public List<Transaction> getAllTransactions() {
         return transactionRepository.findAll();
     }
@@ -67,6 +95,11 @@ public class TransactionService {
         
         // Save the transaction with determined status
         Transaction savedTransaction = transactionRepository.save(transaction);
+        outboxService.recordPosting(savedTransaction, OutboxEvent.EventSource.TRANSACTION_SERVICE);
+        transactionSyncService.recordCreated(savedTransaction.getTransactionId());
+        balanceReconciliationService.recordPosting(savedTransaction);
+        entityCounterService.recordPosting(savedTransaction);
+        tableVersionService.recordWrite(TableVersionService.Table.TRANSACTIONS, TableVersionService.Table.ACCOUNTS);
         
         System.out.println("✅ Transaction saved with ID: " + savedTransaction.getTransactionId() + 
                          " - Destination Account ID: " + savedTransaction.getDestinationAccountId());
@@ -165,10 +198,16 @@ public class TransactionService {
     }
     
     public void deleteTransaction(Long id) {
-        if (!transactionRepository.existsById(id)) {
-            throw new RuntimeException("Transaction not found with id: " + id);
-        }
-        transactionRepository.deleteById(id);
+        Transaction transaction = transactionRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Transaction not found with id: " + id));
+        transactionRepository.delete(transaction);
+        // Takes the posting back out of the rollups, committed together with the delete
+        outboxService.recordReversal(transaction, OutboxEvent.EventSource.TRANSACTION_SERVICE);
+        transactionSyncService.recordDeleted(id);
+        boolean thisMonth = transaction.getTransactionDate() != null &&
+            java.time.YearMonth.from(transaction.getTransactionDate()).equals(java.time.YearMonth.now());
+        entityCounterService.recordTransactionsRemoved(1, thisMonth ? 1 : 0);
+        tableVersionService.recordWrite(TableVersionService.Table.TRANSACTIONS);
     }
     
     public long getTotalTransactions() {
@@ -177,7 +216,232 @@ public class TransactionService {
     
     public long getMonthlyTransactions() {
         LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
-        return transactionRepository.countByTransactionDateAfter(startOfMonth);
+        // Daily rollups for the elapsed days plus today's hourly rollups
+        return transactionRollupService.countTransactions(startOfMonth, LocalDateTime.now());
+    }
+    
+    /**
+     * One page of transactions, newest first, keyed on (transaction_date, transaction_id).
+     * Each branch walks a composite index from the cursor and stops after limit + 1 rows;
+     * display columns are joined for the page rows only.
+     *
+     * @param accountId matches either leg, so a transfer shows up for its source and its destination
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> listTransactions(LocalDateTime from, LocalDateTime to, Transaction.TransactionType type,
+                                                Long accountId, BigDecimal minAmount, BigDecimal maxAmount,
+                                                String cursor, Integer limit) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        StringBuilder where = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+        if (from != null) {
+            where.append(" AND t.transaction_date >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            where.append(" AND t.transaction_date < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        if (type != null) {
+            where.append(" AND t.transaction_type = ?");
+            args.add(type.name());
+        }
+        if (minAmount != null) {
+            where.append(" AND t.amount >= ?");
+            args.add(minAmount);
+        }
+        if (maxAmount != null) {
+            where.append(" AND t.amount <= ?");
+            args.add(maxAmount);
+        }
+        if (cursor != null) {
+            String[] key = KeysetCursor.decode(cursor, 2);
+            LocalDateTime afterDateTime = KeysetCursor.parse(key[0], LocalDateTime::parse);
+            Timestamp afterDate = Timestamp.valueOf(afterDateTime);
+            where.append(" AND (t.transaction_date < ? OR (t.transaction_date = ? AND t.transaction_id < ?))");
+            args.add(afterDate);
+            args.add(afterDate);
+            args.add(KeysetCursor.parse(key[1], Long::valueOf));
+        }
+
+        String branch = "SELECT t.transaction_id, t.account_id, t.amount, t.transaction_type, t.description, " +
+            "t.transaction_date, t.destination_account_id FROM transactions t WHERE %s" + where +
+            " ORDER BY t.transaction_date DESC, t.transaction_id DESC LIMIT ?";
+        String page;
+        List<Object> pageArgs = new ArrayList<>();
+        if (accountId != null) {
+            // One index-ordered branch per leg instead of an OR that no index can serve in order
+            page = "(" + String.format(branch, "t.account_id = ?") + ") UNION (" +
+                String.format(branch, "t.destination_account_id = ?") + ")";
+            for (int i = 0; i < 2; i++) {
+                pageArgs.add(accountId);
+                pageArgs.addAll(args);
+                pageArgs.add(pageSize + 1);
+            }
+        } else {
+            page = String.format(branch, "1 = 1");
+            pageArgs.addAll(args);
+            pageArgs.add(pageSize + 1);
+        }
+        pageArgs.add(pageSize + 1);
+
+        String sql = "SELECT p.*, a.account_number, c.first_name, c.last_name, " +
+            "da.account_number AS destination_account_number, dc.first_name AS destination_first_name, " +
+            "dc.last_name AS destination_last_name FROM (" + page + ") p " +
+            "LEFT JOIN accounts a ON a.account_id = p.account_id " +
+            "LEFT JOIN customers c ON c.customer_id = a.customer_id " +
+            "LEFT JOIN accounts da ON da.account_id = p.destination_account_id " +
+            "LEFT JOIN customers dc ON dc.customer_id = da.customer_id " +
+            "ORDER BY p.transaction_date DESC, p.transaction_id DESC LIMIT ?";
+
+        List<Map<String, Object>> rows = jdbcTemplate.query(sql, (rs, rowNum) -> {
+            Map<String, Object> row = new HashMap<>();
+            row.put("transactionId", rs.getLong("transaction_id"));
+            row.put("accountId", rs.getLong("account_id"));
+            row.put("amount", rs.getBigDecimal("amount"));
+            row.put("transactionType", rs.getString("transaction_type"));
+            row.put("description", rs.getString("description"));
+            row.put("transactionDate", rs.getTimestamp("transaction_date").toLocalDateTime());
+            row.put("accountNumber", rs.getString("account_number"));
+            row.put("customerName", fullName(rs.getString("first_name"), rs.getString("last_name")));
+            row.put("destinationAccountId", rs.getObject("destination_account_id") != null ? rs.getLong("destination_account_id") : null);
+            row.put("destinationAccountNumber", rs.getString("destination_account_number"));
+            row.put("destinationCustomerName", fullName(rs.getString("destination_first_name"), rs.getString("destination_last_name")));
+            return row;
+        }, pageArgs.toArray());
+
+        return KeysetCursor.page(rows, pageSize,
+            row -> KeysetCursor.encode(row.get("transactionDate"), row.get("transactionId")));
+    }
+
+    /**
+     * One account's history, newest first, keyed on (transaction_date, transaction_id), covering the
+     * transactions it made and the transfers it received. Each row carries the balance right after it.
+     *
+     * Running balances are walked backwards from the stored balance, and the cursor carries the balance
+     * reached so far, so no page reads more than limit + 1 rows per leg. Balance changes that bypass the
+     * transactions table show up as a step between two rows.
+     *
+     * @return empty if the account does not exist
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getAccountHistory(Long accountId, LocalDateTime from, LocalDateTime to,
+                                                           String cursor, Integer limit) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        List<BigDecimal> stored = jdbcTemplate.queryForList(
+            "SELECT balance FROM accounts WHERE account_id = ?", BigDecimal.class, accountId);
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+
+        StringBuilder where = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+        if (from != null) {
+            where.append(" AND t.transaction_date >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            where.append(" AND t.transaction_date < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        BigDecimal balance;
+        if (cursor != null) {
+            String[] key = KeysetCursor.decode(cursor, 3);
+            LocalDateTime afterDateTime = KeysetCursor.parse(key[0], LocalDateTime::parse);
+            Timestamp afterDate = Timestamp.valueOf(afterDateTime);
+            where.append(" AND (t.transaction_date < ? OR (t.transaction_date = ? AND t.transaction_id < ?))");
+            args.add(afterDate);
+            args.add(afterDate);
+            args.add(KeysetCursor.parse(key[1], Long::valueOf));
+            balance = KeysetCursor.parse(key[2], BigDecimal::new);
+        } else {
+            balance = stored.get(0) != null ? stored.get(0) : BigDecimal.ZERO;
+            if (to != null) {
+                balance = balance.subtract(netChangeSince(accountId, Timestamp.valueOf(to)));
+            }
+        }
+
+        // One index-ordered branch per leg: (account_id, transaction_date) and (destination_account_id, transaction_date)
+        String branch = "SELECT t.transaction_id, t.transaction_date, t.transaction_type, t.amount, t.account_id, " +
+            "t.destination_account_id, t.description FROM transactions t WHERE %s" + where +
+            " ORDER BY t.transaction_date DESC, t.transaction_id DESC LIMIT ?";
+        List<Object> pageArgs = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            pageArgs.add(accountId);
+            pageArgs.addAll(args);
+            pageArgs.add(pageSize + 1);
+        }
+        pageArgs.add(pageSize + 1);
+        String sql = "SELECT p.*, a.account_number, da.account_number AS destination_account_number FROM (" +
+            "(" + String.format(branch, "t.account_id = ?") + ") UNION (" +
+            String.format(branch, "t.destination_account_id = ? AND t.transaction_type = 'TRANSFER'") + ")) p " +
+            "LEFT JOIN accounts a ON a.account_id = p.account_id " +
+            "LEFT JOIN accounts da ON da.account_id = p.destination_account_id " +
+            "ORDER BY p.transaction_date DESC, p.transaction_id DESC LIMIT ?";
+
+        List<Map<String, Object>> rows = jdbcTemplate.query(sql, (rs, rowNum) -> {
+            Map<String, Object> row = new HashMap<>();
+            long sourceId = rs.getLong("account_id");
+            Long destinationId = rs.getObject("destination_account_id") != null ? rs.getLong("destination_account_id") : null;
+            boolean outgoing = sourceId == accountId;
+            boolean incoming = accountId.equals(destinationId);
+            row.put("transactionId", rs.getLong("transaction_id"));
+            row.put("transactionDate", rs.getTimestamp("transaction_date").toLocalDateTime());
+            row.put("transactionType", rs.getString("transaction_type"));
+            row.put("amount", rs.getBigDecimal("amount"));
+            row.put("description", rs.getString("description"));
+            row.put("leg", outgoing && incoming ? "BOTH" : outgoing ? "SOURCE" : "DESTINATION");
+            row.put("counterpartyAccountId", outgoing ? destinationId : Long.valueOf(sourceId));
+            row.put("counterpartyAccountNumber", outgoing ? rs.getString("destination_account_number") : rs.getString("account_number"));
+            return row;
+        }, pageArgs.toArray());
+
+        for (Map<String, Object> row : rows) {
+            BigDecimal change = balanceChange(accountId, row);
+            row.put("balanceChange", change);
+            row.put("balanceAfter", balance);
+            balance = balance.subtract(change);
+        }
+
+        Map<String, Object> page = KeysetCursor.page(rows, pageSize, row -> KeysetCursor.encode(row.get("transactionDate"),
+            row.get("transactionId"), ((BigDecimal) row.get("balanceAfter")).subtract((BigDecimal) row.get("balanceChange"))));
+        page.put("accountId", accountId);
+        page.put("currentBalance", stored.get(0));
+        return Optional.of(page);
+    }
+
+    /**
+     * Signed effect of a history row on the account, by the same rules as updateAccountBalance
+     */
+    private static BigDecimal balanceChange(Long accountId, Map<String, Object> row) {
+        BigDecimal amount = (BigDecimal) row.get("amount");
+        String leg = (String) row.get("leg");
+        if ("DESTINATION".equals(leg)) {
+            return amount;
+        }
+        if ("BOTH".equals(leg)) {
+            // Transfer to itself
+            return BigDecimal.ZERO;
+        }
+        String type = (String) row.get("transactionType");
+        return "DEPOSIT".equals(type) || "INTEREST_CREDIT".equals(type) ? amount : amount.negate();
+    }
+
+    /**
+     * Net effect on the account of every transaction at or after the given time, both legs
+     */
+    private BigDecimal netChangeSince(Long accountId, Timestamp since) {
+        return jdbcTemplate.queryForObject(
+            "SELECT (SELECT COALESCE(SUM(CASE WHEN transaction_type IN ('DEPOSIT', 'INTEREST_CREDIT') THEN amount " +
+            "ELSE -amount END), 0) FROM transactions WHERE account_id = ? AND transaction_date >= ?) + " +
+            "(SELECT COALESCE(SUM(amount), 0) FROM transactions WHERE destination_account_id = ? " +
+            "AND transaction_type = 'TRANSFER' AND transaction_date >= ?)",
+            BigDecimal.class, accountId, since, accountId, since);
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        return firstName != null && lastName != null ? firstName + " " + lastName : null;
     }
     
     public List<Map<String, Object>> getAllTransactionsAsMap() {
@@ -226,8 +490,11 @@ public class TransactionService {
                 
                 // Only update if the balance actually changed
                 if (!currentBalance.equals(account.getBalance())) {
+                    entityCounterService.recordAccountBalanceChange(account, currentBalance.subtract(account.getBalance()));
                     account.setBalance(currentBalance);
                     accountRepository.save(account);
+                    balanceReconciliationService.recordBalanceChange(account.getAccountId(), currentBalance);
+                    tableVersionService.recordWrite(TableVersionService.Table.ACCOUNTS);
                     System.out.println("✅ Updated balance for account " + account.getAccountNumber() + 
                                      " to $" + account.getBalance());
                 } else {
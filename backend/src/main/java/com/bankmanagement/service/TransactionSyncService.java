@@ -0,0 +1,346 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.config.ReplicaRoutingDataSource;
+import com.bankmanagement.model.Transaction;
+import com.bankmanagement.model.TransactionChange;
+import com.bankmanagement.repository.TransactionRepository;
+import com.bankmanagement.util.BatchLookup;
+import com.bankmanagement.util.KeysetCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Delta sync of the transaction list over the transaction_changes log.
+ *
+ * Every write path appends to the log in its own DB transaction. A sync token carries the position
+ * (tx_id, change_seq) of the last change the client has applied; a sync returns the rows created and the
+ * ids removed after it. Identity values can commit out of order, so as in the change feed the log is read
+ * in commit order below the commit horizon on PostgreSQL (see CommitOrderService); elsewhere a sync stops
+ * at a gap in the sequence until the change after it is older than the settle window, and logs every gap
+ * it passes. Syncs run on the primary, since a replica may have applied a change before an earlier one.
+ * Clients without a usable token (none, behind the purged part of the log, or behind a RESET) get a full
+ * snapshot.
+ */
+@Service
+public class TransactionSyncService {
+    private static final Logger log = LoggerFactory.getLogger(TransactionSyncService.class);
+
+    public static final int DEFAULT_LIMIT = 500;
+    public static final int MAX_LIMIT = BatchLookup.MAX_KEYS;
+
+    private static final String TABLE_NAME = "transaction_changes";
+    private static final String TOKEN_PREFIX = "transactions";
+    private static final int PURGE_CHUNK_SIZE = 10000;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO transaction_changes (transaction_id, change_type, changed_at) VALUES (?, ?, ?)";
+
+    private static final String SELECT_CHANGES =
+        "SELECT change_seq, tx_id, transaction_id, change_type, changed_at FROM transaction_changes ";
+
+    // Positions after (tx_id, change_seq) and below the horizon, in position order
+    private static final String READ_AFTER_SQL = SELECT_CHANGES +
+        "WHERE tx_id >= ? AND tx_id < ? AND (tx_id > ? OR change_seq > ?) ORDER BY tx_id, change_seq LIMIT ?";
+
+    private static final String PURGE_CHUNK_SQL =
+        "DELETE FROM transaction_changes WHERE change_seq IN (SELECT change_seq FROM transaction_changes " +
+        "WHERE tx_id < ? OR (tx_id = ? AND change_seq < ?) LIMIT " + PURGE_CHUNK_SIZE + ")";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CommitOrderService commitOrderService;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    @Value("${sync.transactions.settle-ms:2000}")
+    private long settleMillis;
+
+    @Value("${sync.transactions.retention-days:30}")
+    private int retentionDays;
+
+    public TransactionSyncService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Long transactionId) {
+        record(transactionId, TransactionChange.ChangeType.CREATED);
+    }
+
+    /**
+     * Log already-inserted postings with a single JDBC batch
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(List<Transaction> transactions) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, transactions, transactions.size(), (ps, transaction) -> {
+            ps.setLong(1, transaction.getTransactionId());
+            ps.setString(2, TransactionChange.ChangeType.CREATED.name());
+            ps.setTimestamp(3, now);
+        });
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Long transactionId) {
+        record(transactionId, TransactionChange.ChangeType.DELETED);
+    }
+
+    /**
+     * Mark transactions as rewritten outside the logged write paths; every client resyncs in full
+     */
+    @Transactional
+    public void recordReset() {
+        record(null, TransactionChange.ChangeType.RESET);
+    }
+
+    /**
+     * Changes after the token, or a full snapshot when there is no usable token
+     *
+     * @param token sync token from the previous response, null for the first sync
+     * @param limit maximum number of changes (capped at MAX_LIMIT); hasMore tells the client to call again
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public Map<String, Object> sync(String token, Integer limit) {
+        Position after = token == null || token.isBlank() ? null : decodeToken(token);
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        return ReplicaRoutingDataSource.onPrimary(() ->
+            readOnlyTransactionTemplate.execute(status -> after == null ? snapshot(false, null) : delta(after, pageSize)));
+    }
+
+    /**
+     * Drop changes older than the retention window. The newest of them is kept and marked PURGED first,
+     * so a client whose token lies before it meets the marker and resyncs in full.
+     */
+    public long purge() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays));
+        long horizon = commitOrderService.isCommitOrdered(TABLE_NAME) ? commitOrderService.horizon() : Long.MAX_VALUE;
+        List<TransactionChange> newestExpired = jdbcTemplate.query(SELECT_CHANGES +
+                "WHERE changed_at < ? AND tx_id < ? ORDER BY tx_id DESC, change_seq DESC LIMIT 1",
+            this::mapChange, cutoff, horizon);
+        if (newestExpired.isEmpty()) {
+            return 0;
+        }
+        TransactionChange keep = newestExpired.get(0);
+        transactionTemplate.execute(status -> jdbcTemplate.update(
+            "UPDATE transaction_changes SET change_type = ? WHERE change_seq = ?",
+            TransactionChange.ChangeType.PURGED.name(), keep.getChangeSeq()));
+
+        long purged = 0;
+        // One short DB transaction per chunk
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> jdbcTemplate.update(PURGE_CHUNK_SQL,
+                keep.getTxId(), keep.getTxId(), keep.getChangeSeq()));
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            purged += deleted;
+        }
+        log.info("🧹 Purged {} transaction changes older than {} days", purged, retentionDays);
+        return purged;
+    }
+
+    private void record(Long transactionId, TransactionChange.ChangeType type) {
+        jdbcTemplate.update(INSERT_SQL, transactionId, type.name(), Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private Map<String, Object> delta(Position after, int pageSize) {
+        // Changes between the token and the oldest retained one may have been purged
+        List<TransactionChange> oldest = jdbcTemplate.query(
+            SELECT_CHANGES + "ORDER BY tx_id, change_seq LIMIT 1", this::mapChange);
+        if (!oldest.isEmpty() && oldest.get(0).getChangeType() == TransactionChange.ChangeType.PURGED
+                && Position.of(oldest.get(0)).isAfter(after)) {
+            return snapshot(true, null);
+        }
+
+        List<TransactionChange> changes = readChanges(after, pageSize);
+        Set<Long> created = new LinkedHashSet<>();
+        Set<Long> removed = new LinkedHashSet<>();
+        for (TransactionChange change : changes) {
+            switch (change.getChangeType()) {
+                case CREATED:
+                    created.add(change.getTransactionId());
+                    break;
+                case DELETED:
+                case ARCHIVED:
+                    // Still sent when created in the same page, the client may have it from its snapshot
+                    created.remove(change.getTransactionId());
+                    removed.add(change.getTransactionId());
+                    break;
+                case RESET:
+                case PURGED:
+                    return snapshot(true, Position.of(change));
+            }
+        }
+
+        List<Long> createdIds = new ArrayList<>(created);
+        Map<Long, Map<String, Object>> rows = BatchLookup.fetch(createdIds,
+            transactionRepository::findTransactionsAsMapByIdIn, row -> ((Number) row.get("transactionId")).longValue());
+        List<Map<String, Object>> upserts = new ArrayList<>(rows.size());
+        for (Long id : createdIds) {
+            // Absent rows were removed since; that change follows in a later page
+            Map<String, Object> row = rows.get(id);
+            if (row != null) {
+                upserts.add(row);
+            }
+        }
+
+        Position last = changes.isEmpty() ? after : Position.of(changes.get(changes.size() - 1));
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", true);
+        result.put("full", false);
+        result.put("resetRequired", false);
+        result.put("upserts", upserts);
+        result.put("deletes", new ArrayList<>(removed));
+        result.put("changes", changes.size());
+        result.put("hasMore", changes.size() == pageSize);
+        result.put("syncToken", encodeToken(last));
+        return result;
+    }
+
+    /**
+     * Every transaction with a token that covers the changes they reflect. Changes committed while the
+     * list is read come again in the next delta, which clients apply idempotently by transaction id.
+     */
+    private Map<String, Object> snapshot(boolean resetRequired, Position atLeast) {
+        Position head = settledHead();
+        Position token = atLeast != null && atLeast.isAfter(head) ? atLeast : head;
+        List<Map<String, Object>> transactions = transactionRepository.findAllTransactionsAsMap();
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", true);
+        result.put("full", true);
+        result.put("resetRequired", resetRequired);
+        result.put("upserts", transactions);
+        result.put("deletes", List.of());
+        result.put("changes", 0);
+        result.put("hasMore", false);
+        result.put("syncToken", encodeToken(token));
+        return result;
+    }
+
+    /**
+     * A position that nothing can still commit at or below, so a snapshot read afterwards includes all of
+     * it: the commit horizon, or else the newest change_seq below every change still inside the settle window
+     */
+    private Position settledHead() {
+        if (commitOrderService.isCommitOrdered(TABLE_NAME)) {
+            return new Position(commitOrderService.horizon(), 0);
+        }
+        Timestamp settledBefore = Timestamp.valueOf(LocalDateTime.now().minusNanos(settleMillis * 1_000_000L));
+        Long firstRecent = jdbcTemplate.queryForObject(
+            "SELECT MIN(change_seq) FROM transaction_changes WHERE changed_at >= ?", Long.class, settledBefore);
+        Long head = firstRecent != null
+            ? jdbcTemplate.queryForObject(
+                "SELECT MAX(change_seq) FROM transaction_changes WHERE change_seq < ?", Long.class, firstRecent)
+            : jdbcTemplate.queryForObject("SELECT MAX(change_seq) FROM transaction_changes", Long.class);
+        return new Position(0, head != null ? head : 0);
+    }
+
+    private List<TransactionChange> readChanges(Position after, int limit) {
+        if (commitOrderService.isCommitOrdered(TABLE_NAME)) {
+            return jdbcTemplate.query(READ_AFTER_SQL, this::mapChange,
+                after.txId, commitOrderService.horizon(), after.txId, after.changeSeq, limit);
+        }
+
+        // tx_id is 0 throughout, so this is change_seq order
+        List<TransactionChange> rows = jdbcTemplate.query(READ_AFTER_SQL, this::mapChange,
+            after.txId, Long.MAX_VALUE, after.txId, after.changeSeq, limit);
+        LocalDateTime settledBefore = LocalDateTime.now().minusNanos(settleMillis * 1_000_000L);
+        List<TransactionChange> batch = new ArrayList<>(rows.size());
+        long expected = after.changeSeq + 1;
+        for (TransactionChange change : rows) {
+            if (change.getChangeSeq() != expected) {
+                if (change.getChangedAt().isAfter(settledBefore)) {
+                    break;
+                }
+                log.warn("⚠️ Transaction sync passing change_seq {}..{}, not committed within {} ms",
+                    expected, change.getChangeSeq() - 1, settleMillis);
+            }
+            batch.add(change);
+            expected = change.getChangeSeq() + 1;
+        }
+        return batch;
+    }
+
+    private TransactionChange mapChange(ResultSet rs, int rowNum) throws SQLException {
+        TransactionChange change = new TransactionChange();
+        change.setChangeSeq(rs.getLong("change_seq"));
+        change.setTxId(rs.getLong("tx_id"));
+        long transactionId = rs.getLong("transaction_id");
+        change.setTransactionId(rs.wasNull() ? null : transactionId);
+        change.setChangeType(TransactionChange.ChangeType.valueOf(rs.getString("change_type")));
+        change.setChangedAt(rs.getTimestamp("changed_at").toLocalDateTime());
+        return change;
+    }
+
+    private static String encodeToken(Position position) {
+        return KeysetCursor.encode(TOKEN_PREFIX, position.txId, position.changeSeq);
+    }
+
+    private static Position decodeToken(String token) {
+        try {
+            String[] parts;
+            try {
+                parts = KeysetCursor.decode(token, 3);
+            } catch (IllegalArgumentException e) {
+                // Tokens issued before tx_id was tracked carry only the change_seq
+                String[] legacy = KeysetCursor.decode(token, 2);
+                parts = new String[] {legacy[0], "0", legacy[1]};
+            }
+            if (!TOKEN_PREFIX.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid sync token");
+            }
+            return new Position(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid sync token", e);
+        }
+    }
+
+    /**
+     * Place of a change in the log, ordered by tx_id and then change_seq
+     */
+    private static final class Position {
+        private final long txId;
+        private final long changeSeq;
+
+        Position(long txId, long changeSeq) {
+            this.txId = txId;
+            this.changeSeq = changeSeq;
+        }
+
+        static Position of(TransactionChange change) {
+            return new Position(change.getTxId(), change.getChangeSeq());
+        }
+
+        boolean isAfter(Position other) {
+            return txId > other.txId || (txId == other.txId && changeSeq > other.changeSeq);
+        }
+    }
+}
@@ -0,0 +1,471 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.config.ReplicaRoutingDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram inverted index over customer names, emails and phones.
+ *
+ * Every field contributes its three-character substrings plus two word-start grams, so terms of
+ * three or more characters match anywhere and shorter terms match the start of a word. A query
+ * intersects the sorted posting lists of its grams, smallest first, then checks and ranks the
+ * surviving candidates against the stored fields. Removed customers are tombstoned and the postings
+ * are compacted once tombstones pass a quarter of the documents.
+ *
+ * The index is loaded from the database on first use and only sees writes made through this node,
+ * so multi-node deployments should use the pg_trgm backend.
+ */
+@Service
+@ConditionalOnProperty(name = "customers.search.backend", havingValue = "memory", matchIfMissing = true)
+public class TrigramCustomerSearchIndex implements CustomerSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(TrigramCustomerSearchIndex.class);
+
+    private static final String LOAD_SQL =
+        "SELECT customer_id, first_name, last_name, email, phone FROM customers ORDER BY customer_id";
+
+    private static final char WORD_START = '\u0001';
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int COMPACT_MIN_REMOVED = 1000;
+
+    // Field order inside Doc: last name ranks above first name, then email and phone
+    private static final double[] FIELD_WEIGHTS = {1.0, 0.9, 0.8, 0.8};
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    @Autowired
+    @Qualifier("taskExecutor")
+    private Executor taskExecutor;
+
+    @Value("${customers.search.max-candidates:20000}")
+    private int maxCandidates;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private Map<Long, Postings> postings = new HashMap<>();
+    private List<Doc> docs = new ArrayList<>();
+    private final Map<Long, Integer> docIdByCustomer = new HashMap<>();
+    private int removedDocs;
+
+    private volatile boolean ready;
+    private final AtomicBoolean building = new AtomicBoolean();
+    private final Set<Long> removedDuringBuild = ConcurrentHashMap.newKeySet();
+    private volatile LocalDateTime builtAt;
+    private volatile long lastBuildMillis;
+
+    private final AtomicLong searches = new AtomicLong();
+    private final AtomicLong searchNanos = new AtomicLong();
+    private final AtomicLong truncatedSearches = new AtomicLong();
+
+    public TrigramCustomerSearchIndex(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                      @Value("${customers.search.fetch-size:1000}") int fetchSize) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public List<Hit> search(String query, int limit) {
+        List<String> terms = CustomerSearchIndex.terms(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        long startTime = System.nanoTime();
+        PriorityQueue<ScoredDoc> top = new PriorityQueue<>(limit + 1,
+            Comparator.comparingDouble(ScoredDoc::score).thenComparing(ScoredDoc::customerId, Comparator.reverseOrder()));
+        lock.readLock().lock();
+        try {
+            int[] candidates = null;
+            for (String term : terms) {
+                int[] termCandidates = candidatesFor(term);
+                candidates = candidates == null ? termCandidates : intersect(candidates, termCandidates, termCandidates.length);
+                if (candidates.length == 0) {
+                    break;
+                }
+            }
+
+            int scanned = 0;
+            for (int docId : candidates) {
+                Doc doc = docs.get(docId);
+                if (doc == null) {
+                    continue;
+                }
+                if (++scanned > maxCandidates) {
+                    // Very short terms on a large index: rank the first candidates rather than all of them
+                    truncatedSearches.incrementAndGet();
+                    break;
+                }
+                double score = score(doc, terms);
+                if (score > 0) {
+                    top.add(new ScoredDoc(doc.customerId, score));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Hit[] hits = new Hit[top.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            ScoredDoc scored = top.poll();
+            hits[i] = new Hit(scored.customerId(), scored.score());
+        }
+        searches.incrementAndGet();
+        searchNanos.addAndGet(System.nanoTime() - startTime);
+        return Arrays.asList(hits);
+    }
+
+    @Override
+    public void upsert(Long customerId, String firstName, String lastName, String email, String phone) {
+        if (customerId == null) {
+            return;
+        }
+        Doc doc = new Doc(customerId, lastName, firstName, email, phone);
+        lock.writeLock().lock();
+        try {
+            removeLocked(customerId);
+            addLocked(doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long customerId) {
+        if (customerId == null) {
+            return;
+        }
+        if (building.get()) {
+            removedDuringBuild.add(customerId);
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(customerId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * True once loaded. The first call starts the load on taskExecutor.
+     */
+    @Override
+    public boolean isReady() {
+        if (!ready && !building.get()) {
+            taskExecutor.execute(this::rebuild);
+        }
+        return ready;
+    }
+
+    @Override
+    public void rebuild() {
+        if (!building.compareAndSet(false, true)) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        try {
+            ready = false;
+            removedDuringBuild.clear();
+            lock.writeLock().lock();
+            try {
+                postings = new HashMap<>();
+                docs = new ArrayList<>();
+                docIdByCustomer.clear();
+                removedDocs = 0;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            List<Doc> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+            // Writes committed before the load are not replayed, so it must not miss them on a lagging replica
+            ReplicaRoutingDataSource.onPrimary(() -> readOnlyTransactionTemplate.execute(status -> {
+                streamingJdbcTemplate.query(LOAD_SQL, rs -> {
+                    batch.add(new Doc(rs.getLong("customer_id"), rs.getString("last_name"),
+                        rs.getString("first_name"), rs.getString("email"), rs.getString("phone")));
+                    if (batch.size() >= LOAD_BATCH_SIZE) {
+                        loadBatch(batch);
+                    }
+                });
+                return null;
+            }));
+            loadBatch(batch);
+
+            ready = true;
+            builtAt = LocalDateTime.now();
+            lastBuildMillis = System.currentTimeMillis() - startTime;
+            log.info("🔎 Customer search index loaded: {} customers in {} ms", docIdByCustomerSize(), lastBuildMillis);
+        } catch (RuntimeException e) {
+            log.error("❌ Failed to load customer search index: {}", e.getMessage());
+        } finally {
+            removedDuringBuild.clear();
+            building.set(false);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            long postingEntries = 0;
+            for (Postings list : postings.values()) {
+                postingEntries += list.size;
+            }
+            stats.put("customers", docIdByCustomer.size());
+            stats.put("trigrams", postings.size());
+            stats.put("postingEntries", postingEntries);
+            stats.put("tombstones", removedDocs);
+        } finally {
+            lock.readLock().unlock();
+        }
+        long searchCount = searches.get();
+        stats.put("backend", "memory");
+        stats.put("ready", ready);
+        stats.put("building", building.get());
+        stats.put("builtAt", builtAt);
+        stats.put("lastBuildMs", lastBuildMillis);
+        stats.put("searches", searchCount);
+        stats.put("avgSearchMicros", searchCount > 0 ? searchNanos.get() / searchCount / 1000.0 : null);
+        stats.put("truncatedSearches", truncatedSearches.get());
+        stats.put("maxCandidates", maxCandidates);
+        return stats;
+    }
+
+    private void loadBatch(List<Doc> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Doc doc : batch) {
+                // Writes made while loading are newer than the row read here
+                if (!docIdByCustomer.containsKey(doc.customerId) && !removedDuringBuild.contains(doc.customerId)) {
+                    addLocked(doc);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        batch.clear();
+    }
+
+    private int docIdByCustomerSize() {
+        lock.readLock().lock();
+        try {
+            return docIdByCustomer.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addLocked(Doc doc) {
+        int docId = docs.size();
+        docs.add(doc);
+        docIdByCustomer.put(doc.customerId, docId);
+        // Doc ids only grow, so appending keeps every posting list sorted
+        for (long gram : doc.grams()) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(docId);
+        }
+    }
+
+    private void removeLocked(Long customerId) {
+        Integer docId = docIdByCustomer.remove(customerId);
+        if (docId == null) {
+            return;
+        }
+        docs.set(docId, null);
+        removedDocs++;
+        if (removedDocs >= COMPACT_MIN_REMOVED && removedDocs * 4 > docs.size()) {
+            compactLocked();
+        }
+    }
+
+    private void compactLocked() {
+        List<Doc> live = new ArrayList<>(docIdByCustomer.size());
+        for (Doc doc : docs) {
+            if (doc != null) {
+                live.add(doc);
+            }
+        }
+        postings = new HashMap<>();
+        docs = new ArrayList<>(live.size());
+        docIdByCustomer.clear();
+        removedDocs = 0;
+        live.forEach(this::addLocked);
+    }
+
+    private int[] candidatesFor(String term) {
+        long[] grams = term.length() >= 3 ? substringGrams(term) : new long[] {wordStartGram(term)};
+        Postings[] lists = new Postings[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.get(grams[i]);
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        int[] result = Arrays.copyOf(lists[0].ids, lists[0].size);
+        for (int i = 1; i < lists.length && result.length > 0; i++) {
+            result = intersect(result, lists[i].ids, lists[i].size);
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] left, int[] right, int rightSize) {
+        int[] result = new int[Math.min(left.length, rightSize)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < rightSize) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[count++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Sum over terms of the best weighted field match; 0 if any term matches no field
+     */
+    private static double score(Doc doc, List<String> terms) {
+        double total = 0;
+        for (String term : terms) {
+            double best = 0;
+            for (int field = 0; field < doc.fields.length; field++) {
+                best = Math.max(best, matchScore(doc.fields[field], term) * FIELD_WEIGHTS[field]);
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private static double matchScore(String field, String term) {
+        if (field.isEmpty()) {
+            return 0;
+        }
+        if (field.equals(term)) {
+            return 100;
+        }
+        if (field.startsWith(term)) {
+            return 60;
+        }
+        for (int at = field.indexOf(term, 1); at > 0; at = field.indexOf(term, at + 1)) {
+            if (!Character.isLetterOrDigit(field.charAt(at - 1))) {
+                return 40;
+            }
+        }
+        return term.length() >= 3 && field.contains(term) ? 20 : 0;
+    }
+
+    private static long[] substringGrams(String text) {
+        long[] grams = new long[text.length() - 2];
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams[i] = pack(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static long wordStartGram(String prefix) {
+        return prefix.length() == 1 ? pack(WORD_START, WORD_START, prefix.charAt(0))
+            : pack(WORD_START, prefix.charAt(0), prefix.charAt(1));
+    }
+
+    private static long pack(char first, char second, char third) {
+        return ((long) first << 32) | ((long) second << 16) | third;
+    }
+
+    private record ScoredDoc(Long customerId, double score) {
+    }
+
+    /**
+     * Growable sorted list of doc ids
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int docId) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            ids[size++] = docId;
+        }
+    }
+
+    private static final class Doc {
+        private final Long customerId;
+        // last name, first name, email, phone; normalized the same way as query terms
+        private final String[] fields;
+
+        Doc(Long customerId, String lastName, String firstName, String email, String phone) {
+            this.customerId = customerId;
+            this.fields = new String[] {
+                normalize(lastName), normalize(firstName), normalize(email), CustomerSearchIndex.normalizePhone(phone)};
+        }
+
+        Set<Long> grams() {
+            Set<Long> grams = new HashSet<>();
+            for (String field : fields) {
+                for (int i = 0; i + 3 <= field.length(); i++) {
+                    grams.add(pack(field.charAt(i), field.charAt(i + 1), field.charAt(i + 2)));
+                }
+                for (int i = 0; i < field.length(); i++) {
+                    boolean wordStart = Character.isLetterOrDigit(field.charAt(i)) &&
+                        (i == 0 || !Character.isLetterOrDigit(field.charAt(i - 1)));
+                    if (wordStart) {
+                        grams.add(wordStartGram(field.substring(i, i + 1)));
+                        if (i + 1 < field.length()) {
+                            grams.add(wordStartGram(field.substring(i, i + 2)));
+                        }
+                    }
+                }
+            }
+            return grams;
+        }
+
+        private static String normalize(String value) {
+            return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
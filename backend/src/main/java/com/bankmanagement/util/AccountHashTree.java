@@ -0,0 +1,262 @@
+package com.bankmanagement.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Merkle-style hash tree over (accountId, balance, lastTransactionId).
+ *
+ * Accounts are hashed into a fixed number of leaf buckets; every node stores the
+ * (mod 2^64) sum of the digests below it, so updating one account only touches the
+ * nodes on its leaf-to-root path. Two trees with the same shape can be compared by
+ * descending only into subtrees whose node values differ.
+ */
+public class AccountHashTree {
+
+    private static final int FANOUT_BITS = 4;
+    private static final int FANOUT = 1 << FANOUT_BITS;
+
+    private final int depth;
+    private final long[][] levels;
+    private final List<Map<Long, Entry>> leaves;
+
+    public AccountHashTree(int depth) {
+        if (depth < 1 || depth > 6) {
+            throw new IllegalArgumentException("Tree depth must be between 1 and 6");
+        }
+        this.depth = depth;
+        this.levels = new long[depth + 1][];
+        for (int d = 0; d <= depth; d++) {
+            levels[d] = new long[1 << (FANOUT_BITS * d)];
+        }
+        int leafCount = levels[depth].length;
+        this.leaves = new ArrayList<>(leafCount);
+        for (int i = 0; i < leafCount; i++) {
+            leaves.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Set the balance and last posting id of an account. Ignored when the entry already reflects a later
+     * posting, so a balance captured before a posting that was recorded first cannot overwrite it.
+     */
+    public synchronized void put(long accountId, BigDecimal balance, long lastTransactionId) {
+        Entry current = get(accountId);
+        if (current != null && lastTransactionId < current.lastTransactionId) {
+            return;
+        }
+        int leaf = leafIndex(accountId);
+        Entry entry = new Entry(accountId, normalize(balance), lastTransactionId);
+        Entry previous = leaves.get(leaf).put(accountId, entry);
+        propagate(leaf, entry.digest - (previous != null ? previous.digest : 0L));
+    }
+
+    /**
+     * Add a signed amount to an account's balance (creating it at zero if absent). Ignored when the
+     * posting is at or below the entry's last posting id, since the entry already counts it.
+     */
+    public synchronized void apply(long accountId, BigDecimal signedAmount, long transactionId) {
+        Entry current = get(accountId);
+        if (current != null && transactionId <= current.lastTransactionId) {
+            return;
+        }
+        put(accountId, current != null ? current.balance.add(signedAmount) : signedAmount, transactionId);
+    }
+
+    public synchronized void remove(long accountId) {
+        int leaf = leafIndex(accountId);
+        Entry previous = leaves.get(leaf).remove(accountId);
+        if (previous != null) {
+            propagate(leaf, -previous.digest);
+        }
+    }
+
+    public synchronized Entry get(long accountId) {
+        return leaves.get(leafIndex(accountId)).get(accountId);
+    }
+
+    public synchronized long rootHash() {
+        return levels[0][0];
+    }
+
+    public synchronized int size() {
+        int size = 0;
+        for (Map<Long, Entry> leaf : leaves) {
+            size += leaf.size();
+        }
+        return size;
+    }
+
+    public synchronized void clear() {
+        for (long[] level : levels) {
+            java.util.Arrays.fill(level, 0L);
+        }
+        for (Map<Long, Entry> leaf : leaves) {
+            leaf.clear();
+        }
+    }
+
+    /**
+     * Compare against a tree of the same depth, visiting only mismatched subtrees.
+     * Both trees are locked for the duration of the comparison.
+     */
+    public Diff diff(AccountHashTree other) {
+        if (other.depth != depth) {
+            throw new IllegalArgumentException("Cannot compare trees of different depth");
+        }
+        AccountHashTree first = System.identityHashCode(this) <= System.identityHashCode(other) ? this : other;
+        AccountHashTree second = first == this ? other : this;
+        synchronized (first) {
+            synchronized (second) {
+                Diff diff = new Diff();
+                descend(other, 0, 0, diff);
+                return diff;
+            }
+        }
+    }
+
+    private void descend(AccountHashTree other, int level, int index, Diff diff) {
+        diff.nodesVisited++;
+        if (levels[level][index] == other.levels[level][index]) {
+            return;
+        }
+        if (level == depth) {
+            compareLeaf(leaves.get(index), other.leaves.get(index), diff);
+            return;
+        }
+        int firstChild = index << FANOUT_BITS;
+        for (int child = firstChild; child < firstChild + FANOUT; child++) {
+            descend(other, level + 1, child, diff);
+        }
+    }
+
+    private void compareLeaf(Map<Long, Entry> mine, Map<Long, Entry> theirs, Diff diff) {
+        Set<Long> accountIds = new HashSet<>(mine.keySet());
+        accountIds.addAll(theirs.keySet());
+        for (Long accountId : accountIds) {
+            diff.entriesCompared++;
+            Entry left = mine.get(accountId);
+            Entry right = theirs.get(accountId);
+            if (left == null || right == null || left.digest != right.digest) {
+                diff.mismatches.add(new Mismatch(accountId, left, right));
+            }
+        }
+    }
+
+    private void propagate(int leaf, long delta) {
+        if (delta == 0L) {
+            return;
+        }
+        int index = leaf;
+        for (int d = depth; d >= 0; d--) {
+            levels[d][index] += delta;
+            index >>>= FANOUT_BITS;
+        }
+    }
+
+    private int leafIndex(long accountId) {
+        return (int) (mix(accountId) & (levels[depth].length - 1));
+    }
+
+    private static BigDecimal normalize(BigDecimal balance) {
+        return (balance != null ? balance : BigDecimal.ZERO).setScale(2, RoundingMode.HALF_EVEN);
+    }
+
+    private static long digest(long accountId, BigDecimal balance, long lastTransactionId) {
+        long h = mix(accountId);
+        h = mix(h ^ balance.unscaledValue().longValue());
+        h = mix(h ^ lastTransactionId);
+        return h;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Immutable per-account leaf entry
+     */
+    public static final class Entry {
+        private final long accountId;
+        private final BigDecimal balance;
+        private final long lastTransactionId;
+        private final long digest;
+
+        Entry(long accountId, BigDecimal balance, long lastTransactionId) {
+            this.accountId = accountId;
+            this.balance = balance;
+            this.lastTransactionId = lastTransactionId;
+            this.digest = digest(accountId, balance, lastTransactionId);
+        }
+
+        public long getAccountId() {
+            return accountId;
+        }
+
+        public BigDecimal getBalance() {
+            return balance;
+        }
+
+        public long getLastTransactionId() {
+            return lastTransactionId;
+        }
+    }
+
+    /**
+     * An account whose entry differs (or is missing) between two trees
+     */
+    public static final class Mismatch {
+        private final long accountId;
+        private final Entry left;
+        private final Entry right;
+
+        Mismatch(long accountId, Entry left, Entry right) {
+            this.accountId = accountId;
+            this.left = left;
+            this.right = right;
+        }
+
+        public long getAccountId() {
+            return accountId;
+        }
+
+        public Entry getLeft() {
+            return left;
+        }
+
+        public Entry getRight() {
+            return right;
+        }
+    }
+
+    /**
+     * Result of a tree comparison with the amount of work it took
+     */
+    public static final class Diff {
+        private final List<Mismatch> mismatches = new ArrayList<>();
+        private long nodesVisited;
+        private long entriesCompared;
+
+        public List<Mismatch> getMismatches() {
+            return mismatches;
+        }
+
+        public long getNodesVisited() {
+            return nodesVisited;
+        }
+
+        public long getEntriesCompared() {
+            return entriesCompared;
+        }
+    }
+}
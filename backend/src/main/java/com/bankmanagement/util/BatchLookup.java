@@ -0,0 +1,57 @@
+package com.bankmanagement.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Multi-get by key: the distinct keys are looked up with one IN-list query per chunk of
+ * CHUNK_SIZE, so N keys cost ceil(N / CHUNK_SIZE) round trips and no query exceeds the
+ * driver's bind-parameter limit.
+ */
+public final class BatchLookup {
+
+    public static final int CHUNK_SIZE = 500;
+    public static final int MAX_KEYS = 1000;
+
+    private BatchLookup() {
+    }
+
+    /**
+     * Distinct non-null keys in request order
+     *
+     * @throws IllegalArgumentException if there are more than MAX_KEYS
+     */
+    public static <K> List<K> distinct(Collection<K> keys) {
+        LinkedHashSet<K> unique = new LinkedHashSet<>();
+        if (keys != null) {
+            for (K key : keys) {
+                if (key != null) {
+                    unique.add(key);
+                }
+            }
+        }
+        if (unique.size() > MAX_KEYS) {
+            throw new IllegalArgumentException("At most " + MAX_KEYS + " keys per request, got " + unique.size());
+        }
+        return new ArrayList<>(unique);
+    }
+
+    /**
+     * Rows found for the keys, by key
+     */
+    public static <K, V> Map<K, V> fetch(List<K> keys, Function<List<K>, List<V>> query, Function<V, K> keyOf) {
+        Map<K, V> found = new HashMap<>();
+        for (int start = 0; start < keys.size(); start += CHUNK_SIZE) {
+            List<K> chunk = keys.subList(start, Math.min(start + CHUNK_SIZE, keys.size()));
+            for (V row : query.apply(chunk)) {
+                found.put(keyOf.apply(row), row);
+            }
+        }
+        return found;
+    }
+}
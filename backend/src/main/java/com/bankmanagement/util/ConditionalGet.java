@@ -0,0 +1,48 @@
+package com.bankmanagement.util;
+
+import com.bankmanagement.config.ReplicaRoutingDataSource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for reads tagged with a TableVersionService ETag: a matching If-None-Match is
+ * answered with 304 before the query runs, otherwise the ETag goes out with the 200.
+ */
+public final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * True when the client already holds this ETag; the 304 has then been set and the handler returns null.
+     * Otherwise the ETag header is added to the response.
+     */
+    public static boolean notModified(WebRequest request, String etag) {
+        return etag != null && request.checkNotModified(etag);
+    }
+
+    /**
+     * Run the read behind a tagged response where it sees every write the ETag covers: on a replica that
+     * has applied the required table versions (see TableVersionService.requiredVersions), otherwise on the
+     * primary, so a lagging replica never answers with data older than its tag
+     */
+    public static <T> T read(String etag, Map<String, Long> requiredVersions, Supplier<T> query) {
+        if (etag == null) {
+            return query.get();
+        }
+        return requiredVersions != null
+            ? ReplicaRoutingDataSource.onReplicaAtLeast(requiredVersions, query)
+            : ReplicaRoutingDataSource.onPrimary(query);
+    }
+
+    /**
+     * 200 that the client may keep but must revalidate before reuse
+     */
+    public static <T> ResponseEntity<T> ok(T body) {
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(body);
+    }
+}
@@ -1,5 +1,7 @@
 package com.bankmanagement.util;
 
+import com.bankmanagement.service.StreamTicketService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,51 +29,40 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     private static final String BEARER_PREFIX = "Bearer ";
     private static final String AUTHORIZATION_HEADER = "Authorization";
+    // EventSource cannot send headers, so the stream takes a single-use ticket as a query parameter
+    private static final String STREAM_PATH = "/api/dashboard/stream";
+    private static final String TICKET_PARAMETER = "ticket";
     
     @Autowired
     private JwtUtil jwtUtil;
     
+    @Autowired
+    private StreamTicketService streamTicketService;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String authHeader = request.getHeader(AUTHORIZATION_HEADER);
-            
             if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
                 String token = authHeader.substring(BEARER_PREFIX.length());
-                
                 if (jwtUtil.validateToken(token)) {
-                    String email = jwtUtil.getEmailFromToken(token);
-                    Long userId = jwtUtil.getUserIdFromToken(token);
-                    List<String> roles = jwtUtil.getRolesFromToken(token);
-                    
-                    if (email != null && userId != null) {
-                        // Convert roles to GrantedAuthority
-                        List<SimpleGrantedAuthority> authorities = roles.stream()
-                                .map(SimpleGrantedAuthority::new)
-                                .collect(Collectors.toList());
-                        
-                        // Create authentication token
-                        UsernamePasswordAuthenticationToken authentication = 
-                                new UsernamePasswordAuthenticationToken(
-                                    email, 
-                                    null, 
-                                    authorities
-                                );
-                        
-                        // Set additional details
-                        Map<String, Object> details = new HashMap<>();
-                        details.put("userId", userId);
-                        details.put("email", email);
-                        details.put("roles", roles);
-                        authentication.setDetails(details);
-                        
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                        logger.debug("JWT Token validated for user: {}", email);
-                    }
+                    authenticate(jwtUtil.getEmailFromToken(token), jwtUtil.getUserIdFromToken(token),
+                        jwtUtil.getRolesFromToken(token));
                 } else {
                     logger.warn("Invalid JWT token");
                 }
+            } else if (STREAM_PATH.equals(request.getRequestURI()) && request.getParameter(TICKET_PARAMETER) != null) {
+                Claims ticket = streamTicketService.redeem(request.getParameter(TICKET_PARAMETER));
+                if (ticket != null) {
+                    Object userId = ticket.get("userId");
+                    @SuppressWarnings("unchecked")
+                    List<String> roles = (List<String>) ticket.get("roles");
+                    authenticate(ticket.getSubject(), userId != null ? ((Number) userId).longValue() : null,
+                        roles != null ? roles : List.of());
+                } else {
+                    logger.warn("Invalid or reused stream ticket");
+                }
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e.getMessage());
@@ -79,4 +70,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
+    
+    private void authenticate(String email, Long userId, List<String> roles) {
+        if (email == null || userId == null) {
+            return;
+        }
+        // Convert roles to GrantedAuthority
+        List<SimpleGrantedAuthority> authorities = roles.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+        
+        // Create authentication token
+        UsernamePasswordAuthenticationToken authentication = 
+                new UsernamePasswordAuthenticationToken(
+                    email, 
+                    null, 
+                    authorities
+                );
+        
+        // Set additional details
+        Map<String, Object> details = new HashMap<>();
+        details.put("userId", userId);
+        details.put("email", email);
+        details.put("roles", roles);
+        authentication.setDetails(details);
+        
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        logger.debug("JWT Token validated for user: {}", email);
+    }
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * JWT Utility class for token generation and validation
@@ -17,6 +18,9 @@ import java.util.List;
 @Component
 public class JwtUtil {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
+    // Set on stream tickets only, which are never accepted as bearer tokens
+    private static final String PURPOSE_CLAIM = "purpose";
+    private static final String STREAM_PURPOSE = "stream";
     
     @Value("${jwt.secret:mySecretKeyForJWTTokenGenerationAndValidationPurposeOnly123456789}")
     private String jwtSecret;
@@ -67,6 +71,40 @@ public class JwtUtil {
         }
     }
     
+    /**
+     * Generate a short-lived ticket for opening an event stream, identified by a random id
+     */
+    public String generateStreamTicket(Long userId, String email, List<String> roles, long ttlMillis) {
+        return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(email)
+                .claim("userId", userId)
+                .claim("email", email)
+                .claim("roles", roles)
+                .claim(PURPOSE_CLAIM, STREAM_PURPOSE)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + ttlMillis))
+                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .compact();
+    }
+    
+    /**
+     * Claims of a valid, unexpired stream ticket, or null for anything else (including bearer tokens)
+     */
+    public Claims parseStreamTicket(String ticket) {
+        try {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey())
+                    .build()
+                    .parseClaimsJws(ticket)
+                    .getBody();
+            return STREAM_PURPOSE.equals(claims.get(PURPOSE_CLAIM)) ? claims : null;
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.warn("Invalid stream ticket: {}", e.getMessage());
+            return null;
+        }
+    }
+    
     /**
      * Extract email/subject from token
      */
@@ -137,11 +175,13 @@ public class JwtUtil {
     public boolean validateToken(String token) {
         try {
             SecretKey key = getSigningKey();
-            Jwts.parserBuilder()
+            Claims claims = Jwts.parserBuilder()
                     .setSigningKey(key)
                     .build()
-                    .parseClaimsJws(token);
-            return true;
+                    .parseClaimsJws(token)
+                    .getBody();
+            // Stream tickets only open the stream they were issued for
+            return claims.get(PURPOSE_CLAIM) == null;
         } catch (ExpiredJwtException e) {
             logger.warn("JWT token has expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
@@ -0,0 +1,84 @@
+package com.bankmanagement.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Opaque cursor for keyset pagination: the sort key of the last row of a page,
+ * base64url-encoded so clients pass it back without interpreting it.
+ */
+public final class KeysetCursor {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private static final String SEPARATOR = "|";
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(Object... keyParts) {
+        List<String> parts = new ArrayList<>(keyParts.length);
+        for (Object part : keyParts) {
+            parts.add(String.valueOf(part));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(String.join(SEPARATOR, parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor is malformed or has the wrong number of parts
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|", -1);
+            if (parts.length != expectedParts) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Parse one decoded part
+     *
+     * @throws IllegalArgumentException if the part does not parse, so a tampered cursor is a bad request
+     */
+    public static <T> T parse(String part, Function<String, T> parser) {
+        try {
+            return parser.apply(part);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Page envelope; rows holds up to limit + 1 rows, the extra one only signalling that more exist
+     */
+    public static <T> Map<String, Object> page(List<T> rows, int limit, Function<T, String> cursorOf) {
+        boolean hasMore = rows.size() > limit;
+        List<T> items = hasMore ? rows.subList(0, limit) : rows;
+        Map<String, Object> page = new HashMap<>();
+        page.put("success", true);
+        page.put("items", items);
+        page.put("limit", limit);
+        page.put("hasMore", hasMore);
+        page.put("nextCursor", hasMore ? cursorOf.apply(items.get(items.size() - 1)) : null);
+        return page;
+    }
+}
@@ -0,0 +1,161 @@
+package com.bankmanagement.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * One bounded, TTL-limited region of the node-local cache.
+ *
+ * Read-through loads are only stored if no eviction happened in the region while they ran, so a
+ * read racing a write cannot put the pre-write value back. When the region is full, expired entries
+ * are dropped first and then arbitrary ones until a tenth of the capacity is free.
+ */
+public class LocalCache<K, V> {
+
+    private final String name;
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final int maxSize;
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public LocalCache(String name, boolean enabled, long ttlMillis, int maxSize) {
+        this.name = name;
+        this.enabled = enabled && ttlMillis > 0 && maxSize > 0;
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Cached value, or the loader's result (cached unless null)
+     */
+    public V get(K key, Function<K, V> loader) {
+        if (!enabled) {
+            return loader.apply(key);
+        }
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            if (!entry.isExpired()) {
+                hits.incrementAndGet();
+                return entry.value;
+            }
+            if (entries.remove(key, entry)) {
+                expirations.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+        long loadGeneration = generation.get();
+        V value = loader.apply(key);
+        if (value != null && generation.get() == loadGeneration) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        if (!enabled || value == null) {
+            return;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            makeRoom();
+        }
+        entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * Drop the key now and again after the current transaction commits
+     */
+    public void evict(K key) {
+        if (!enabled || key == null) {
+            return;
+        }
+        evictNow(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(key);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long lookups = hitCount + misses.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("region", name);
+        stats.put("enabled", enabled);
+        stats.put("size", entries.size());
+        stats.put("maxSize", maxSize);
+        stats.put("ttlMs", ttlMillis);
+        stats.put("hits", hitCount);
+        stats.put("misses", misses.get());
+        stats.put("hitRatio", lookups > 0 ? Math.round(hitCount * 1000.0 / lookups) / 1000.0 : null);
+        stats.put("evictions", evictions.get());
+        stats.put("expirations", expirations.get());
+        stats.put("invalidations", invalidations.get());
+        return stats;
+    }
+
+    private void evictNow(K key) {
+        generation.incrementAndGet();
+        if (entries.remove(key) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    private void makeRoom() {
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue().isExpired()) {
+                iterator.remove();
+                expirations.incrementAndGet();
+            }
+        }
+        iterator = entries.entrySet().iterator();
+        while (entries.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAtMillis;
+
+        Entry(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAtMillis;
+        }
+    }
+}
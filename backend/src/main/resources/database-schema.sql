@@ -219,3 +219,244 @@ CREATE INDEX IF NOT EXISTS idx_trades_executed_at ON trades(executed_at);
 CREATE INDEX IF NOT EXISTS idx_deposits_user_id ON deposits(user_id);
 CREATE INDEX IF NOT EXISTS idx_deposits_created_at ON deposits(created_at);
 CREATE INDEX IF NOT EXISTS idx_deposits_status ON deposits(status);
+
+-- ============================================
+-- CHANGE FEED TABLES
+-- ============================================
+
+-- Transactional outbox written in the same DB transaction as every posting.
+-- tx_id is the inserting transaction, readers page by (tx_id, outbox_id) below the oldest running one (PostgreSQL 13+).
+-- Existing databases: ALTER TABLE posting_outbox ADD COLUMN tx_id BIGINT NOT NULL DEFAULT 0, then
+-- ALTER TABLE posting_outbox ALTER COLUMN tx_id SET DEFAULT CAST(CAST(pg_current_xact_id() AS TEXT) AS BIGINT),
+-- then create idx_posting_outbox_tx_id and add last_tx_id to change_feed_offsets as below.
+-- Deleting a posting appends a REVERSED event. Existing databases: ALTER TABLE posting_outbox
+-- ADD COLUMN event_type VARCHAR(20) NOT NULL DEFAULT 'POSTED', then ADD COLUMN transaction_date TIMESTAMP.
+CREATE TABLE IF NOT EXISTS posting_outbox (
+    outbox_id BIGSERIAL PRIMARY KEY,
+    source VARCHAR(40) NOT NULL,
+    transaction_id BIGINT,
+    account_id BIGINT NOT NULL,
+    destination_account_id BIGINT,
+    transaction_type VARCHAR(20) NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    tx_id BIGINT NOT NULL DEFAULT CAST(CAST(pg_current_xact_id() AS TEXT) AS BIGINT),
+    event_type VARCHAR(20) NOT NULL DEFAULT 'POSTED',
+    transaction_date TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_posting_outbox_tx_id ON posting_outbox(tx_id, outbox_id);
+
+-- Durable per-consumer read position in the outbox
+CREATE TABLE IF NOT EXISTS change_feed_offsets (
+    consumer_name VARCHAR(100) PRIMARY KEY,
+    last_tx_id BIGINT NOT NULL DEFAULT 0,
+    last_outbox_id BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- ============================================
+-- INTEREST ACCRUAL TABLES
+-- ============================================
+
+-- Checkpointed sub-cent interest accrued per savings account, posted periodically
+CREATE TABLE IF NOT EXISTS interest_accruals (
+    account_id BIGINT PRIMARY KEY,
+    accrued_amount DECIMAL(24, 10) NOT NULL DEFAULT 0,
+    last_accrued_at TIMESTAMP NOT NULL,
+    last_posted_at TIMESTAMP
+);
+
+-- ============================================
+-- TRANSACTION ARCHIVE TABLES
+-- ============================================
+
+-- Cold tier: postings moved out of transactions by the archival job
+CREATE TABLE IF NOT EXISTS archived_transactions (
+    transaction_id BIGINT PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    transaction_type VARCHAR(20) NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    transaction_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    description VARCHAR(255),
+    destination_account_id BIGINT,
+    archived_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_archived_transactions_account ON archived_transactions(account_id, transaction_id);
+CREATE INDEX IF NOT EXISTS idx_archived_transactions_destination ON archived_transactions(destination_account_id, transaction_id);
+
+-- Net balance effect of each account's archived postings
+CREATE TABLE IF NOT EXISTS account_carry_forward (
+    account_id BIGINT PRIMARY KEY,
+    posted_net DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    transfer_in_net DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    archived_count BIGINT NOT NULL DEFAULT 0,
+    last_archived_transaction_id BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- ============================================
+-- SCHEDULED JOB LEASES
+-- ============================================
+
+-- One row per scheduled job: the owner of an unexpired lease runs it, fencing_token increases per acquisition
+CREATE TABLE IF NOT EXISTS job_leases (
+    job_name VARCHAR(100) PRIMARY KEY,
+    owner_id VARCHAR(200) NOT NULL,
+    lease_until TIMESTAMP NOT NULL,
+    fencing_token BIGINT NOT NULL DEFAULT 0,
+    acquired_at TIMESTAMP NOT NULL,
+    released_at TIMESTAMP,
+    last_outcome VARCHAR(255),
+    run_count BIGINT NOT NULL DEFAULT 0
+);
+
+-- ============================================
+-- BATCH JOB TABLES
+-- ============================================
+
+-- One row per run of a chunked batch job, an unfinished execution is resumed by the next run
+CREATE TABLE IF NOT EXISTS batch_job_executions (
+    execution_id BIGSERIAL PRIMARY KEY,
+    job_name VARCHAR(100) NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('PLANNING', 'RUNNING', 'COMPLETED', 'FAILED', 'ABANDONED')),
+    chunk_count BIGINT NOT NULL DEFAULT 0,
+    completed_chunks BIGINT NOT NULL DEFAULT 0,
+    items_processed BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP,
+    last_error VARCHAR(255)
+);
+
+CREATE INDEX IF NOT EXISTS idx_batch_job_executions_job ON batch_job_executions(job_name, execution_id);
+
+-- Chunk checkpoints: key range (range_start, range_end] committed together with the chunk's work
+CREATE TABLE IF NOT EXISTS batch_job_chunks (
+    chunk_id BIGSERIAL PRIMARY KEY,
+    execution_id BIGINT NOT NULL REFERENCES batch_job_executions(execution_id),
+    chunk_no INTEGER NOT NULL,
+    range_start BIGINT NOT NULL,
+    range_end BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('PENDING', 'COMPLETED', 'FAILED')),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    items INTEGER NOT NULL DEFAULT 0,
+    completed_at TIMESTAMP,
+    last_error VARCHAR(255),
+    CONSTRAINT uk_batch_job_chunks_execution_chunk UNIQUE (execution_id, chunk_no)
+);
+
+-- ============================================
+-- TRANSACTION ROLLUP TABLES
+-- ============================================
+
+-- Transaction count and amount per hour, transaction type and account type
+CREATE TABLE IF NOT EXISTS transaction_rollups_hourly (
+    rollup_id BIGSERIAL PRIMARY KEY,
+    bucket_start TIMESTAMP NOT NULL,
+    transaction_type VARCHAR(20) NOT NULL,
+    account_type VARCHAR(20) NOT NULL,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    total_amount DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    CONSTRAINT uk_transaction_rollups_hourly_bucket UNIQUE (bucket_start, transaction_type, account_type)
+);
+
+-- Transaction count and amount per day, transaction type and account type
+CREATE TABLE IF NOT EXISTS transaction_rollups_daily (
+    rollup_id BIGSERIAL PRIMARY KEY,
+    bucket_date DATE NOT NULL,
+    transaction_type VARCHAR(20) NOT NULL,
+    account_type VARCHAR(20) NOT NULL,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    total_amount DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    CONSTRAINT uk_transaction_rollups_daily_bucket UNIQUE (bucket_date, transaction_type, account_type)
+);
+
+-- Buckets before the cutover come from the last backfill, later buckets from the change feed
+CREATE TABLE IF NOT EXISTS transaction_rollup_state (
+    state_name VARCHAR(100) PRIMARY KEY,
+    cutover TIMESTAMP,
+    backfill_execution_id BIGINT,
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- ============================================
+-- KEYSET PAGINATION INDEXES
+-- ============================================
+
+-- Listings walk these in sort-key order from the cursor, each filter has its own leading column
+CREATE INDEX IF NOT EXISTS idx_transactions_date_id ON transactions(transaction_date, transaction_id);
+CREATE INDEX IF NOT EXISTS idx_transactions_account_date ON transactions(account_id, transaction_date, transaction_id);
+CREATE INDEX IF NOT EXISTS idx_transactions_destination_date ON transactions(destination_account_id, transaction_date, transaction_id);
+CREATE INDEX IF NOT EXISTS idx_transactions_type_date ON transactions(transaction_type, transaction_date, transaction_id);
+CREATE INDEX IF NOT EXISTS idx_accounts_customer_account ON accounts(customer_id, account_id);
+CREATE INDEX IF NOT EXISTS idx_accounts_status_account ON accounts(status, account_id);
+CREATE INDEX IF NOT EXISTS idx_customers_active_customer ON customers(is_active, customer_id);
+CREATE INDEX IF NOT EXISTS idx_customers_last_name_customer ON customers(last_name, customer_id);
+
+-- ============================================
+-- CUSTOMER SEARCH (pg_trgm backend)
+-- ============================================
+
+-- Used when customers.search.backend=pg_trgm, the expression must match PgTrgmCustomerSearchIndex.SEARCH_TEXT
+-- PgTrgmCustomerSearchIndex also creates both at startup. Where the application role may not create
+-- extensions, run CREATE EXTENSION pg_trgm as a superuser on existing databases before enabling it.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_customers_search_trgm ON customers USING gin (
+    (LOWER(first_name || ' ' || last_name || ' ' || email || ' ' || regexp_replace(phone, '[^0-9]', '', 'g'))) gin_trgm_ops
+);
+
+-- ============================================
+-- MONTHLY STATEMENTS
+-- ============================================
+
+-- Period and output of each statement job execution, totals are added as chunks complete
+CREATE TABLE IF NOT EXISTS statement_runs (
+    execution_id BIGINT PRIMARY KEY,
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    output_dir VARCHAR(500) NOT NULL,
+    statements BIGINT NOT NULL DEFAULT 0,
+    postings BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- ============================================
+-- TABLE VERSIONS (ETags)
+-- ============================================
+
+-- Increased by each node that committed writes to the table since its last sync, read back by all nodes
+CREATE TABLE IF NOT EXISTS table_versions (
+    table_name VARCHAR(50) PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL
+);
+
+INSERT INTO table_versions (table_name, version, updated_at) VALUES
+    ('accounts', 0, CURRENT_TIMESTAMP),
+    ('customers', 0, CURRENT_TIMESTAMP),
+    ('transactions', 0, CURRENT_TIMESTAMP)
+ON CONFLICT (table_name) DO NOTHING;
+
+-- ============================================
+-- TRANSACTION DELTA SYNC
+-- ============================================
+
+-- Ordered log of inserts, deletes and archivals of transactions, RESET rows carry no transaction_id.
+-- Read in (tx_id, change_seq) order below the oldest running transaction, like posting_outbox.
+-- Existing databases: ALTER TABLE transaction_changes ADD COLUMN tx_id BIGINT NOT NULL DEFAULT 0, then
+-- ALTER TABLE transaction_changes ALTER COLUMN tx_id SET DEFAULT CAST(CAST(pg_current_xact_id() AS TEXT) AS BIGINT),
+-- then create idx_transaction_changes_tx_id as below. If the log was purged before, also mark its oldest row
+-- with UPDATE transaction_changes SET change_type = 'PURGED' WHERE change_seq = (SELECT MIN(change_seq) FROM transaction_changes)
+-- so that clients holding older tokens resync in full.
+CREATE TABLE IF NOT EXISTS transaction_changes (
+    change_seq BIGSERIAL PRIMARY KEY,
+    transaction_id BIGINT,
+    change_type VARCHAR(20) NOT NULL,
+    changed_at TIMESTAMP NOT NULL,
+    tx_id BIGINT NOT NULL DEFAULT CAST(CAST(pg_current_xact_id() AS TEXT) AS BIGINT)
+);
+
+CREATE INDEX IF NOT EXISTS idx_transaction_changes_changed_at ON transaction_changes(changed_at);
+CREATE INDEX IF NOT EXISTS idx_transaction_changes_tx_id ON transaction_changes(tx_id, change_seq);
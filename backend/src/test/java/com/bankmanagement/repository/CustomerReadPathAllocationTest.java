@@ -0,0 +1,101 @@
+package com.bankmanagement.repository;
+
+import com.bankmanagement.dto.CustomerDTO;
+import com.bankmanagement.model.Customer;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Bytes allocated on the calling thread by the two customer read paths: managed entities in a
+ * read-write transaction mapped to DTOs afterwards, and the constructor projection in a read-only
+ * transaction. Skipped on JVMs without per-thread allocation counting.
+ */
+@DataJpaTest(showSql = false)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CustomerReadPathAllocationTest {
+
+    private static final int CUSTOMERS = 2000;
+    private static final int WARMUP_RUNS = 3;
+    private static final int RUNS = 5;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void projectionAllocatesLessThanEntityPath() {
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean, "No per-thread allocation counting");
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        assumeTrue(allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled(),
+            "Per-thread allocation counting is unsupported or disabled");
+
+        TransactionTemplate readWriteTransactionTemplate = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+
+        readWriteTransactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+            "INSERT INTO customers (first_name, last_name, address, phone, email, date_of_birth, created_at, is_active) " +
+            "SELECT 'First' || x, 'Last' || x, x || ' Main Street', '555' || x, 'customer' || x || '@example.com', " +
+            "DATE '1990-01-01', CURRENT_TIMESTAMP, TRUE FROM SYSTEM_RANGE(1, ?)", CUSTOMERS));
+
+        Supplier<List<CustomerDTO>> entityPath = () -> readWriteTransactionTemplate.execute(status ->
+            entityManager.createQuery("SELECT c FROM Customer c ORDER BY c.customerId", Customer.class)
+                .getResultList().stream()
+                .map(c -> new CustomerDTO(c.getCustomerId(), c.getFirstName(), c.getLastName(), c.getAddress(),
+                    c.getPhone(), c.getEmail(), c.getDateOfBirth(), c.getIsActive(), c.getCreatedAt()))
+                .collect(Collectors.toList()));
+        Supplier<List<CustomerDTO>> projectionPath = () -> readOnlyTransactionTemplate.execute(status ->
+            entityManager.createQuery(CustomerRepository.CUSTOMER_DTO_SELECT + "ORDER BY c.customerId", CustomerDTO.class)
+                .getResultList());
+
+        assertEquals(CUSTOMERS, entityPath.get().size());
+        assertEquals(CUSTOMERS, projectionPath.get().size());
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            allocatedBytes(allocationBean, entityPath);
+            allocatedBytes(allocationBean, projectionPath);
+        }
+
+        long entityBytes = 0;
+        long projectionBytes = 0;
+        for (int i = 0; i < RUNS; i++) {
+            entityBytes += allocatedBytes(allocationBean, entityPath);
+            projectionBytes += allocatedBytes(allocationBean, projectionPath);
+        }
+
+        long entityBytesPer10k = entityBytes / RUNS * 10000 / CUSTOMERS;
+        long projectionBytesPer10k = projectionBytes / RUNS * 10000 / CUSTOMERS;
+        System.out.println("📊 Bytes per 10k customers: entity path " + entityBytesPer10k +
+            ", projection " + projectionBytesPer10k);
+        assertTrue(projectionBytesPer10k < entityBytesPer10k,
+            "Projection allocated " + projectionBytesPer10k + " bytes per 10k customers, entity path " + entityBytesPer10k);
+    }
+
+    private static long allocatedBytes(com.sun.management.ThreadMXBean allocationBean, Supplier<List<CustomerDTO>> path) {
+        long threadId = Thread.currentThread().getId();
+        long bytesBefore = allocationBean.getThreadAllocatedBytes(threadId);
+        path.get();
+        return allocationBean.getThreadAllocatedBytes(threadId) - bytesBefore;
+    }
+}
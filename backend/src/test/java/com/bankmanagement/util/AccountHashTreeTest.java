@@ -0,0 +1,106 @@
+package com.bankmanagement.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountHashTreeTest {
+
+    private static final int DEPTH = 3;
+    private static final int FANOUT = 16;
+
+    private static AccountHashTree treeWith(long accounts) {
+        AccountHashTree tree = new AccountHashTree(DEPTH);
+        for (long accountId = 1; accountId <= accounts; accountId++) {
+            tree.put(accountId, BigDecimal.valueOf(accountId * 10), accountId);
+        }
+        return tree;
+    }
+
+    @Test
+    void identicalTreesOnlyVisitTheRoot() {
+        AccountHashTree.Diff diff = treeWith(1000).diff(treeWith(1000));
+
+        assertTrue(diff.getMismatches().isEmpty());
+        assertEquals(1, diff.getNodesVisited());
+        assertEquals(0, diff.getEntriesCompared());
+    }
+
+    @Test
+    void oneDriftingAccountVisitsOnlyItsPath() {
+        AccountHashTree journal = treeWith(1000);
+        AccountHashTree ledger = treeWith(1000);
+        ledger.put(42, new BigDecimal("420.01"), 42);
+
+        AccountHashTree.Diff diff = journal.diff(ledger);
+
+        assertEquals(1, diff.getMismatches().size());
+        AccountHashTree.Mismatch mismatch = diff.getMismatches().get(0);
+        assertEquals(42, mismatch.getAccountId());
+        assertEquals(new BigDecimal("420.00"), mismatch.getLeft().getBalance());
+        assertEquals(new BigDecimal("420.01"), mismatch.getRight().getBalance());
+        // The root, then all children of each mismatched node down to the leaf
+        assertEquals(1 + DEPTH * FANOUT, diff.getNodesVisited());
+    }
+
+    @Test
+    void accountMissingOnOneSideIsReported() {
+        AccountHashTree journal = treeWith(10);
+        AccountHashTree ledger = treeWith(10);
+        ledger.remove(7);
+
+        AccountHashTree.Diff diff = journal.diff(ledger);
+
+        assertEquals(1, diff.getMismatches().size());
+        assertEquals(7, diff.getMismatches().get(0).getAccountId());
+        assertNull(diff.getMismatches().get(0).getRight());
+    }
+
+    @Test
+    void removingAndRestoringAnEntryRestoresTheRootHash() {
+        AccountHashTree tree = treeWith(100);
+        long rootHash = tree.rootHash();
+
+        tree.remove(50);
+        tree.put(50, BigDecimal.valueOf(500), 50);
+
+        assertEquals(rootHash, tree.rootHash());
+        assertEquals(100, tree.size());
+    }
+
+    @Test
+    void applyIgnoresPostingsAlreadyCounted() {
+        AccountHashTree tree = new AccountHashTree(DEPTH);
+        tree.apply(1, new BigDecimal("5"), 10);
+        tree.apply(1, new BigDecimal("5"), 10);
+        tree.apply(1, new BigDecimal("7"), 9);
+        tree.apply(1, new BigDecimal("1"), 11);
+
+        assertEquals(new BigDecimal("6.00"), tree.get(1).getBalance());
+        assertEquals(11, tree.get(1).getLastTransactionId());
+    }
+
+    @Test
+    void putKeepsTheLatestPosting() {
+        AccountHashTree tree = new AccountHashTree(DEPTH);
+        tree.put(1, new BigDecimal("20"), 11);
+        tree.put(1, new BigDecimal("10"), 10);
+
+        assertEquals(new BigDecimal("20.00"), tree.get(1).getBalance());
+
+        tree.put(1, new BigDecimal("25"), 11);
+
+        assertEquals(new BigDecimal("25.00"), tree.get(1).getBalance());
+    }
+
+    @Test
+    void treesOfDifferentDepthCannotBeCompared() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new AccountHashTree(2).diff(new AccountHashTree(3)));
+    }
+}
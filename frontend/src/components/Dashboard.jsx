@@ -45,6 +45,55 @@ const Dashboard = () => {
     setIsAuthenticated(true);
     fetchDashboardStats();
     generateChartData();
+
+    // Live counter updates pushed by the server instead of re-fetching stats.
+    // EventSource cannot send headers, so each connection uses a single-use ticket rather than the JWT.
+    let stream = null;
+    let retryTimer = null;
+    let closed = false;
+    const connect = async () => {
+      try {
+        const response = await axios.post(
+          `${API_BASE_URL}/dashboard/stream/ticket`,
+          null,
+          { headers: { Authorization: `Bearer ${token}` } }
+        );
+        if (closed) {
+          return;
+        }
+        stream = new EventSource(
+          `${API_BASE_URL}/dashboard/stream?ticket=${encodeURIComponent(response.data.ticket)}`
+        );
+        stream.addEventListener("delta", (event) => {
+          const { changes } = JSON.parse(event.data);
+          setStats((previous) => {
+            const next = { ...previous };
+            Object.entries(changes).forEach(([key, change]) => {
+              next[key] = change.value;
+            });
+            return next;
+          });
+        });
+        // The ticket is spent, so reconnect with a new one instead of letting EventSource retry
+        stream.onerror = () => {
+          stream.close();
+          retryTimer = setTimeout(connect, 5000);
+        };
+      } catch (error) {
+        console.error("Error opening dashboard stream:", error);
+        if (!closed) {
+          retryTimer = setTimeout(connect, 5000);
+        }
+      }
+    };
+    connect();
+    return () => {
+      closed = true;
+      clearTimeout(retryTimer);
+      if (stream) {
+        stream.close();
+      }
+    };
   }, [navigate]);
 
   const fetchDashboardStats = async () => {
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from "react";
+import React, { useState, useEffect, useRef } from "react";
 import {
   Table,
   InputGroup,
@@ -30,6 +30,8 @@ const TransactionList = () => {
   const [showDeleteModal, setShowDeleteModal] = useState(false);
   const [transactionToDelete, setTransactionToDelete] = useState(null);
   const [filteredTransactions, setFilteredTransactions] = useState([]);
+  // Delta-sync position; null until the first full load
+  const syncToken = useRef(null);
 
   const navigate = useNavigate();
 
@@ -41,18 +43,44 @@ const TransactionList = () => {
     filterTransactions();
   }, [transactions, searchTerm]);
 
+  // Merges a sync page into the list, newest first like the full listing
+  const applySync = (current, upserts, deletes) => {
+    const removed = new Set(deletes);
+    const byId = new Map();
+    current.forEach((transaction) => {
+      if (!removed.has(transaction.transactionId)) {
+        byId.set(transaction.transactionId, transaction);
+      }
+    });
+    upserts.forEach((transaction) => byId.set(transaction.transactionId, transaction));
+    return [...byId.values()].sort(
+      (a, b) => new Date(b.transactionDate) - new Date(a.transactionDate)
+    );
+  };
+
   const fetchTransactions = async () => {
     try {
-      setLoading(true);
+      setLoading(syncToken.current === null);
       const token = localStorage.getItem("token");
-      const response = await axios.get(`${API_BASE_URL}/transactions`, {
-        headers: {
-          Authorization: `Bearer ${token}`,
-        },
-      });
-      setTransactions(response.data);
+      // Full list on the first call, then only what changed since the last sync
+      let hasMore = true;
+      while (hasMore) {
+        const response = await axios.get(`${API_BASE_URL}/transactions/sync`, {
+          headers: {
+            Authorization: `Bearer ${token}`,
+          },
+          params: syncToken.current ? { token: syncToken.current } : {},
+        });
+        const { full, upserts, deletes } = response.data;
+        setTransactions((previous) =>
+          applySync(full ? [] : previous, upserts, deletes)
+        );
+        syncToken.current = response.data.syncToken;
+        hasMore = response.data.hasMore;
+      }
     } catch (error) {
       console.error("Error fetching transactions:", error);
+      syncToken.current = null;
       if (error.response?.status === 401 || error.response?.status === 403) {
         toast.error("Unauthorized. Please log in again.");
         localStorage.removeItem("token");